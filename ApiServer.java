@@ -0,0 +1,1104 @@
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Gömülü HTTP/JSON API sunucusu için Java sınıfı
+ * JDK HttpServer kullanır; dış servis veya kütüphane gerekmez. Tüm tarayıcı
+ * terminalleri aynı DataManager'ı paylaşır.
+ * - Her istek ayrı bir sanal thread'de işlenir (Java 21+); daha eski JVM'lerde
+ *   sınırlı bir platform thread havuzuna düşülür.
+ * - Yanıtlar JsonWriter ile doğrudan yanıt akışına yazılır (yansıma yok, ara ağaç yok).
+ * - İstek gövdeleri JsonReader ile okunur.
+ *
+ * Uç noktalar (hepsi /api altında):
+ *   GET    /products?q=&limit=           ürünler (q verilirse arama, yoksa sayfalı liste)
+ *   GET    /products/critical?limit=     kritik stoktaki ürünler, en acil önce
+ *   GET    /products/prices              tutulan fiyat listesi sürümleri, eskiden yeniye
+ *   POST   /products/prices              {percentage, category} toplu fiyat değişikliği (category yoksa tüm katalog)
+ *   GET    /products/{id}
+ *   POST   /products                     {name, category, price, stock, unit, criticalStock, costPrice}
+ *   PUT    /products/{id}                aynı alanlar (stok hariç)
+ *   PUT    /products/{id}/stock          {stock}
+ *   DELETE /products/{id}
+ *   GET    /customers?q=&limit=
+ *   GET    /customers/{id}
+ *   GET    /customers/{id}/transactions
+ *   POST   /customers                    {name, phone, email, address, type, discountRate}
+ *   PUT    /customers/{id}
+ *   POST   /customers/{id}/payments      {amount}
+ *   DELETE /customers/{id}
+ *   GET    /transactions?from=&to=&status=&limit=   (tarihler yyyy-MM-dd, iki uç dahil;
+ *                                 filtre yoksa sayfalı liste)
+ *   GET    /transactions/{id}
+ *   POST   /transactions                 {type, customerId, productId, quantity, discount} veya dizisi
+ *                                 (type: Satış/Alım, varsayılan Satış; bilinmeyen tip 400)
+ *   PUT    /transactions/{id}/status     {status}
+ *   POST   /quotes                       {customerId, discount, lines: [{productId, quantity}]} sepet teklifi
+ *   GET    /orders                       bekleyen siparişler
+ *   POST   /orders                       {customerId, productId, quantity, discount, shippingCompany}
+ *   PUT    /orders/{id}/status           {status}
+ *   GET    /reports/summary
+ *   GET    /reports/daily?from=&to=
+ *   GET    /reports/monthly?month=yyyy-MM
+ *   GET    /reports/top-products?limit=
+ *   GET    /reports/categories
+ *   GET    /reports/sales?from=&to=&category=   (tüm geçmiş üzerinde serbest filtreli toplam)
+ *   GET    /alerts?since=
+ * Ayrıca "/" isteğinde çalışma dizinindeki index.html sunulur.
+ *
+ * Sayfalı listeler sort= (ürün/müşteri: id, name; işlem: id, date, total),
+ * order=asc|desc, limit= ve cursor= alır; yanıt yine dizidir, sonraki sayfanın
+ * imleci X-Next-Cursor başlığında döner (son sayfada başlık yoktur).
+ *
+ * Ayarlar (sistem özellikleri): datamanager.http.port (varsayılan 8080),
+ * datamanager.http.threads (sanal thread yoksa havuz boyutu).
+ */
+public class ApiServer {
+    private static final Logger LOG = Logger.getLogger(ApiServer.class.getName());
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 10000;
+    private static final int RESPONSE_BUFFER = 16 * 1024;
+
+    private final DataManager dataManager;
+    private final InetSocketAddress address;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    // İstek gövdesi yazıcısı
+    private interface Body {
+        void write(JsonWriter out) throws IOException;
+    }
+
+    // Sayfa öğesi yazıcısı
+    private interface Item<T> {
+        void write(JsonWriter out, T item) throws IOException;
+    }
+
+    // DataManager sayfa sorgusu
+    private interface PageQuery<T> {
+        Page<T> get(Page.Sort sort, boolean descending, String cursor, int limit);
+    }
+
+    // Hatalı istek: HTTP durum kodu ve mesajla yanıtlanır
+    private static class ApiException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        private final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    // Constructor
+    public ApiServer(DataManager dataManager, int port) {
+        this(dataManager, new InetSocketAddress(port));
+    }
+
+    public ApiServer(DataManager dataManager, InetSocketAddress address) {
+        this.dataManager = dataManager;
+        this.address = address;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : Integer.getInteger("datamanager.http.port", 8080);
+        DataManager dataManager = DataManager.getInstance();
+        ApiServer api = new ApiServer(dataManager, port);
+        api.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            api.stop(1);
+            dataManager.shutdown();
+        }, "api-shutdown"));
+        System.out.println("API sunucusu dinliyor: http://localhost:" + api.getPort() + "/api/products");
+    }
+
+    public synchronized void start() throws IOException {
+        if (server != null) {
+            return;
+        }
+        server = HttpServer.create(address, 0);
+        executor = newExecutor();
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handle);
+        server.createContext("/", this::handleStatic);
+        server.start();
+    }
+
+    // Bekleyen isteklere en fazla delaySeconds süre tanır
+    public synchronized void stop(int delaySeconds) {
+        if (server == null) {
+            return;
+        }
+        server.stop(delaySeconds);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(delaySeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+        executor = null;
+    }
+
+    public synchronized int getPort() {
+        return server == null ? address.getPort() : server.getAddress().getPort();
+    }
+
+    /**
+     * Java 21+ ise istek başına sanal thread; değilse sabit boyutlu havuz.
+     * Derleme hedefi eski JDK'lar da olabildiği için metot adıyla bulunur (bir kez, açılışta).
+     */
+    private static ExecutorService newExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            int threads = Integer.getInteger("datamanager.http.threads",
+                    Math.max(8, Runtime.getRuntime().availableProcessors() * 4));
+            AtomicInteger counter = new AtomicInteger();
+            return Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "api-" + counter.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    // ==================== YÖNLENDİRME ====================
+
+    private void handle(HttpExchange ex) throws IOException {
+        try {
+            Headers headers = ex.getResponseHeaders();
+            headers.set("Access-Control-Allow-Origin", "*");
+            if ("OPTIONS".equals(ex.getRequestMethod())) {
+                headers.set("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS");
+                headers.set("Access-Control-Allow-Headers", "Content-Type");
+                ex.sendResponseHeaders(204, -1);
+                return;
+            }
+            String[] path = ex.getRequestURI().getPath().substring("/api/".length()).split("/");
+            Map<String, String> query = parseQuery(ex.getRequestURI().getRawQuery());
+            try {
+                route(ex, ex.getRequestMethod(), path, query);
+            } catch (ApiException e) {
+                sendError(ex, e.status, e.getMessage());
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } catch (RuntimeException e) {
+                // Ayrıntı sunucu günlüğüne yazılır; istemciye iç hata metni gönderilmez
+                LOG.log(Level.SEVERE, ex.getRequestMethod() + " " + ex.getRequestURI().getPath() + " başarısız", e);
+                sendError(ex, 500, "Sunucu hatası");
+            }
+        } finally {
+            ex.close();
+        }
+    }
+
+    private void route(HttpExchange ex, String method, String[] path, Map<String, String> query)
+            throws IOException {
+        String resource = path[0];
+        switch (resource) {
+            case "products":
+                products(ex, method, path, query);
+                return;
+            case "customers":
+                customers(ex, method, path, query);
+                return;
+            case "transactions":
+                transactions(ex, method, path, query);
+                return;
+            case "orders":
+                orders(ex, method, path);
+                return;
+            case "quotes":
+                quote(ex, method);
+                return;
+            case "reports":
+                reports(ex, method, path, query);
+                return;
+            case "alerts":
+                requireMethod(method, "GET");
+                long since = parseLong(query.get("since"), 0L, "since");
+                List<StockAlert> alerts = dataManager.getStockAlertEventsSince(since);
+                send(ex, 200, out -> {
+                    out.beginArray();
+                    for (StockAlert a : alerts) {
+                        writeAlert(out, a);
+                    }
+                    out.endArray();
+                });
+                return;
+            default:
+                throw new ApiException(404, "Bilinmeyen kaynak: " + resource);
+        }
+    }
+
+    // ==================== ÜRÜNLER ====================
+
+    private void products(HttpExchange ex, String method, String[] path, Map<String, String> query)
+            throws IOException {
+        if (path.length == 1) {
+            if ("GET".equals(method)) {
+                String q = query.get("q");
+                if (q == null || q.isBlank()) {
+                    sendPage(ex, page(query, (sort, descending, cursor, limit) ->
+                            dataManager.getProductPage(sort, descending, cursor, limit)), ApiServer::writeProduct);
+                    return;
+                }
+                int limit = parseLimit(query.get("limit"));
+                sendProducts(ex, dataManager.searchProducts(q, limit), limit);
+                return;
+            }
+            requireMethod(method, "POST");
+            Map<String, Object> body = readObject(ex);
+            Product p = dataManager.addProduct(requireString(body, "name"), string(body, "category", ""),
+                    number(body, "price", 0), (int) number(body, "stock", 0), string(body, "unit", "adet"),
+                    (int) number(body, "criticalStock", 10), number(body, "costPrice", 0));
+            send(ex, 201, out -> writeProduct(out, p));
+            return;
+        }
+        if ("critical".equals(path[1])) {
+            requireMethod(method, "GET");
+            int limit = parseLimit(query.get("limit"));
+            sendProducts(ex, dataManager.getMostUrgentProducts(limit), limit);
+            return;
+        }
+        if ("prices".equals(path[1])) {
+            prices(ex, method);
+            return;
+        }
+        int id = parseId(path[1]);
+        if (path.length == 3 && "stock".equals(path[2])) {
+            requireMethod(method, "PUT");
+            Map<String, Object> body = readObject(ex);
+            if (!dataManager.updateProductStock(id, (int) requireNumber(body, "stock"))) {
+                throw notFound("Ürün", id);
+            }
+            sendProduct(ex, id);
+            return;
+        }
+        if (path.length != 2) {
+            throw new ApiException(404, "Bilinmeyen yol");
+        }
+        switch (method) {
+            case "GET":
+                sendProduct(ex, id);
+                return;
+            case "PUT": {
+                Product p = existingProduct(id);
+                Map<String, Object> body = readObject(ex);
+                dataManager.updateProduct(id, string(body, "name", p.getName()),
+                        string(body, "category", p.getCategory()), number(body, "price", p.getPrice()),
+                        string(body, "unit", p.getUnit()), (int) number(body, "criticalStock", p.getCriticalStock()),
+                        number(body, "costPrice", p.getCostPrice()));
+                sendProduct(ex, id);
+                return;
+            }
+            case "DELETE":
+                if (!dataManager.deleteProduct(id)) {
+                    throw notFound("Ürün", id);
+                }
+                ex.sendResponseHeaders(204, -1);
+                return;
+            default:
+                throw methodNotAllowed(method);
+        }
+    }
+
+    private void sendProduct(HttpExchange ex, int id) throws IOException {
+        Product p = existingProduct(id);
+        send(ex, 200, out -> writeProduct(out, p));
+    }
+
+    private void sendProducts(HttpExchange ex, List<Product> list, int limit) throws IOException {
+        send(ex, 200, out -> {
+            out.beginArray();
+            int n = Math.min(limit, list.size());
+            for (int i = 0; i < n; i++) {
+                writeProduct(out, list.get(i));
+            }
+            out.endArray();
+        });
+    }
+
+    private Product existingProduct(int id) {
+        Product p = dataManager.getProduct(id);
+        if (p == null) {
+            throw notFound("Ürün", id);
+        }
+        return p;
+    }
+
+    // Fiyat listesi sürümleri; toplu değişiklik yeni sürümü döner
+    private void prices(HttpExchange ex, String method) throws IOException {
+        if ("GET".equals(method)) {
+            List<PriceList> history = dataManager.getPriceHistory();
+            send(ex, 200, out -> {
+                out.beginArray();
+                for (PriceList list : history) {
+                    writePriceList(out, list);
+                }
+                out.endArray();
+            });
+            return;
+        }
+        requireMethod(method, "POST");
+        Map<String, Object> body = readObject(ex);
+        PriceList list = dataManager.bulkUpdatePrices(string(body, "category", null), requireNumber(body, "percentage"));
+        send(ex, 201, out -> writePriceList(out, list));
+    }
+
+    // ==================== MÜŞTERİLER ====================
+
+    private void customers(HttpExchange ex, String method, String[] path, Map<String, String> query)
+            throws IOException {
+        if (path.length == 1) {
+            if ("GET".equals(method)) {
+                String q = query.get("q");
+                if (q == null || q.isBlank()) {
+                    sendPage(ex, page(query, (sort, descending, cursor, limit) ->
+                            dataManager.getCustomerPage(sort, descending, cursor, limit)), ApiServer::writeCustomer);
+                    return;
+                }
+                int limit = parseLimit(query.get("limit"));
+                List<Customer> list = dataManager.searchCustomers(q, limit);
+                send(ex, 200, out -> {
+                    out.beginArray();
+                    int n = Math.min(limit, list.size());
+                    for (int i = 0; i < n; i++) {
+                        writeCustomer(out, list.get(i));
+                    }
+                    out.endArray();
+                });
+                return;
+            }
+            requireMethod(method, "POST");
+            Map<String, Object> body = readObject(ex);
+            Customer c = dataManager.addCustomer(requireString(body, "name"), string(body, "phone", ""),
+                    string(body, "email", ""), string(body, "address", ""), string(body, "type", "Bireysel"),
+                    number(body, "discountRate", 0));
+            send(ex, 201, out -> writeCustomer(out, c));
+            return;
+        }
+        int id = parseId(path[1]);
+        if (path.length == 3 && "transactions".equals(path[2])) {
+            requireMethod(method, "GET");
+            existingCustomer(id);
+            sendTransactions(ex, dataManager.getCustomerOrderHistory(id));
+            return;
+        }
+        if (path.length == 3 && "payments".equals(path[2])) {
+            requireMethod(method, "POST");
+            existingCustomer(id);
+            Map<String, Object> body = readObject(ex);
+            if (!dataManager.payCustomerDebt(id, requireNumber(body, "amount"))) {
+                throw new ApiException(400, "Geçersiz ödeme tutarı");
+            }
+            sendCustomer(ex, id);
+            return;
+        }
+        if (path.length != 2) {
+            throw new ApiException(404, "Bilinmeyen yol");
+        }
+        switch (method) {
+            case "GET":
+                sendCustomer(ex, id);
+                return;
+            case "PUT": {
+                Customer c = existingCustomer(id);
+                Map<String, Object> body = readObject(ex);
+                dataManager.updateCustomer(id, string(body, "name", c.getName()), string(body, "phone", c.getPhone()),
+                        string(body, "email", c.getEmail()), string(body, "address", c.getAddress()),
+                        string(body, "type", c.getTypeString()), number(body, "discountRate", c.getDiscountRate()));
+                sendCustomer(ex, id);
+                return;
+            }
+            case "DELETE":
+                if (!dataManager.deleteCustomer(id)) {
+                    throw notFound("Müşteri", id);
+                }
+                ex.sendResponseHeaders(204, -1);
+                return;
+            default:
+                throw methodNotAllowed(method);
+        }
+    }
+
+    private void sendCustomer(HttpExchange ex, int id) throws IOException {
+        Customer c = existingCustomer(id);
+        send(ex, 200, out -> writeCustomer(out, c));
+    }
+
+    private Customer existingCustomer(int id) {
+        Customer c = dataManager.getCustomer(id);
+        if (c == null) {
+            throw notFound("Müşteri", id);
+        }
+        return c;
+    }
+
+    // ==================== İŞLEMLER VE SİPARİŞLER ====================
+
+    // Sepet teklifi (stok ve borç değişmez)
+    private void quote(HttpExchange ex, String method) throws IOException {
+        requireMethod(method, "POST");
+        Map<String, Object> body = readObject(ex);
+        int customerId = (int) requireNumber(body, "customerId");
+        Object items = body.get("lines");
+        if (!(items instanceof List)) {
+            throw new ApiException(400, "Eksik alan: lines");
+        }
+        List<?> lines = (List<?>) items;
+        int[] productIds = new int[lines.size()];
+        int[] quantities = new int[lines.size()];
+        for (int i = 0; i < lines.size(); i++) {
+            Map<String, Object> line = asObject(lines.get(i));
+            productIds[i] = (int) requireNumber(line, "productId");
+            quantities[i] = (int) requireNumber(line, "quantity");
+        }
+        PriceQuote quote = dataManager.quoteBasket(customerId, productIds, quantities, number(body, "discount", 0));
+        if (quote == null) {
+            throw new ApiException(404, "Müşteri veya ürün bulunamadı ya da miktar geçersiz");
+        }
+        send(ex, 200, out -> writeQuote(out, quote));
+    }
+
+    private void transactions(HttpExchange ex, String method, String[] path, Map<String, String> query)
+            throws IOException {
+        if (path.length == 1) {
+            if ("GET".equals(method)) {
+                if (query.get("from") == null && query.get("to") == null && query.get("status") == null) {
+                    sendPage(ex, page(query, (sort, descending, cursor, limit) ->
+                            dataManager.getTransactionPage(sort, descending, cursor, limit)), ApiServer::writeTransaction);
+                    return;
+                }
+                streamTransactions(ex, query);
+                return;
+            }
+            requireMethod(method, "POST");
+            Object body = readBody(ex);
+            if (body instanceof List) {
+                List<TransactionLine> lines = new ArrayList<>();
+                for (Object item : (List<?>) body) {
+                    Map<String, Object> line = asObject(item);
+                    lines.add(new TransactionLine(transactionType(line), (int) requireNumber(line, "customerId"),
+                            (int) requireNumber(line, "productId"), requireQuantity(line),
+                            number(line, "discount", 0)));
+                }
+                List<Transaction> created = dataManager.createTransactions(lines);
+                if (created == null) {
+                    throw new ApiException(409, "İşlemler oluşturulamadı (geçersiz kayıt veya yetersiz stok)");
+                }
+                send(ex, 201, out -> writeTransactions(out, created));
+                return;
+            }
+            Map<String, Object> line = asObject(body);
+            Transaction t = dataManager.createTransaction(transactionType(line),
+                    (int) requireNumber(line, "customerId"), (int) requireNumber(line, "productId"),
+                    requireQuantity(line), number(line, "discount", 0));
+            if (t == null) {
+                throw new ApiException(409, "İşlem oluşturulamadı (geçersiz kayıt veya yetersiz stok)");
+            }
+            send(ex, 201, out -> writeTransaction(out, t));
+            return;
+        }
+        int id = parseId(path[1]);
+        if (path.length == 3 && "status".equals(path[2])) {
+            updateStatus(ex, method, id);
+            return;
+        }
+        if (path.length != 2) {
+            throw new ApiException(404, "Bilinmeyen yol");
+        }
+        requireMethod(method, "GET");
+        sendTransaction(ex, id);
+    }
+
+    // Filtreye uyan işlemler, kopya liste oluşturmadan yanıt akışına yazılır
+    private void streamTransactions(HttpExchange ex, Map<String, String> query) throws IOException {
+        LocalDate fromDay = parseDate(query.get("from"), "from");
+        LocalDate toDay = parseDate(query.get("to"), "to");
+        LocalDateTime from = fromDay == null ? null : fromDay.atStartOfDay();
+        LocalDateTime to = toDay == null ? null : toDay.plusDays(1).atStartOfDay();
+        Set<Transaction.TransactionStatus> statuses = null;
+        String status = query.get("status");
+        if (status != null) {
+            statuses = EnumSet.noneOf(Transaction.TransactionStatus.class);
+            for (String s : status.split(",")) {
+                Transaction.TransactionStatus parsed = Transaction.statusFromString(s.trim());
+                if (parsed == null) {
+                    throw new ApiException(400, "Geçersiz durum: " + s);
+                }
+                statuses.add(parsed);
+            }
+        }
+        int limit = parseLimit(query.get("limit"));
+        Set<Transaction.TransactionStatus> filter = statuses;
+        send(ex, 200, out -> {
+            int[] written = new int[1];
+            out.beginArray();
+            try {
+                dataManager.forEachTransaction(from, to, filter, t -> {
+                    if (written[0] < limit) {
+                        written[0]++;
+                        try {
+                            writeTransaction(out, t);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.endArray();
+        });
+    }
+
+    private void orders(HttpExchange ex, String method, String[] path) throws IOException {
+        if (path.length == 1) {
+            if ("GET".equals(method)) {
+                sendTransactions(ex, dataManager.getTransactionsByStatus("PENDING"));
+                return;
+            }
+            requireMethod(method, "POST");
+            Map<String, Object> body = readObject(ex);
+            Transaction t = dataManager.createOrder((int) requireNumber(body, "customerId"),
+                    (int) requireNumber(body, "productId"), requireQuantity(body),
+                    number(body, "discount", 0), string(body, "shippingCompany", null));
+            if (t == null) {
+                throw new ApiException(409, "Sipariş oluşturulamadı (geçersiz kayıt veya yetersiz stok)");
+            }
+            send(ex, 201, out -> writeTransaction(out, t));
+            return;
+        }
+        int id = parseId(path[1]);
+        if (path.length == 3 && "status".equals(path[2])) {
+            updateStatus(ex, method, id);
+            return;
+        }
+        if (path.length != 2) {
+            throw new ApiException(404, "Bilinmeyen yol");
+        }
+        requireMethod(method, "GET");
+        sendTransaction(ex, id);
+    }
+
+    private void updateStatus(HttpExchange ex, String method, int id) throws IOException {
+        requireMethod(method, "PUT");
+        Map<String, Object> body = readObject(ex);
+        String status = requireString(body, "status");
+        if (Transaction.statusFromString(status) == null) {
+            throw new ApiException(400, "Geçersiz durum: " + status);
+        }
+        if (!dataManager.updateTransactionStatus(id, status)) {
+            throw notFound("İşlem", id);
+        }
+        sendTransaction(ex, id);
+    }
+
+    private void sendTransaction(HttpExchange ex, int id) throws IOException {
+        Transaction t = dataManager.getTransaction(id);
+        if (t == null) {
+            throw notFound("İşlem", id);
+        }
+        send(ex, 200, out -> writeTransaction(out, t));
+    }
+
+    private void sendTransactions(HttpExchange ex, List<Transaction> list) throws IOException {
+        send(ex, 200, out -> writeTransactions(out, list));
+    }
+
+    // ==================== RAPORLAR ====================
+
+    private void reports(HttpExchange ex, String method, String[] path, Map<String, String> query)
+            throws IOException {
+        requireMethod(method, "GET");
+        String report = path.length > 1 ? path[1] : "";
+        switch (report) {
+            case "summary": {
+                ProfitLedger.Totals profit = dataManager.getProfitLossAnalysis();
+                double stockValue = dataManager.getTotalStockValue();
+                int critical = dataManager.getCriticalStockCount();
+                SalesRollup.Totals today = dataManager.getDailySalesSummary(LocalDate.now());
+                send(ex, 200, out -> {
+                    out.beginObject();
+                    out.field("revenue", profit.getRevenue());
+                    out.field("cost", profit.getCost());
+                    out.field("profit", profit.getProfit());
+                    out.field("margin", profit.getMargin());
+                    out.field("stockValue", stockValue);
+                    out.field("criticalStockCount", critical);
+                    out.name("today");
+                    writeSalesTotals(out, today);
+                    out.endObject();
+                });
+                return;
+            }
+            case "daily": {
+                LocalDate to = parseDate(query.get("to"), "to");
+                LocalDate from = parseDate(query.get("from"), "from");
+                LocalDate last = to != null ? to : LocalDate.now();
+                LocalDate first = from != null ? from : last.minusDays(29);
+                if (first.isAfter(last) || first.plusYears(5).isBefore(last)) {
+                    throw new ApiException(400, "Geçersiz tarih aralığı");
+                }
+                send(ex, 200, out -> {
+                    out.beginArray();
+                    for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+                        SalesRollup.Totals totals = dataManager.getDailySalesSummary(day);
+                        if (totals.getCount() == 0) {
+                            continue;
+                        }
+                        out.beginObject();
+                        out.field("date", day.toString());
+                        out.field("revenue", totals.getRevenue());
+                        out.field("quantity", totals.getQuantity());
+                        out.field("count", totals.getCount());
+                        out.endObject();
+                    }
+                    out.endArray();
+                });
+                return;
+            }
+            case "monthly": {
+                YearMonth month;
+                try {
+                    month = query.get("month") == null ? YearMonth.now() : YearMonth.parse(query.get("month"));
+                } catch (DateTimeParseException e) {
+                    throw new ApiException(400, "Geçersiz ay: " + query.get("month"));
+                }
+                SalesRollup.Totals sales = dataManager.getMonthlySalesSummary(month);
+                ProfitLedger.Totals profit = dataManager.getMonthlyProfit(month);
+                send(ex, 200, out -> {
+                    out.beginObject();
+                    out.field("month", month.toString());
+                    out.name("sales");
+                    writeSalesTotals(out, sales);
+                    out.name("profit");
+                    writeProfitTotals(out, profit);
+                    out.endObject();
+                });
+                return;
+            }
+            case "top-products": {
+                List<SalesRanking.Entry> top = dataManager.getTopSellers(parseLimit(query.get("limit")));
+                send(ex, 200, out -> {
+                    out.beginArray();
+                    for (SalesRanking.Entry e : top) {
+                        Product p = dataManager.getProduct(e.getProductId());
+                        out.beginObject();
+                        out.field("productId", e.getProductId());
+                        out.field("productName", p != null ? p.getName() : null);
+                        out.field("quantity", e.getQuantity());
+                        out.field("revenue", e.getRevenue());
+                        out.endObject();
+                    }
+                    out.endArray();
+                });
+                return;
+            }
+            case "categories": {
+                Map<String, ProfitLedger.Totals> categories = dataManager.getCategoryProfits();
+                send(ex, 200, out -> {
+                    out.beginObject();
+                    for (Map.Entry<String, ProfitLedger.Totals> e : categories.entrySet()) {
+                        out.name(e.getKey());
+                        writeProfitTotals(out, e.getValue());
+                    }
+                    out.endObject();
+                });
+                return;
+            }
+            case "sales": {
+                LocalDate from = parseDate(query.get("from"), "from");
+                LocalDate to = parseDate(query.get("to"), "to");
+                if (from != null && to != null && from.isAfter(to)) {
+                    throw new ApiException(400, "Geçersiz tarih aralığı");
+                }
+                SalesAggregator.Totals totals = dataManager.aggregateSales(from, to, query.get("category"));
+                send(ex, 200, out -> {
+                    out.beginObject();
+                    out.field("revenue", totals.getRevenue());
+                    out.field("cost", totals.getCost());
+                    out.field("profit", totals.getProfit());
+                    out.field("margin", totals.getMargin());
+                    out.field("quantity", totals.getQuantity());
+                    out.field("count", totals.getCount());
+                    out.endObject();
+                });
+                return;
+            }
+            default:
+                throw new ApiException(404, "Bilinmeyen rapor: " + report);
+        }
+    }
+
+    // ==================== JSON ÇIKTISI ====================
+
+    private static void writeProduct(JsonWriter out, Product p) throws IOException {
+        out.beginObject();
+        out.field("id", p.getId());
+        out.field("name", p.getName());
+        out.field("category", p.getCategory());
+        out.field("price", p.getPrice());
+        out.field("stock", p.getStock());
+        out.field("unit", p.getUnit());
+        out.field("criticalStock", p.getCriticalStock());
+        out.field("costPrice", p.getCostPrice());
+        out.field("active", p.isActive());
+        out.endObject();
+    }
+
+    private static void writeCustomer(JsonWriter out, Customer c) throws IOException {
+        out.beginObject();
+        out.field("id", c.getId());
+        out.field("name", c.getName());
+        out.field("phone", c.getPhone());
+        out.field("email", c.getEmail());
+        out.field("address", c.getAddress());
+        out.field("debt", c.getDebt());
+        out.field("type", c.getTypeString());
+        out.field("discountRate", c.getDiscountRate());
+        out.field("totalOrders", c.getTotalOrders());
+        out.field("active", c.isActive());
+        out.endObject();
+    }
+
+    private static void writeTransactions(JsonWriter out, List<Transaction> list) throws IOException {
+        out.beginArray();
+        for (Transaction t : list) {
+            writeTransaction(out, t);
+        }
+        out.endArray();
+    }
+
+    private static void writeTransaction(JsonWriter out, Transaction t) throws IOException {
+        out.beginObject();
+        out.field("id", t.getId());
+        out.field("date", t.getDate());
+        out.field("type", t.getType().name());
+        out.field("status", t.getStatus().name());
+        out.field("customerId", t.getCustomerId());
+        out.field("customerName", t.getCustomerName());
+        out.field("productId", t.getProductId());
+        out.field("productName", t.getProductName());
+        out.field("category", t.getCategory());
+        out.field("quantity", t.getQuantity());
+        out.field("unitPrice", t.getUnitPrice());
+        out.field("total", t.getTotal());
+        out.field("unitCost", t.getUnitCost());
+        out.field("priceVersion", t.getPriceVersion());
+        out.field("shippingCompany", t.getShippingCompany());
+        out.field("note", t.getNote());
+        out.endObject();
+    }
+
+    private static void writeQuote(JsonWriter out, PriceQuote quote) throws IOException {
+        out.beginObject();
+        out.field("customerId", quote.getCustomerId());
+        out.field("discountRate", quote.getDiscountRate());
+        out.field("priceVersion", quote.getPriceVersion());
+        out.field("total", quote.getTotal());
+        out.name("lines").beginArray();
+        for (int i = 0; i < quote.getLineCount(); i++) {
+            out.beginObject();
+            out.field("productId", quote.getProductId(i));
+            out.field("quantity", quote.getQuantity(i));
+            out.field("unitPrice", quote.getUnitPrice(i));
+            out.field("total", quote.getLineTotal(i));
+            out.endObject();
+        }
+        out.endArray();
+        out.endObject();
+    }
+
+    private static void writePriceList(JsonWriter out, PriceList list) throws IOException {
+        out.beginObject();
+        out.field("version", list.getVersion());
+        out.field("createdAt", list.getCreatedAt());
+        out.field("category", list.getCategory());
+        out.field("size", list.size());
+        out.endObject();
+    }
+
+    private static void writeAlert(JsonWriter out, StockAlert a) throws IOException {
+        out.beginObject();
+        out.field("sequence", a.getSequence());
+        out.field("productId", a.getProductId());
+        out.field("productName", a.getProductName());
+        out.field("level", a.getLevel().name());
+        out.field("stock", a.getStock());
+        out.field("criticalStock", a.getCriticalStock());
+        out.field("timestamp", a.getTimestamp());
+        out.field("message", a.getMessage());
+        out.endObject();
+    }
+
+    private static void writeSalesTotals(JsonWriter out, SalesRollup.Totals totals) throws IOException {
+        out.beginObject();
+        out.field("revenue", totals.getRevenue());
+        out.field("quantity", totals.getQuantity());
+        out.field("count", totals.getCount());
+        out.endObject();
+    }
+
+    private static void writeProfitTotals(JsonWriter out, ProfitLedger.Totals totals) throws IOException {
+        out.beginObject();
+        out.field("revenue", totals.getRevenue());
+        out.field("cost", totals.getCost());
+        out.field("profit", totals.getProfit());
+        out.field("margin", totals.getMargin());
+        out.endObject();
+    }
+
+    // ==================== YARDIMCI METODLAR ====================
+
+    // Yanıt parça parça (chunked) gönderilir; gövde tamponlu yazıcıyla doğrudan akışa yazılır
+    private static void send(HttpExchange ex, int status, Body body) throws IOException {
+        ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        ex.sendResponseHeaders(status, 0);
+        JsonWriter out = new JsonWriter(new BufferedWriter(
+                new OutputStreamWriter(ex.getResponseBody(), StandardCharsets.UTF_8), RESPONSE_BUFFER));
+        body.write(out);
+        out.close();
+    }
+
+    // Sayfa dizi olarak yazılır; sonraki sayfanın imleci başlıkta
+    private static <T> void sendPage(HttpExchange ex, Page<T> page, Item<T> item) throws IOException {
+        Headers headers = ex.getResponseHeaders();
+        headers.set("Access-Control-Expose-Headers", "X-Next-Cursor");
+        if (page.hasNext()) {
+            headers.set("X-Next-Cursor", page.getNextCursor());
+        }
+        send(ex, 200, out -> {
+            out.beginArray();
+            for (T t : page.getItems()) {
+                item.write(out, t);
+            }
+            out.endArray();
+        });
+    }
+
+    // Başlıklar gönderildiyse (yanıt yazılırken hata) bağlantı sadece kapatılır
+    private static void sendError(HttpExchange ex, int status, String message) throws IOException {
+        if (ex.getResponseCode() != -1) {
+            return;
+        }
+        send(ex, status, out -> {
+            out.beginObject();
+            out.field("error", message);
+            out.endObject();
+        });
+    }
+
+    private void handleStatic(HttpExchange ex) throws IOException {
+        try {
+            String path = ex.getRequestURI().getPath();
+            Path file = Paths.get("index.html");
+            if (!"GET".equals(ex.getRequestMethod()) || !("/".equals(path) || "/index.html".equals(path))
+                    || !Files.isRegularFile(file)) {
+                ex.sendResponseHeaders(404, -1);
+                return;
+            }
+            ex.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+            ex.sendResponseHeaders(200, Files.size(file));
+            try (OutputStream out = ex.getResponseBody()) {
+                Files.copy(file, out);
+            }
+        } finally {
+            ex.close();
+        }
+    }
+
+    private static Object readBody(HttpExchange ex) throws IOException {
+        try (InputStream in = ex.getRequestBody();
+             JsonReader reader = new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            return reader.readValue();
+        } catch (IOException e) {
+            throw new ApiException(400, "Geçersiz istek gövdesi: " + e.getMessage());
+        }
+    }
+
+    private static Map<String, Object> readObject(HttpExchange ex) throws IOException {
+        return asObject(readBody(ex));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asObject(Object value) {
+        if (!(value instanceof Map)) {
+            throw new ApiException(400, "JSON nesnesi bekleniyordu");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    private static String string(Map<String, Object> body, String key, String defaultValue) {
+        Object value = body.get(key);
+        return value == null ? defaultValue : value.toString();
+    }
+
+    // İşlem miktarı; pozitif tam sayı değilse 400
+    private static int requireQuantity(Map<String, Object> line) {
+        double quantity = requireNumber(line, "quantity");
+        if (quantity <= 0 || quantity != Math.floor(quantity) || quantity > Integer.MAX_VALUE) {
+            throw new ApiException(400, "Geçersiz miktar: " + line.get("quantity"));
+        }
+        return (int) quantity;
+    }
+
+    // İşlem tipi (varsayılan "Satış"); bilinmeyen tip 400
+    private static String transactionType(Map<String, Object> line) {
+        String type = string(line, "type", "Satış");
+        if (Transaction.typeFromString(type) == null) {
+            throw new ApiException(400, "Geçersiz işlem tipi: " + type);
+        }
+        return type;
+    }
+
+    private static String requireString(Map<String, Object> body, String key) {
+        String value = string(body, key, null);
+        if (value == null || value.isBlank()) {
+            throw new ApiException(400, "Eksik alan: " + key);
+        }
+        return value;
+    }
+
+    private static double number(Map<String, Object> body, String key, double defaultValue) {
+        Object value = body.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Double) {
+            return (Double) value;
+        }
+        try {
+            return Double.parseDouble(value.toString().trim().replace(',', '.'));
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "Geçersiz sayı (" + key + "): " + value);
+        }
+    }
+
+    private static double requireNumber(Map<String, Object> body, String key) {
+        if (body.get(key) == null) {
+            throw new ApiException(400, "Eksik alan: " + key);
+        }
+        return number(body, key, 0);
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> query = new HashMap<>();
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            query.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static int parseId(String text) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "Geçersiz id: " + text);
+        }
+    }
+
+    private static int parseLimit(String text) {
+        if (text == null) {
+            return DEFAULT_LIMIT;
+        }
+        return (int) Math.min(Math.max(parseLong(text, DEFAULT_LIMIT, "limit"), 0), MAX_LIMIT);
+    }
+
+    // sort, order, cursor ve limit parametreleriyle sayfayı al; geçersiz sıralama/imleç 400 olur
+    private static <T> Page<T> page(Map<String, String> query, PageQuery<T> pageQuery) {
+        String sortText = query.get("sort");
+        Page.Sort sort = Page.sortFromString(sortText);
+        if (sortText != null && sort == null) {
+            throw new ApiException(400, "Geçersiz sıralama: " + sortText);
+        }
+        String order = query.get("order");
+        if (order != null && !"asc".equalsIgnoreCase(order) && !"desc".equalsIgnoreCase(order)) {
+            throw new ApiException(400, "Geçersiz sıra yönü: " + order);
+        }
+        try {
+            return pageQuery.get(sort, "desc".equalsIgnoreCase(order), query.get("cursor"),
+                    Math.max(parseLimit(query.get("limit")), 1));
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(400, e.getMessage());
+        }
+    }
+
+    private static long parseLong(String text, long defaultValue, String name) {
+        if (text == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "Geçersiz " + name + ": " + text);
+        }
+    }
+
+    private static LocalDate parseDate(String text, String name) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(text);
+        } catch (DateTimeParseException e) {
+            throw new ApiException(400, "Geçersiz tarih (" + name + "): " + text);
+        }
+    }
+
+    private static void requireMethod(String method, String expected) {
+        if (!expected.equals(method)) {
+            throw methodNotAllowed(method);
+        }
+    }
+
+    private static ApiException methodNotAllowed(String method) {
+        return new ApiException(405, "Desteklenmeyen metot: " + method);
+    }
+
+    private static ApiException notFound(String what, int id) {
+        return new ApiException(404, what + " bulunamadı: " + id);
+    }
+}
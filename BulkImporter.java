@@ -0,0 +1,834 @@
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ürün, müşteri ve işlem geçmişini toplu içe aktaran Java sınıfı
+ * Dosyalar akış halinde okunur; kayıtlar parçalar (chunk) halinde paralel
+ * ayrıştırılır ve sırayla DataManager'a toplu eklenir. Bellekte aynı anda
+ * en fazla birkaç parça bulunur. Arama/sıralama indeksleri ve stok uyarıları
+ * aktarım sonunda bir kez güncellenir. Hatalı satırlar atlanır ve raporlanır.
+ *
+ * Desteklenen biçimler:
+ * - CSV (başlık satırı zorunlu, ',' veya ';' ayraçlı, tırnaklı alanlar)
+ * - JSON dizisi (tek tür kayıt)
+ * - index.html'in localStorage verisi: products, customers, transactions,
+ *   orders ve stocks anahtarlı nesne (değerler JSON metni olarak da gelebilir)
+ *
+ * Kaynak id'ler boşsa korunur, çakışırsa yeni id atanır; işlem ve siparişlerdeki
+ * ürün/müşteri referansları aynı aktarıcıyla daha önce yüklenen kayıtlara göre eşlenir.
+ * Thread-safe değildir; bir aktarım oturumu tek thread'den yürütülür.
+ */
+public class BulkImporter implements Closeable {
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final DateTimeFormatter LOCALE_DATE_TIME = DateTimeFormatter.ofPattern("d.M.yyyy H:mm:ss");
+    private static final DateTimeFormatter LOCALE_DATE = DateTimeFormatter.ofPattern("d.M.yyyy");
+
+    // Kayıt türü
+    public enum Kind {
+        PRODUCTS,
+        CUSTOMERS,
+        TRANSACTIONS,
+        ORDERS
+    }
+
+    private final DataManager dataManager;
+    private final ExecutorService parsers;
+    private final int maxInFlight;
+
+    // Kaynak id -> atanan id (sadece farklı olanlar)
+    private final Map<Integer, Integer> productIdMap;
+    private final Map<Integer, Integer> customerIdMap;
+
+    // Aktarım sonunda işlenecekler
+    private final Map<Integer, Integer> pendingStocks;
+    private final Set<Integer> touchedProducts;
+    private final List<Integer> importedProducts; // İndekslenecekler
+    private final List<Integer> importedCustomers;
+
+    // Constructor
+    public BulkImporter(DataManager dataManager) {
+        this(dataManager, Runtime.getRuntime().availableProcessors());
+    }
+
+    // Constructor - Tam
+    public BulkImporter(DataManager dataManager, int threads) {
+        this.dataManager = dataManager;
+        AtomicInteger counter = new AtomicInteger();
+        this.parsers = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "bulk-import-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.maxInFlight = Math.max(2, threads * 2);
+        this.productIdMap = new HashMap<>();
+        this.customerIdMap = new HashMap<>();
+        this.pendingStocks = new LinkedHashMap<>();
+        this.touchedProducts = new HashSet<>();
+        this.importedProducts = new ArrayList<>();
+        this.importedCustomers = new ArrayList<>();
+    }
+
+    // ==================== GİRİŞ NOKTALARI ====================
+
+    public Report importCsv(Path file, Kind kind) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importCsv(reader, kind, file.getFileName().toString());
+        }
+    }
+
+    public Report importCsv(Reader reader, Kind kind, String source) throws IOException {
+        Report report = new Report();
+        CsvSource csv = new CsvSource(reader, source);
+        try {
+            run(csv, kind, report);
+        } finally {
+            indexImported();
+        }
+        finish(report);
+        return report;
+    }
+
+    // localStorage biçimindeki nesne veya tek türden JSON dizisi (tür gerekir)
+    public Report importJson(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importJson(reader, file.getFileName().toString());
+        }
+    }
+
+    public Report importJson(Path file, Kind kind) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importJson(reader, kind, file.getFileName().toString());
+        }
+    }
+
+    /**
+     * localStorage biçimi: {"products": [...], "customers": [...], "transactions": [...],
+     * "orders": [...], "stocks": {"ürünId": miktar}}. Diğer anahtarlar (ör. theme) atlanır.
+     */
+    public Report importJson(Reader reader, String source) throws IOException {
+        Report report = new Report();
+        JsonReader json = new JsonReader(reader);
+        try {
+            json.beginObject();
+            while (json.hasNext()) {
+                String key = json.nextName();
+                Kind kind = kindOf(key);
+                if (kind != null) {
+                    importArray(json, kind, source + ":" + key, report);
+                } else if ("stocks".equals(key)) {
+                    readStocks(json);
+                } else {
+                    json.skipValue();
+                }
+            }
+            json.endObject();
+        } finally {
+            indexImported();
+        }
+        finish(report);
+        return report;
+    }
+
+    public Report importJson(Reader reader, Kind kind, String source) throws IOException {
+        Report report = new Report();
+        try {
+            importArray(new JsonReader(reader), kind, source, report);
+        } finally {
+            indexImported();
+        }
+        finish(report);
+        return report;
+    }
+
+    @Override
+    public void close() {
+        parsers.shutdownNow();
+    }
+
+    // ==================== AKIŞ ====================
+
+    // localStorage değerleri JSON metni olarak saklanmış olabilir
+    private void importArray(JsonReader json, Kind kind, String source, Report report) throws IOException {
+        if (json.peek() == JsonReader.Token.STRING) {
+            json = new JsonReader(new StringReader(json.nextString()));
+        } else if (json.peek() == JsonReader.Token.NULL) {
+            json.nextNull();
+            return;
+        }
+        run(new JsonArraySource(json, source), kind, report);
+    }
+
+    private void readStocks(JsonReader json) throws IOException {
+        if (json.peek() == JsonReader.Token.STRING) {
+            json = new JsonReader(new StringReader(json.nextString()));
+        } else if (json.peek() == JsonReader.Token.NULL) {
+            json.nextNull();
+            return;
+        }
+        json.beginObject();
+        while (json.hasNext()) {
+            String id = json.nextName();
+            try {
+                pendingStocks.put(Integer.parseInt(id.trim()), (int) json.nextDouble());
+            } catch (NumberFormatException e) {
+                json.skipValue();
+            }
+        }
+        json.endObject();
+    }
+
+    /**
+     * Kaynaktan parçalar okur, ayrıştırmayı havuza verir ve sonuçları
+     * sırayla ekler. Bekleyen parça sayısı sınırlıdır (geri basınç).
+     */
+    private void run(RecordSource source, Kind kind, Report report) throws IOException {
+        Deque<Future<Chunk>> inFlight = new ArrayDeque<>();
+        try {
+            List<RawRecord> records = new ArrayList<>(CHUNK_SIZE);
+            RawRecord record;
+            while ((record = source.next()) != null) {
+                records.add(record);
+                if (records.size() == CHUNK_SIZE) {
+                    inFlight.add(submit(source, kind, records));
+                    records = new ArrayList<>(CHUNK_SIZE);
+                    if (inFlight.size() >= maxInFlight) {
+                        insert(inFlight.poll(), kind, report);
+                    }
+                }
+            }
+            if (!records.isEmpty()) {
+                inFlight.add(submit(source, kind, records));
+            }
+            while (!inFlight.isEmpty()) {
+                insert(inFlight.poll(), kind, report);
+            }
+        } finally {
+            for (Future<Chunk> f : inFlight) {
+                f.cancel(true);
+            }
+        }
+    }
+
+    private Future<Chunk> submit(RecordSource source, Kind kind, List<RawRecord> records) {
+        return parsers.submit(() -> {
+            Chunk chunk = new Chunk(records.size());
+            for (RawRecord r : records) {
+                try {
+                    chunk.rows.add(convert(kind, source.fields(r)));
+                } catch (RuntimeException e) {
+                    chunk.errors.add(new RowError(source.name(), r.row, e.getMessage()));
+                }
+            }
+            return chunk;
+        });
+    }
+
+    // Parçayı DataManager'a ekle (aktarıcı thread'inde, kaynak sırasıyla)
+    private void insert(Future<Chunk> future, Kind kind, Report report) throws IOException {
+        Chunk chunk;
+        try {
+            chunk = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("İçe aktarma kesildi", e);
+        } catch (ExecutionException e) {
+            throw new IOException("İçe aktarma başarısız", e.getCause());
+        }
+        for (RowError error : chunk.errors) {
+            report.addError(error);
+        }
+        switch (kind) {
+            case PRODUCTS: {
+                List<Product> batch = cast(chunk.rows);
+                int[] sourceIds = new int[batch.size()];
+                for (int i = 0; i < batch.size(); i++) {
+                    sourceIds[i] = batch.get(i).getId();
+                }
+                dataManager.importProducts(batch);
+                for (int i = 0; i < batch.size(); i++) {
+                    int id = batch.get(i).getId();
+                    if (sourceIds[i] > 0 && sourceIds[i] != id) {
+                        productIdMap.put(sourceIds[i], id);
+                    }
+                    touchedProducts.add(id);
+                    importedProducts.add(id);
+                }
+                break;
+            }
+            case CUSTOMERS: {
+                List<Customer> batch = cast(chunk.rows);
+                int[] sourceIds = new int[batch.size()];
+                for (int i = 0; i < batch.size(); i++) {
+                    sourceIds[i] = batch.get(i).getId();
+                }
+                dataManager.importCustomers(batch);
+                for (int i = 0; i < batch.size(); i++) {
+                    if (sourceIds[i] > 0 && sourceIds[i] != batch.get(i).getId()) {
+                        customerIdMap.put(sourceIds[i], batch.get(i).getId());
+                    }
+                    importedCustomers.add(batch.get(i).getId());
+                }
+                break;
+            }
+            default: {
+                List<Transaction> batch = cast(chunk.rows);
+                for (Transaction t : batch) {
+                    t.setProductId(productIdMap.getOrDefault(t.getProductId(), t.getProductId()));
+                    t.setCustomerId(customerIdMap.getOrDefault(t.getCustomerId(), t.getCustomerId()));
+                    // Eski kayıtlarda maliyet yok: güncel ürün maliyeti en iyi tahmindir
+                    Product product = dataManager.getProduct(t.getProductId());
+                    if (product != null) {
+                        if (t.getUnitCostKurus() == 0) {
+                            t.setUnitCostKurus(product.getCostPriceKurus());
+                        }
+                        if (t.getCategory() == null) {
+                            t.setCategory(product.getCategory());
+                        }
+                    }
+                }
+                dataManager.importTransactions(batch);
+                break;
+            }
+        }
+        report.addImported(kind, chunk.rows.size());
+    }
+
+    // Eklenen kayıtları indekslere bir kez ekle; aktarım yarıda kesilse de çağrılır
+    private void indexImported() {
+        dataManager.indexImported(importedProducts, importedCustomers);
+        importedProducts.clear();
+        importedCustomers.clear();
+    }
+
+    // Aktarım sonu: stokları uygula, uyarıları bir kez değerlendir
+    private void finish(Report report) {
+        if (!pendingStocks.isEmpty()) {
+            Map<Integer, Integer> stocks = new LinkedHashMap<>();
+            for (Map.Entry<Integer, Integer> e : pendingStocks.entrySet()) {
+                int id = productIdMap.getOrDefault(e.getKey(), e.getKey());
+                stocks.put(id, e.getValue());
+                touchedProducts.add(id);
+            }
+            report.stocksApplied = dataManager.importStocks(stocks);
+            pendingStocks.clear();
+        }
+        dataManager.evaluateStockAlerts(touchedProducts);
+        touchedProducts.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> cast(List<Object> rows) {
+        return (List<T>) (List<?>) rows;
+    }
+
+    private static Kind kindOf(String key) {
+        switch (key) {
+            case "products": return Kind.PRODUCTS;
+            case "customers": return Kind.CUSTOMERS;
+            case "transactions": return Kind.TRANSACTIONS;
+            case "orders": return Kind.ORDERS;
+            default: return null;
+        }
+    }
+
+    // ==================== DÖNÜŞTÜRME (paralel) ====================
+
+    private static Object convert(Kind kind, Map<String, Object> r) {
+        switch (kind) {
+            case PRODUCTS: return toProduct(r);
+            case CUSTOMERS: return toCustomer(r);
+            case TRANSACTIONS: return toTransaction(r);
+            default: return orderToTransaction(r);
+        }
+    }
+
+    private static Product toProduct(Map<String, Object> r) {
+        String name = required(r, "name");
+        double price = number(r, "price", 0.0);
+        if (price < 0) {
+            throw new IllegalArgumentException("price negatif olamaz");
+        }
+        String unit = text(r, "unit");
+        return new Product(integer(r, "id", 0), name, text(r, "category"), price,
+                integer(r, "stock", 0), unit != null ? unit : "Adet",
+                integer(r, "criticalStock", 10), number(r, "costPrice", 0.0));
+    }
+
+    private static Customer toCustomer(Map<String, Object> r) {
+        String name = required(r, "name");
+        double discount = r.containsKey("discountRate") ? number(r, "discountRate", 0.0) : number(r, "discount", 0.0);
+        if (discount < 0 || discount > 100) {
+            throw new IllegalArgumentException("discount 0-100 arasında olmalı");
+        }
+        return new Customer(integer(r, "id", 0), name, text(r, "phone"), text(r, "email"), text(r, "address"),
+                number(r, "debt", 0.0), Customer.typeFromString(text(r, "type")), discount);
+    }
+
+    private static Transaction toTransaction(Map<String, Object> r) {
+        int quantity = positiveQuantity(r);
+        double unitPrice = number(r, "unitPrice", 0.0);
+        String typeText = text(r, "type");
+        Transaction.TransactionType type = typeText == null ? Transaction.TransactionType.SALE
+                : Transaction.typeFromString(typeText);
+        if (type == null) {
+            throw new IllegalArgumentException("type geçersiz: " + typeText);
+        }
+        Transaction t = new Transaction(integer(r, "id", 0), type,
+                integer(r, "customerId", 0), text(r, "customerName"),
+                integer(r, "productId", 0), text(r, "productName"),
+                quantity, unitPrice, number(r, "total", unitPrice * quantity));
+        t.setUnitCost(number(r, "unitCost", 0.0));
+        t.setCategory(text(r, "category"));
+        t.setNote(text(r, "note"));
+        t.setShippingCompany(text(r, "shippingCompany"));
+        LocalDateTime date = date(r, "date");
+        if (date != null) {
+            t.setDate(date);
+        }
+        String status = text(r, "status");
+        if (status != null) {
+            Transaction.TransactionStatus s = Transaction.statusFromString(status);
+            if (s == null) {
+                throw new IllegalArgumentException("Bilinmeyen durum: " + status);
+            }
+            t.setStatus(s);
+        }
+        return t;
+    }
+
+    // index.html siparişi -> satış işlemi (hazırlanıyor/sevkiyatta: beklemede, teslim edildi: tamamlandı)
+    private static Transaction orderToTransaction(Map<String, Object> r) {
+        int quantity = positiveQuantity(r);
+        double unitPrice = number(r, "unitPrice", 0.0);
+        Transaction t = new Transaction(0, Transaction.TransactionType.SALE,
+                integer(r, "customerId", 0), text(r, "customerName"),
+                integer(r, "productId", 0), text(r, "productName"),
+                quantity, unitPrice, number(r, "total", unitPrice * quantity));
+        t.setNote(text(r, "note"));
+        t.setShippingCompany(text(r, "shipping"));
+        LocalDateTime date = date(r, "createdAt");
+        if (date != null) {
+            t.setDate(date);
+        }
+        String status = text(r, "status");
+        if (status != null) {
+            switch (status) {
+                case "preparing":
+                case "shipping":
+                    t.setStatus(Transaction.TransactionStatus.PENDING);
+                    break;
+                case "delivered":
+                    t.setStatus(Transaction.TransactionStatus.COMPLETED);
+                    break;
+                default:
+                    Transaction.TransactionStatus s = Transaction.statusFromString(status);
+                    if (s == null) {
+                        throw new IllegalArgumentException("Bilinmeyen sipariş durumu: " + status);
+                    }
+                    t.setStatus(s);
+            }
+        }
+        return t;
+    }
+
+    private static int positiveQuantity(Map<String, Object> r) {
+        int quantity = integer(r, "quantity", 0);
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("quantity pozitif olmalı");
+        }
+        return quantity;
+    }
+
+    // Boş metin null sayılır; tam sayı değerli sayılar ".0" olmadan yazılır
+    private static String text(Map<String, Object> r, String key) {
+        Object value = r.get(key);
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Double) {
+            double d = (Double) value;
+            return d == Math.rint(d) && !Double.isInfinite(d) ? Long.toString((long) d) : value.toString();
+        }
+        String s = value.toString().trim();
+        return s.isEmpty() ? null : s;
+    }
+
+    private static String required(Map<String, Object> r, String key) {
+        String value = text(r, key);
+        if (value == null) {
+            throw new IllegalArgumentException(key + " boş olamaz");
+        }
+        return value;
+    }
+
+    // Sayı; ondalık virgül (12,50) da kabul edilir
+    private static double number(Map<String, Object> r, String key, double defaultValue) {
+        Object value = r.get(key);
+        if (value instanceof Double) {
+            return (Double) value;
+        }
+        if (value instanceof Boolean) {
+            throw new IllegalArgumentException(key + " sayı değil: " + value);
+        }
+        String s = text(r, key);
+        if (s == null) {
+            return defaultValue;
+        }
+        if (s.indexOf(',') >= 0 && s.indexOf('.') < 0) {
+            s = s.replace(',', '.');
+        }
+        try {
+            return Double.parseDouble(s);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " sayı değil: " + s);
+        }
+    }
+
+    private static int integer(Map<String, Object> r, String key, int defaultValue) {
+        double value = number(r, key, defaultValue);
+        if (value != Math.rint(value) || value > Integer.MAX_VALUE || value < Integer.MIN_VALUE) {
+            throw new IllegalArgumentException(key + " tam sayı değil: " + value);
+        }
+        return (int) value;
+    }
+
+    // tr-TR yerel biçimi (18.10.2026 14:03:05), ISO tarih-saat veya ISO tarih
+    private static LocalDateTime date(Map<String, Object> r, String key) {
+        String s = text(r, key);
+        if (s == null) {
+            return null;
+        }
+        try {
+            if (s.indexOf('-') > 0) {
+                return s.indexOf('T') > 0 ? LocalDateTime.parse(s) : LocalDate.parse(s).atStartOfDay();
+            }
+            if (s.indexOf(':') > 0) {
+                return LocalDateTime.parse(s, LOCALE_DATE_TIME);
+            }
+            return LocalDate.parse(s, LOCALE_DATE).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(key + " geçersiz tarih: " + s);
+        }
+    }
+
+    // ==================== KAYNAKLAR ====================
+
+    // Ham kayıt: kaynaktaki satır/öğe numarası ve ayrıştırılmamış veri
+    private static class RawRecord {
+        private final long row;
+        private final Object data;
+
+        RawRecord(long row, Object data) {
+            this.row = row;
+            this.data = data;
+        }
+    }
+
+    // Sıralı okunan kayıt kaynağı; alan ayrıştırma (fields) paralel çağrılabilir
+    private interface RecordSource {
+        RawRecord next() throws IOException;
+
+        Map<String, Object> fields(RawRecord record);
+
+        String name();
+    }
+
+    // JSON dizisi: her öğe ayrı okunur
+    private static class JsonArraySource implements RecordSource {
+        private final JsonReader json;
+        private final String name;
+        private long index;
+        private boolean started;
+        private boolean done;
+
+        JsonArraySource(JsonReader json, String name) {
+            this.json = json;
+            this.name = name;
+        }
+
+        @Override
+        public RawRecord next() throws IOException {
+            if (done) {
+                return null;
+            }
+            if (!started) {
+                json.beginArray();
+                started = true;
+            }
+            if (!json.hasNext()) {
+                json.endArray();
+                done = true;
+                return null;
+            }
+            return new RawRecord(++index, json.readValue());
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map<String, Object> fields(RawRecord record) {
+            if (!(record.data instanceof Map)) {
+                throw new IllegalArgumentException("Nesne bekleniyordu");
+            }
+            return (Map<String, Object>) record.data;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+    }
+
+    /**
+     * CSV: okuyucu thread'i sadece kayıt sınırlarını bulur (tırnak içindeki satır
+     * sonlarını dikkate alarak); alanların ayrıştırılması paralel yapılır.
+     */
+    private static class CsvSource implements RecordSource {
+        private final BufferedReader reader;
+        private final String name;
+        private final StringBuilder record = new StringBuilder();
+        private String[] header;
+        private char delimiter = ',';
+        private long line;
+
+        CsvSource(Reader reader, String name) {
+            this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+            this.name = name;
+        }
+
+        @Override
+        public RawRecord next() throws IOException {
+            while (true) {
+                long start = line + 1;
+                String raw = readRecord();
+                if (raw == null) {
+                    return null;
+                }
+                if (raw.trim().isEmpty()) {
+                    continue;
+                }
+                if (header == null) {
+                    readHeader(raw);
+                    continue;
+                }
+                return new RawRecord(start, raw);
+            }
+        }
+
+        @Override
+        public Map<String, Object> fields(RawRecord r) {
+            List<String> values = split((String) r.data, delimiter);
+            if (values.size() > header.length) {
+                throw new IllegalArgumentException("Alan sayısı başlıktan fazla: " + values.size());
+            }
+            Map<String, Object> map = new HashMap<>();
+            for (int i = 0; i < values.size(); i++) {
+                map.put(header[i], values.get(i));
+            }
+            return map;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        private void readHeader(String raw) {
+            if (raw.charAt(0) == '\uFEFF') {
+                raw = raw.substring(1);
+            }
+            // Türkçe Excel çıktıları ';' ile ayrılır
+            if (raw.indexOf(';') >= 0 && raw.indexOf(',') < 0) {
+                delimiter = ';';
+            }
+            List<String> names = split(raw, delimiter);
+            header = new String[names.size()];
+            for (int i = 0; i < header.length; i++) {
+                header[i] = names.get(i).trim();
+            }
+        }
+
+        // Tırnak içindeki satır sonları kayda dahildir
+        private String readRecord() throws IOException {
+            record.setLength(0);
+            boolean quoted = false;
+            String text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            while (true) {
+                line++;
+                record.append(text);
+                for (int i = 0; i < text.length(); i++) {
+                    if (text.charAt(i) == '"') {
+                        quoted = !quoted;
+                    }
+                }
+                if (!quoted) {
+                    return record.toString();
+                }
+                text = reader.readLine();
+                if (text == null) {
+                    throw new IOException(name + ": kapanmamış tırnak, satır " + line);
+                }
+                record.append('\n');
+            }
+        }
+
+        private static List<String> split(String raw, char delimiter) {
+            List<String> values = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < raw.length(); i++) {
+                char c = raw.charAt(i);
+                if (quoted) {
+                    if (c == '"') {
+                        if (i + 1 < raw.length() && raw.charAt(i + 1) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == delimiter) {
+                    values.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            values.add(field.toString());
+            return values;
+        }
+    }
+
+    // Ayrıştırılmış parça
+    private static class Chunk {
+        private final List<Object> rows;
+        private final List<RowError> errors;
+
+        Chunk(int size) {
+            this.rows = new ArrayList<>(size);
+            this.errors = new ArrayList<>();
+        }
+    }
+
+    // ==================== RAPOR ====================
+
+    /**
+     * Satır bazlı hata: kaynak, satır (CSV) veya öğe sırası (JSON) ve mesaj
+     */
+    public static class RowError {
+        private final String source;
+        private final long row;
+        private final String message;
+
+        public RowError(String source, long row, String message) {
+            this.source = source;
+            this.row = row;
+            this.message = message;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return source + ":" + row + ": " + message;
+        }
+    }
+
+    /**
+     * Aktarım özeti; ilk MAX_REPORTED_ERRORS hata saklanır, hepsi sayılır
+     */
+    public static class Report {
+        private final Map<Kind, Integer> imported = new EnumMap<>(Kind.class);
+        private final List<RowError> errors = new ArrayList<>();
+        private int errorCount;
+        private int stocksApplied;
+
+        void addImported(Kind kind, int count) {
+            imported.merge(kind, count, Integer::sum);
+        }
+
+        void addError(RowError error) {
+            errorCount++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+
+        public int getImported(Kind kind) {
+            return imported.getOrDefault(kind, 0);
+        }
+
+        public int getTotalImported() {
+            int total = 0;
+            for (int n : imported.values()) {
+                total += n;
+            }
+            return total;
+        }
+
+        public int getStocksApplied() {
+            return stocksApplied;
+        }
+
+        public int getErrorCount() {
+            return errorCount;
+        }
+
+        public List<RowError> getErrors() {
+            return Collections.unmodifiableList(errors);
+        }
+
+        @Override
+        public String toString() {
+            return "Report{" +
+                    "imported=" + imported +
+                    ", stocksApplied=" + stocksApplied +
+                    ", errors=" + errorCount +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,127 @@
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * ByteBuffer üzerinde DataInput için Java sınıfı
+ * Belleğe eşlenmiş dosyalardan (anlık görüntü, arşiv) kopyasız okuma yapar.
+ */
+public class ByteBufferInput implements DataInput {
+    protected ByteBuffer buffer;
+
+    // Constructor
+    public ByteBufferInput(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    // En az 'bytes' bayt okunabilir olmalı; alt sınıflar pencereyi kaydırabilir
+    protected ByteBuffer ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            throw new EOFException();
+        }
+        return buffer;
+    }
+
+    @Override
+    public void readFully(byte[] b) throws IOException {
+        readFully(b, 0, b.length);
+    }
+
+    @Override
+    public void readFully(byte[] b, int off, int len) throws IOException {
+        ensure(len).get(b, off, len);
+    }
+
+    @Override
+    public int skipBytes(int n) throws IOException {
+        ensure(n);
+        buffer.position(buffer.position() + n);
+        return n;
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return ensure(1).get() != 0;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        return ensure(1).get();
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return ensure(1).get() & 0xFF;
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        return ensure(2).getShort();
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return ensure(2).getShort() & 0xFFFF;
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        return ensure(2).getChar();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        return ensure(4).getInt();
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        return ensure(8).getLong();
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        return ensure(4).getFloat();
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        return ensure(8).getDouble();
+    }
+
+    // Ardışık int dizisi; pencere sınırında parça parça okunur
+    public void readInts(int[] values, int length) throws IOException {
+        int done = 0;
+        while (done < length) {
+            ByteBuffer b = ensure(4);
+            int n = Math.min(length - done, b.remaining() / 4);
+            b.asIntBuffer().get(values, done, n);
+            b.position(b.position() + n * 4);
+            done += n;
+        }
+    }
+
+    // Ardışık long dizisi; pencere sınırında parça parça okunur
+    public void readLongs(long[] values, int length) throws IOException {
+        int done = 0;
+        while (done < length) {
+            ByteBuffer b = ensure(8);
+            int n = Math.min(length - done, b.remaining() / 8);
+            b.asLongBuffer().get(values, done, n);
+            b.position(b.position() + n * 8);
+            done += n;
+        }
+    }
+
+    @Override
+    public String readLine() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String readUTF() throws IOException {
+        return DataInputStream.readUTF(this);
+    }
+}
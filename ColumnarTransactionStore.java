@@ -0,0 +1,715 @@
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Mühürlenmiş (geçmiş) işlemler için sütun bazlı bellek deposu
+ * Her alan ayrı bir ilkel dizide tutulur; ad metinleri sözlükle kodlanır,
+ * tip ve durum tek bayttır. İşlem nesnesi sadece istendiğinde üretilir.
+ * Tam geçmiş taramaları işaretçi takibi yapmadan ardışık bellek okur.
+ * Müşteri ve ürün aramaları satır listeleriyle (posting) yapılır, tam tarama gerekmez.
+ * Sütunlar anlık görüntüye dizi olarak yazılır ve açılışta toplu okunur (satır çözülmez).
+ */
+public class ColumnarTransactionStore {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int SCAN_BLOCK = 1024;
+    private static final int AGGREGATE_BLOCK = 1 << 16; // Toplama taramasında kilit başına satır
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Sütunlar (ilk 'size' satır geçerli)
+    private int[] id;
+    private int[] customerId;
+    private int[] productId;
+    private int[] quantity;
+    private long[] unitPrice;   // Tutarlar kuruş
+    private long[] total;
+    private long[] unitCost;
+    private long[] priceVersion; // Satışta kullanılan fiyat listesi sürümü
+    private long[] epochSecond; // Tarih/saat (ZoneOffset.UTC ile, RecordCodec ile aynı)
+    private int[] nano;         // Saniye altı kısım; mühürlenen işlemin tarihi değişmez
+    private byte[] type;        // TransactionType.ordinal()
+    private byte[] status;      // TransactionStatus.ordinal()
+    private int[] customerName; // Sözlük kodları
+    private int[] productName;
+    private int[] category;
+    private int size;
+
+    // id -> satır (yoğun id'ler için, yoksa -1)
+    private int[] rowById;
+
+    // Müşteri / ürün id -> satır listesi; ilk aramada kurulur, satırlar sıkıştırılınca atılır
+    private IntObjectMap<Rows> rowsByCustomer;
+    private IntObjectMap<Rows> rowsByProduct;
+
+    // Metin sözlüğü
+    private final Map<String, Integer> dictionaryCodes;
+    private final List<String> dictionary;
+
+    // Nadir alanlar: id -> not / nakliye firması
+    private final Map<Integer, String> notes;
+    private final Map<Integer, String> shippingCompanies;
+
+    // Sayfalama sıraları: (anahtar, id) çiftleri; ilk kullanımda kurulur, eklemede birleştirilir,
+    // satır çıkarılınca atılır (tekrar kurulur)
+    private final Map<Page.Sort, TransactionOrder.Run> orders;
+
+    // Constructor
+    public ColumnarTransactionStore() {
+        this.id = new int[INITIAL_CAPACITY];
+        this.customerId = new int[INITIAL_CAPACITY];
+        this.productId = new int[INITIAL_CAPACITY];
+        this.quantity = new int[INITIAL_CAPACITY];
+        this.unitPrice = new long[INITIAL_CAPACITY];
+        this.total = new long[INITIAL_CAPACITY];
+        this.unitCost = new long[INITIAL_CAPACITY];
+        this.priceVersion = new long[INITIAL_CAPACITY];
+        this.epochSecond = new long[INITIAL_CAPACITY];
+        this.nano = new int[INITIAL_CAPACITY];
+        this.type = new byte[INITIAL_CAPACITY];
+        this.status = new byte[INITIAL_CAPACITY];
+        this.customerName = new int[INITIAL_CAPACITY];
+        this.productName = new int[INITIAL_CAPACITY];
+        this.category = new int[INITIAL_CAPACITY];
+        this.rowById = new int[INITIAL_CAPACITY];
+        Arrays.fill(rowById, -1);
+        this.dictionaryCodes = new HashMap<>();
+        this.dictionary = new ArrayList<>();
+        this.notes = new HashMap<>();
+        this.shippingCompanies = new HashMap<>();
+        this.orders = new EnumMap<>(Page.Sort.class);
+    }
+
+    // İşlemleri sütunlara ekle
+    public void appendAll(List<Transaction> batch) {
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(size + batch.size());
+            int first = size;
+            for (Transaction t : batch) {
+                int row = size++;
+                id[row] = t.getId();
+                customerId[row] = t.getCustomerId();
+                productId[row] = t.getProductId();
+                quantity[row] = t.getQuantity();
+                unitPrice[row] = t.getUnitPriceKurus();
+                total[row] = t.getTotalKurus();
+                unitCost[row] = t.getUnitCostKurus();
+                priceVersion[row] = t.getPriceVersion();
+                epochSecond[row] = t.getDate().toEpochSecond(ZoneOffset.UTC);
+                nano[row] = t.getDate().getNano();
+                type[row] = (byte) t.getType().ordinal();
+                status[row] = (byte) t.getStatus().ordinal();
+                customerName[row] = encode(t.getCustomerName());
+                productName[row] = encode(t.getProductName());
+                category[row] = encode(t.getCategory());
+                if (t.getNote() != null) {
+                    notes.put(t.getId(), t.getNote());
+                }
+                if (t.getShippingCompany() != null) {
+                    shippingCompanies.put(t.getId(), t.getShippingCompany());
+                }
+                mapRow(t.getId(), row);
+                if (rowsByCustomer != null) {
+                    post(row);
+                }
+            }
+            for (Map.Entry<Page.Sort, TransactionOrder.Run> e : orders.entrySet()) {
+                int n = size - first;
+                long[] keys = new long[n];
+                int[] ids = new int[n];
+                for (int i = 0; i < n; i++) {
+                    keys[i] = sortKey(e.getKey(), first + i);
+                    ids[i] = id[first + i];
+                }
+                e.getValue().addAll(keys, ids, n);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(int transactionId) {
+        lock.readLock().lock();
+        try {
+            return rowOf(transactionId) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // id ile işlem nesnesi üret; yoksa null
+    public Transaction get(int transactionId) {
+        lock.readLock().lock();
+        try {
+            int row = rowOf(transactionId);
+            return row < 0 ? null : materialize(row);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Durumu yerinde değiştir; önceki durumu döner, işlem yoksa null
+    public Transaction.TransactionStatus updateStatus(int transactionId, Transaction.TransactionStatus newStatus) {
+        lock.writeLock().lock();
+        try {
+            int row = rowOf(transactionId);
+            if (row < 0) {
+                return null;
+            }
+            Transaction.TransactionStatus old = Transaction.TransactionStatus.values()[status[row]];
+            status[row] = (byte) newStatus.ordinal();
+            return old;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean setShippingCompany(int transactionId, String company) {
+        lock.writeLock().lock();
+        try {
+            if (rowOf(transactionId) < 0) {
+                return false;
+            }
+            if (company == null) {
+                shippingCompanies.remove(transactionId);
+            } else {
+                shippingCompanies.put(transactionId, company);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Verilen zamandan eski ve durumu listede olan satırları çıkarır, kalanları sıkıştırır.
+     * Çıkarılacak işlemler (id sırasıyla) satırlar silinmeden önce hedefe verilir;
+     * hedef kilit altında çalıştığı için okuyucular işlemi iki katman arasında kaybetmez.
+     * Çıkarılan satır sayısını döner.
+     */
+    public int extract(LocalDateTime before, Set<Transaction.TransactionStatus> statuses,
+                       Consumer<List<Transaction>> target) {
+        long cutoff = before.toEpochSecond(ZoneOffset.UTC);
+        int cutoffNano = before.getNano();
+        lock.writeLock().lock();
+        try {
+            IntPredicate selected = row -> isBefore(row, cutoff, cutoffNano)
+                    && statuses.contains(Transaction.TransactionStatus.values()[status[row]]);
+            List<Transaction> removed = new ArrayList<>();
+            for (int row = 0; row < size; row++) {
+                if (selected.test(row)) {
+                    removed.add(materialize(row));
+                }
+            }
+            if (removed.isEmpty()) {
+                return 0;
+            }
+            target.accept(removed);
+            removeRows(selected);
+            return removed.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Verilen id'lerdeki satırları çıkarır (başka katmana geçmiş işlemler); çıkarılan satır sayısını döner
+    public int remove(Set<Integer> transactionIds) {
+        lock.writeLock().lock();
+        try {
+            int before = size;
+            removeRows(row -> transactionIds.contains(id[row]));
+            return before - size;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sıralamada imleçten sonraki en fazla limit işlem (imleç null ise baştan).
+     * Sıra dizisi ilk çağrıda kurulur (O(n log n)); sonraki sayfalar O(log n + limit).
+     */
+    public List<Transaction> page(Page.Sort sort, boolean descending, Page.Cursor after, int limit) {
+        lock.readLock().lock();
+        try {
+            TransactionOrder.Run run = orders.get(sort);
+            if (run == null) {
+                // Okuma kilidi yazma kilidine yükseltilemez; bırakıp kur
+                lock.readLock().unlock();
+                lock.writeLock().lock();
+                try {
+                    run = orders.get(sort);
+                    if (run == null) {
+                        run = buildOrder(sort);
+                        orders.put(sort, run);
+                    }
+                    lock.readLock().lock();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            List<Transaction> result = new ArrayList<>(Math.min(Math.max(limit, 0), 1024));
+            int step = descending ? -1 : 1;
+            for (int p = run.start(after, descending); p >= 0 && p < run.size() && result.size() < limit; p += step) {
+                result.add(materialize(rowById[run.id(p)]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== TARAMALAR ====================
+
+    public List<Transaction> findByCustomer(int wanted) {
+        lock.readLock().lock();
+        try {
+            if (rowsByCustomer == null) {
+                buildPostings();
+            }
+            return materialize(rowsByCustomer.get(wanted));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Transaction> findByProduct(int wanted) {
+        lock.readLock().lock();
+        try {
+            if (rowsByProduct == null) {
+                buildPostings();
+            }
+            return materialize(rowsByProduct.get(wanted));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Transaction> findByStatus(Transaction.TransactionStatus wanted) {
+        if (wanted == null) {
+            return new ArrayList<>();
+        }
+        byte code = (byte) wanted.ordinal();
+        return select(row -> status[row] == code);
+    }
+
+    public List<Transaction> findAll() {
+        return select(row -> true);
+    }
+
+    /**
+     * Zaman aralığı [from, to) ve durum filtresine uyan satırları gezer.
+     * Filtre sütunlar üzerinde uygulanır, sadece uyan satırlar nesneye dönüştürülür.
+     * Okuma kilidi blok blok alınır; uzun taramalar yazmaları bekletmez (zayıf tutarlı).
+     * statuses null ise tüm durumlar.
+     */
+    public void forEach(LocalDateTime from, LocalDateTime to, Set<Transaction.TransactionStatus> statuses,
+                        Consumer<Transaction> visitor) {
+        long fromSecond = from == null ? Long.MIN_VALUE : from.toEpochSecond(ZoneOffset.UTC);
+        int fromNano = from == null ? 0 : from.getNano();
+        long toSecond = to == null ? Long.MAX_VALUE : to.toEpochSecond(ZoneOffset.UTC);
+        int toNano = to == null ? 0 : to.getNano();
+        boolean[] wanted = new boolean[Transaction.TransactionStatus.values().length];
+        for (Transaction.TransactionStatus s : Transaction.TransactionStatus.values()) {
+            wanted[s.ordinal()] = statuses == null || statuses.contains(s);
+        }
+        List<Transaction> block = new ArrayList<>(SCAN_BLOCK);
+        int next = 0;
+        while (true) {
+            lock.readLock().lock();
+            try {
+                int end = Math.min(size, next + SCAN_BLOCK);
+                for (int row = next; row < end; row++) {
+                    if (!isBefore(row, fromSecond, fromNano) && isBefore(row, toSecond, toNano) && wanted[status[row]]) {
+                        block.add(materialize(row));
+                    }
+                }
+                next = end;
+                if (next >= size && block.isEmpty()) {
+                    return;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            for (Transaction t : block) {
+                visitor.accept(t);
+            }
+            block.clear();
+        }
+    }
+
+    /**
+     * Zaman aralığı [fromSecond, toSecond) içindeki satışları (iptaller hariç) acc'ye ekler
+     * (bkz. SalesAggregator); category null ise tüm kategoriler. Nesne üretmez.
+     * Okuma kilidi blok blok alınır (zayıf tutarlı, forEach gibi).
+     */
+    public void aggregateSales(long fromSecond, long toSecond, String category, long[] acc) {
+        int next = 0;
+        while (true) {
+            lock.readLock().lock();
+            try {
+                int code = -1;
+                if (category != null) {
+                    Integer known = dictionaryCodes.get(category);
+                    if (known == null) {
+                        return;
+                    }
+                    code = known;
+                }
+                int end = Math.min(size, next + AGGREGATE_BLOCK);
+                if (next >= end) {
+                    return;
+                }
+                SalesAggregator.sumSales(total, unitCost, quantity, epochSecond, type, status, this.category,
+                        next, end, fromSecond, toSecond, category == null, code, acc);
+                next = end;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Sütunları anlık görüntüye yazar: satır sayısı, int/long/byte sütunları sırayla,
+     * sözlük, notlar ve nakliye firmaları. Yazım sırasında değişiklik olmamalıdır.
+     */
+    public void write(DataOutput out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(size);
+            for (int[] column : intColumns()) {
+                for (int row = 0; row < size; row++) {
+                    out.writeInt(column[row]);
+                }
+            }
+            for (long[] column : longColumns()) {
+                for (int row = 0; row < size; row++) {
+                    out.writeLong(column[row]);
+                }
+            }
+            out.write(type, 0, size);
+            out.write(status, 0, size);
+            out.writeInt(dictionary.size());
+            for (String value : dictionary) {
+                Journal.writeString(out, value);
+            }
+            writeTexts(out, notes);
+            writeTexts(out, shippingCompanies);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // write ile yazılmış sütunları boş depoya toplu okur; id -> satır dizini bir geçişte kurulur
+    public void read(ByteBufferInput in) throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (size != 0) {
+                throw new IllegalStateException("Sütun deposu boş değil");
+            }
+            int rows = in.readInt();
+            ensureCapacity(rows);
+            for (int[] column : intColumns()) {
+                in.readInts(column, rows);
+            }
+            for (long[] column : longColumns()) {
+                in.readLongs(column, rows);
+            }
+            in.readFully(type, 0, rows);
+            in.readFully(status, 0, rows);
+            int words = in.readInt();
+            for (int i = 0; i < words; i++) {
+                encode(Journal.readString(in));
+            }
+            readTexts(in, notes);
+            readTexts(in, shippingCompanies);
+            size = rows;
+            for (int row = 0; row < size; row++) {
+                mapRow(id[row], row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Yaklaşık bellek kullanımı (bayt)
+    public long estimateBytes() {
+        lock.readLock().lock();
+        try {
+            // 8 int, 5 long ve 2 byte sütun, iki posting girdisi
+            long perRow = 4L * 8 + 8L * 5 + 2 + 4L * 2;
+            return (long) id.length * perRow + rowById.length * 4L;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Yardımcı metodlar
+    // Anlık görüntüdeki sütun sırası
+    private int[][] intColumns() {
+        return new int[][]{id, customerId, productId, quantity, nano, customerName, productName, category};
+    }
+
+    private long[][] longColumns() {
+        return new long[][]{unitPrice, total, unitCost, priceVersion, epochSecond};
+    }
+
+    private static void writeTexts(DataOutput out, Map<Integer, String> texts) throws IOException {
+        out.writeInt(texts.size());
+        for (Map.Entry<Integer, String> e : texts.entrySet()) {
+            out.writeInt(e.getKey());
+            Journal.writeString(out, e.getValue());
+        }
+    }
+
+    private static void readTexts(ByteBufferInput in, Map<Integer, String> texts) throws IOException {
+        int n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            texts.put(in.readInt(), Journal.readString(in));
+        }
+    }
+
+    // Seçilen satırları çıkar, kalanları sıkıştır (yazma kilidi altında)
+    private void removeRows(IntPredicate selected) {
+        int kept = 0;
+        for (int row = 0; row < size; row++) {
+            if (selected.test(row)) {
+                rowById[id[row]] = -1;
+                notes.remove(id[row]);
+                shippingCompanies.remove(id[row]);
+            } else {
+                if (kept != row) {
+                    moveRow(row, kept);
+                }
+                kept++;
+            }
+        }
+        if (kept == size) {
+            return;
+        }
+        size = kept;
+        orders.clear();
+        rowsByCustomer = null;
+        rowsByProduct = null;
+    }
+
+    /**
+     * Okuma kilidi tutulurken müşteri ve ürün satır listelerini kurar
+     * (kilit yükseltilemez; bırakılıp yazma kilidiyle kurulur, sonra okuma kilidi geri alınır).
+     */
+    private void buildPostings() {
+        lock.readLock().unlock();
+        lock.writeLock().lock();
+        try {
+            if (rowsByCustomer == null) {
+                rowsByCustomer = new IntObjectMap<>();
+                rowsByProduct = new IntObjectMap<>();
+                for (int row = 0; row < size; row++) {
+                    post(row);
+                }
+            }
+            lock.readLock().lock();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<Transaction> select(IntPredicate predicate) {
+        lock.readLock().lock();
+        try {
+            List<Transaction> result = new ArrayList<>();
+            for (int row = 0; row < size; row++) {
+                if (predicate.test(row)) {
+                    result.add(materialize(row));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Transaction> materialize(Rows rows) {
+        List<Transaction> result = new ArrayList<>(rows == null ? 0 : rows.size);
+        if (rows != null) {
+            for (int i = 0; i < rows.size; i++) {
+                result.add(materialize(rows.rows[i]));
+            }
+        }
+        return result;
+    }
+
+    // Satırı müşteri ve ürün listelerine ekle (satırlar artan sırada eklenir)
+    private void post(int row) {
+        rows(rowsByCustomer, customerId[row]).add(row);
+        rows(rowsByProduct, productId[row]).add(row);
+    }
+
+    private static Rows rows(IntObjectMap<Rows> postings, int key) {
+        Rows rows = postings.get(key);
+        if (rows == null) {
+            rows = new Rows();
+            postings.put(key, rows);
+        }
+        return rows;
+    }
+
+    // Satırın tarihi (second, nanoOfSecond) anından önce mi
+    private boolean isBefore(int row, long second, int nanoOfSecond) {
+        return epochSecond[row] < second || (epochSecond[row] == second && nano[row] < nanoOfSecond);
+    }
+
+    private TransactionOrder.Run buildOrder(Page.Sort sort) {
+        long[] keys = new long[size];
+        int[] ids = new int[size];
+        for (int row = 0; row < size; row++) {
+            keys[row] = sortKey(sort, row);
+            ids[row] = id[row];
+        }
+        return new TransactionOrder.Run(keys, ids, size);
+    }
+
+    // TransactionOrder.key ile aynı anahtar, nesne üretmeden sütunlardan
+    private long sortKey(Page.Sort sort, int row) {
+        switch (sort) {
+            case ID:
+                return id[row];
+            case DATE:
+                return epochSecond[row];
+            case TOTAL:
+                return total[row];
+            default:
+                throw new IllegalArgumentException("İşlemler için geçersiz sıralama: " + sort);
+        }
+    }
+
+    private Transaction materialize(int row) {
+        Transaction t = new Transaction(id[row], Transaction.TransactionType.values()[type[row]],
+                customerId[row], decode(customerName[row]), productId[row], decode(productName[row]),
+                quantity[row], 0.0, 0.0);
+        t.setUnitPriceKurus(unitPrice[row]);
+        t.setTotalKurus(total[row]);
+        t.setUnitCostKurus(unitCost[row]);
+        t.setPriceVersion(priceVersion[row]);
+        t.setCategory(decode(category[row]));
+        t.setDate(LocalDateTime.ofEpochSecond(epochSecond[row], nano[row], ZoneOffset.UTC));
+        t.setStatus(Transaction.TransactionStatus.values()[status[row]]);
+        t.setNote(notes.get(id[row]));
+        t.setShippingCompany(shippingCompanies.get(id[row]));
+        return t;
+    }
+
+    private void moveRow(int from, int to) {
+        id[to] = id[from];
+        customerId[to] = customerId[from];
+        productId[to] = productId[from];
+        quantity[to] = quantity[from];
+        unitPrice[to] = unitPrice[from];
+        total[to] = total[from];
+        unitCost[to] = unitCost[from];
+        priceVersion[to] = priceVersion[from];
+        epochSecond[to] = epochSecond[from];
+        nano[to] = nano[from];
+        type[to] = type[from];
+        status[to] = status[from];
+        customerName[to] = customerName[from];
+        productName[to] = productName[from];
+        category[to] = category[from];
+        rowById[id[to]] = to;
+    }
+
+    private int rowOf(int transactionId) {
+        if (transactionId < 0 || transactionId >= rowById.length) {
+            return -1;
+        }
+        return rowById[transactionId];
+    }
+
+    private void mapRow(int transactionId, int row) {
+        if (transactionId >= rowById.length) {
+            int length = rowById.length;
+            while (length <= transactionId) {
+                length <<= 1;
+            }
+            int old = rowById.length;
+            rowById = Arrays.copyOf(rowById, length);
+            Arrays.fill(rowById, old, length, -1);
+        }
+        rowById[transactionId] = row;
+    }
+
+    private int encode(String value) {
+        if (value == null) {
+            return -1;
+        }
+        Integer code = dictionaryCodes.get(value);
+        if (code == null) {
+            code = dictionary.size();
+            dictionary.add(value);
+            dictionaryCodes.put(value, code);
+        }
+        return code;
+    }
+
+    private String decode(int code) {
+        return code < 0 ? null : dictionary.get(code);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= id.length) {
+            return;
+        }
+        int capacity = id.length;
+        while (capacity < required) {
+            capacity <<= 1;
+        }
+        id = Arrays.copyOf(id, capacity);
+        customerId = Arrays.copyOf(customerId, capacity);
+        productId = Arrays.copyOf(productId, capacity);
+        quantity = Arrays.copyOf(quantity, capacity);
+        unitPrice = Arrays.copyOf(unitPrice, capacity);
+        total = Arrays.copyOf(total, capacity);
+        unitCost = Arrays.copyOf(unitCost, capacity);
+        priceVersion = Arrays.copyOf(priceVersion, capacity);
+        epochSecond = Arrays.copyOf(epochSecond, capacity);
+        nano = Arrays.copyOf(nano, capacity);
+        type = Arrays.copyOf(type, capacity);
+        status = Arrays.copyOf(status, capacity);
+        customerName = Arrays.copyOf(customerName, capacity);
+        productName = Arrays.copyOf(productName, capacity);
+        category = Arrays.copyOf(category, capacity);
+    }
+
+    // Bir müşterinin / ürünün satırları (artan)
+    private static final class Rows {
+        int[] rows = new int[4];
+        int size;
+
+        void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size << 1);
+            }
+            rows[size++] = row;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Kritik stok dizini için Java sınıfı
+ * Stoğu kritik seviyede veya altında olan ürünleri aciliyet sırasıyla tutar;
+ * her stok değişikliğinde update çağrılır. Kritik liste ve "en acil K ürün" O(K) okunur.
+ *
+ * Aciliyet: stok / kritik seviye oranı küçük olan önce (tükenenler en başta),
+ * eşitlikte kritik seviyenin altındaki fark büyük olan, sonra küçük id.
+ */
+public class CriticalStockIndex {
+    // Ürünün dizine girdiği andaki stok durumu (değişmez)
+    private static final class Entry {
+        final Product product;
+        final int stock;
+        final int criticalStock;
+
+        Entry(Product product, int stock, int criticalStock) {
+            this.product = product;
+            this.stock = stock;
+            this.criticalStock = criticalStock;
+        }
+    }
+
+    private static final Comparator<Entry> URGENCY = (a, b) -> {
+        // Oranları çarpraz çarpımla karşılaştır (bölme ve kayan nokta yok)
+        long left = (long) Math.max(a.stock, 0) * Math.max(b.criticalStock, 1);
+        long right = (long) Math.max(b.stock, 0) * Math.max(a.criticalStock, 1);
+        if (left != right) {
+            return Long.compare(left, right);
+        }
+        int deficit = Long.compare((long) b.criticalStock - b.stock, (long) a.criticalStock - a.stock);
+        if (deficit != 0) {
+            return deficit;
+        }
+        return Integer.compare(a.product.getId(), b.product.getId());
+    };
+
+    private final ConcurrentSkipListSet<Entry> ordered;
+    private final IntObjectMap<Entry> current; // Ürün id -> dizindeki kaydı
+
+    // Constructor
+    public CriticalStockIndex() {
+        this.ordered = new ConcurrentSkipListSet<>(URGENCY);
+        this.current = new IntObjectMap<>();
+    }
+
+    /**
+     * Ürünün güncel stoğuna göre dizini günceller.
+     * Durum değişmediyse kilitsiz ve bellek ayırmadan döner.
+     */
+    public void update(Product product) {
+        if (!changed(product)) {
+            return;
+        }
+        synchronized (this) {
+            // Kilit içinde güncel değerler tekrar okunur; son çağrı son durumu yazar
+            if (!changed(product)) {
+                return;
+            }
+            Entry old = current.get(product.getId());
+            if (old != null) {
+                ordered.remove(old);
+            }
+            int stock = product.getStock();
+            int criticalStock = product.getCriticalStock();
+            if (stock <= criticalStock) {
+                Entry entry = new Entry(product, stock, criticalStock);
+                current.put(product.getId(), entry);
+                ordered.add(entry);
+            } else {
+                current.remove(product.getId());
+            }
+        }
+    }
+
+    // Silinen ürünü dizinden çıkar
+    public synchronized void remove(int productId) {
+        Entry old = current.remove(productId);
+        if (old != null) {
+            ordered.remove(old);
+        }
+    }
+
+    // Kritik seviyedeki tüm ürünler (en acil önce)
+    public List<Product> all() {
+        return top(Integer.MAX_VALUE);
+    }
+
+    // En acil k ürün
+    public List<Product> top(int k) {
+        List<Product> result = new ArrayList<>(Math.min(Math.max(k, 0), 64));
+        Iterator<Entry> it = ordered.iterator();
+        while (result.size() < k && it.hasNext()) {
+            result.add(it.next().product);
+        }
+        return result;
+    }
+
+    public int size() {
+        return current.size();
+    }
+
+    // Yardımcı metodlar
+    private boolean changed(Product product) {
+        Entry entry = current.get(product.getId());
+        int stock = product.getStock();
+        int criticalStock = product.getCriticalStock();
+        if (entry == null) {
+            return stock <= criticalStock;
+        }
+        return entry.product != product || entry.stock != stock || entry.criticalStock != criticalStock;
+    }
+}
@@ -12,7 +12,7 @@ public class Customer {
     private String phone;
     private String email;
     private String address;
-    private double debt;
+    private long debt; // Kuruş (bkz. Money)
     private CustomerType type; // Bireysel veya Kurumsal
     private double discountRate; // Özel fiyat indirimi (bayiler için)
     private List<Integer> orderHistory; // Sipariş geçmişi
@@ -29,7 +29,7 @@ public class Customer {
         this.id = id;
         this.name = name;
         this.phone = phone;
-        this.debt = 0.0;
+        this.debt = 0;
         this.type = CustomerType.INDIVIDUAL;
         this.discountRate = 0.0;
         this.orderHistory = new ArrayList<>();
@@ -44,7 +44,7 @@ public class Customer {
         this.phone = phone;
         this.email = email;
         this.address = address;
-        this.debt = debt;
+        this.debt = Money.of(debt);
         this.type = type;
         this.discountRate = discountRate;
         this.orderHistory = new ArrayList<>();
@@ -92,11 +92,20 @@ public class Customer {
         this.address = address;
     }
 
+    // Borç TL olarak (kuruş karşılığı)
     public double getDebt() {
-        return debt;
+        return Money.toDouble(debt);
     }
 
     public void setDebt(double debt) {
+        setDebtKurus(Money.of(debt));
+    }
+
+    public long getDebtKurus() {
+        return debt;
+    }
+
+    public void setDebtKurus(long debt) {
         if (debt >= 0) {
             this.debt = debt;
         }
@@ -132,14 +141,30 @@ public class Customer {
         isActive = active;
     }
 
+    // Bağımsız kopya (okuma anlık görüntüleri için); sipariş geçmişi kopyalanmaz
+    public Customer copy() {
+        Customer copy = new Customer(id, name, phone, email, address, 0.0, type, discountRate);
+        copy.debt = debt;
+        copy.isActive = isActive;
+        return copy;
+    }
+
     // İş mantığı metodları
     public void addDebt(double amount) {
+        addDebtKurus(Money.of(amount));
+    }
+
+    public void addDebtKurus(long amount) {
         if (amount > 0) {
             this.debt += amount;
         }
     }
 
     public boolean payDebt(double amount) {
+        return payDebtKurus(Money.of(amount));
+    }
+
+    public boolean payDebtKurus(long amount) {
         if (amount > 0 && this.debt >= amount) {
             this.debt -= amount;
             return true;
@@ -160,8 +185,13 @@ public class Customer {
     }
 
     public double calculateDiscountedPrice(double originalPrice) {
-        if (this.discountRate > 0) {
-            return originalPrice * (1 - this.discountRate / 100);
+        return Money.toDouble(applyDiscount(Money.of(originalPrice), this.discountRate));
+    }
+
+    // İskonto oranı uygulanmış fiyat, kuruş (fiyat listesi kademe tabloları da bunu kullanır)
+    public static long applyDiscount(long originalPrice, double discountRate) {
+        if (discountRate > 0) {
+            return Money.discount(originalPrice, discountRate);
         }
         return originalPrice;
     }
@@ -174,6 +204,14 @@ public class Customer {
         return this.type == CustomerType.INDIVIDUAL ? "Bireysel" : "Kurumsal";
     }
 
+    // "Bireysel"/"Kurumsal" metnini enum'a çevir
+    public static CustomerType typeFromString(String typeString) {
+        if ("Kurumsal".equalsIgnoreCase(typeString) || "CORPORATE".equalsIgnoreCase(typeString)) {
+            return CustomerType.CORPORATE;
+        }
+        return CustomerType.INDIVIDUAL;
+    }
+
     @Override
     public String toString() {
         return "Customer{" +
@@ -181,7 +219,7 @@ public class Customer {
                 ", name='" + name + '\'' +
                 ", phone='" + phone + '\'' +
                 ", email='" + email + '\'' +
-                ", debt=" + debt +
+                ", debt=" + Money.format(debt) +
                 ", type=" + type +
                 ", discountRate=" + discountRate +
                 ", totalOrders=" + orderHistory.size() +
@@ -1,41 +1,205 @@
 import java.util.*;
 import java.io.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * Veri yönetimi için Java sınıfı
  * OOP Prensipleri: Singleton Pattern, Data Persistence
+ * Eşzamanlılık: birden fazla satış terminali aynı anda yazabilir.
+ * Kilit sırası: fiyat kilidi, ürün şeridi, müşteri şeridi.
+ * Satışta stok düşümü kilitsizdir (Product.tryReserveStock). Satış fiyatı güncel
+ * fiyat listesi sürümünden (PriceList) kilitsiz okunur.
+ * Günlük sırası: stok değişiklikleri günlüğe fark (delta) olarak yazılır, böylece
+ * kilitsiz düşüm ile elle stok ayarı hangi sırayla yazılırsa yazılsın oynatma aynı
+ * stoğu kurar. İşlem durumu ve nakliye değişiklikleri işlem şeridi altında
+ * uygulanıp günlüğe yazılır (uygulama sırası = günlük sırası).
+ * Tutarlar kayıtlarda ve raporlarda kuruş (long) olarak tutulur (bkz. Money);
+ * double parametreli metodlar TL alır ve en yakın kuruşa yuvarlar.
+ * Kalıcılık: her değişiklik Journal'a yazılır. Periyodik olarak anlık görüntü
+ * (SnapshotStore) alınır ve günlük kısaltılır; açılışta anlık görüntü eşlenir,
+ * ardından yalnızca günlük kuyruğu oynatılır.
+ * Ayarlar (sistem özellikleri): datamanager.persistence (true/false),
+ * datamanager.dataDir, datamanager.journal.sync (ALWAYS/GROUP/ASYNC),
+ * datamanager.journal.groupCommitMillis, datamanager.snapshot.intervalSeconds,
+ * datamanager.seedSnapshot (boş sistem için başlangıç kataloğu),
+ * datamanager.columnar.sealAfterDays (eski işlemleri sütun deposuna taşı, -1 kapalı),
+ * datamanager.archive.afterDays (tamamlanmış/iptal eski işlemleri disk arşivine taşı, -1 kapalı),
+ * datamanager.archive.segmentMegabytes,
+ * datamanager.prices.history (bellekte saklanan fiyat listesi sürümü sayısı)
  */
 public class DataManager {
-    private static DataManager instance;
-    
-    private Map<Integer, Product> products;
-    private Map<Integer, Customer> customers;
-    private List<Transaction> transactions;
-    private int nextProductId;
-    private int nextCustomerId;
-    private int nextTransactionId;
+    // Günlük kayıt tipleri (değerleri değiştirmeyin, dosya biçiminin parçasıdır)
+    private static final byte J_ADD_PRODUCT = 1;
+    private static final byte J_UPDATE_PRODUCT = 2;
+    private static final byte J_PRODUCT_PRICE = 3;
+    private static final byte J_PRODUCT_STOCK = 4;
+    private static final byte J_DELETE_PRODUCT = 5;
+    private static final byte J_BULK_PRICE = 6;
+    private static final byte J_ADD_CUSTOMER = 7;
+    private static final byte J_UPDATE_CUSTOMER = 8;
+    private static final byte J_DELETE_CUSTOMER = 9;
+    private static final byte J_CUSTOMER_DEBT = 10;
+    private static final byte J_TRANSACTION = 11;
+    private static final byte J_TRANSACTION_STATUS = 12;
+    private static final byte J_SHIPPING_COMPANY = 13;
+    private static final byte J_CHECKPOINT = 14;
+    private static final byte J_TRANSACTION_BATCH = 15;
+    private static final byte J_IMPORT_TRANSACTIONS = 16;
+    private static final byte J_CATEGORY_PRICE = 17;
+    private static final byte J_PRODUCT_STOCK_DELTA = 18;
+
+    private static final int RESTORE_BATCH = 4096; // Açılışta sütun deposuna tek seferde eklenen mühürlü işlem
+    private static final int PAGE_CHUNK = 1024; // Sayfalamada sıralı indeksten tek seferde okunan id sayısı
+    private static final int PRICE_HISTORY_LIMIT = Integer.getInteger("datamanager.prices.history", 16);
+
+    // Arşive taşınabilecek (artık değişmesi beklenmeyen) durumlar
+    private static final Set<Transaction.TransactionStatus> ARCHIVABLE_STATUSES =
+            EnumSet.of(Transaction.TransactionStatus.COMPLETED, Transaction.TransactionStatus.CANCELLED);
+
+    private final Map<Integer, Product> products;
+    private final Map<Integer, Customer> customers;
+    private final Queue<Transaction> transactions;
+    private final TransactionIndex transactionIndex; // id, müşteri, ürün ve durum indeksleri
+    private final SalesRollup salesRollup; // Günlük/aylık satış özetleri
+    private final SalesRanking salesRanking; // Ürün bazlı satış sayaçları
+    private final ProfitLedger profitLedger; // Kâr-zarar hesapları
+    private final ColumnarTransactionStore sealedTransactions; // Mühürlenmiş geçmiş işlemler
+    private final TransactionArchive archive; // Yığın dışı işlem arşivi (kapalıysa null)
+    private final AtomicInteger nextProductId;
+    private final AtomicInteger nextCustomerId;
+    private final AtomicInteger nextTransactionId;
+
+    // Ürün ve müşteri bazlı şeritli kilitler
+    private final StripedLock productLocks;
+    private final StripedLock customerLocks;
+    private final StripedLock transactionLocks; // Durum ve nakliye değişiklikleri
     
-    // Kritik stok uyarıları için liste
-    private List<String> stockAlerts;
+    // Kritik stok uyarıları (tekilleştirilmiş, sınırlı olay akışı)
+    private final StockAlertStream stockAlerts;
+    // Kritik stoktaki ürünler, aciliyet sırasıyla
+    private final CriticalStockIndex criticalStock;
+
+    // Metin arama dizinleri (ürün: ad, kategori; müşteri: ad, telefon, e-posta)
+    private final SearchIndex productSearch;
+    private final SearchIndex customerSearch;
+
+    // Sayfalama için sıralı indeksler (id ve Türkçe ad sırası)
+    private final SortedIndex productsById;
+    private final SortedIndex productsByName;
+    private final SortedIndex customersById;
+    private final SortedIndex customersByName;
+
+    // Değişiklik günlüğü (kalıcılık kapalıysa null)
+    private final Journal journal;
+
+    // Okuma anlık görüntüleri için önceki kayıt görüntüleri (MVCC)
+    private final VersionStore versions;
+
+    // Fiyat listesi: satışlar güncel sürümü kilitsiz okur, değişiklikler fiyat kilidiyle
+    // sıralanır (günlük sırası sürüm sırasıyla aynı olur). Son sürümler geçmişte tutulur.
+    private volatile PriceList priceList;
+    private final NavigableMap<Long, PriceList> priceHistory;
+    private final ReentrantLock priceLock;
+
+    // Anlık görüntü: değişiklikler okuma kilidini, anlık görüntü yazma kilidini alır
+    private final ReentrantReadWriteLock checkpointLock;
+    private long snapshotGeneration;
+    // Özetler anlık görüntüden okunduysa geçmiş işlemler yeniden hesaplanmaz (açılışta yazılır)
+    private boolean summariesRestored;
+    private ScheduledExecutorService maintenanceScheduler;
 
     // Private constructor (Singleton)
     private DataManager() {
-        this.products = new HashMap<>();
-        this.customers = new HashMap<>();
-        this.transactions = new ArrayList<>();
-        this.stockAlerts = new ArrayList<>();
-        this.nextProductId = 1;
-        this.nextCustomerId = 1;
-        this.nextTransactionId = 1;
-        initializeDefaultData();
+        this.products = new ConcurrentHashMap<>();
+        this.customers = new ConcurrentHashMap<>();
+        this.transactions = new ConcurrentLinkedQueue<>();
+        this.transactionIndex = new TransactionIndex();
+        this.salesRollup = new SalesRollup();
+        this.salesRanking = new SalesRanking();
+        this.profitLedger = new ProfitLedger();
+        this.sealedTransactions = new ColumnarTransactionStore();
+        this.stockAlerts = new StockAlertStream(Integer.getInteger("datamanager.alerts.capacity", 256));
+        this.criticalStock = new CriticalStockIndex();
+        this.productSearch = new SearchIndex(3, 1);
+        this.customerSearch = new SearchIndex(3, 2, 2);
+        this.productsById = new SortedIndex(false);
+        this.productsByName = new SortedIndex(true);
+        this.customersById = new SortedIndex(false);
+        this.customersByName = new SortedIndex(true);
+        this.nextProductId = new AtomicInteger(1);
+        this.nextCustomerId = new AtomicInteger(1);
+        this.nextTransactionId = new AtomicInteger(1);
+        this.productLocks = new StripedLock();
+        this.customerLocks = new StripedLock();
+        this.transactionLocks = new StripedLock();
+        this.checkpointLock = new ReentrantReadWriteLock();
+        this.versions = new VersionStore();
+        this.priceHistory = new ConcurrentSkipListMap<>();
+        this.priceLock = new ReentrantLock();
+        publishPrices(PriceList.empty());
+        this.journal = openJournal();
+        this.archive = journal == null ? null : openArchive();
+        boolean restored = false;
+        if (journal != null) {
+            SnapshotStore.Header header = loadSnapshot(dataPath("snapshot.bin"));
+            if (header != null) {
+                snapshotGeneration = header.getGeneration();
+                restored = true;
+            }
+            restored |= loadArchive();
+        }
+        restored |= replayJournal();
+        if (!restored) {
+            seed();
+        }
+        for (Product p : products.values()) {
+            indexProduct(p);
+        }
+        for (Customer c : customers.values()) {
+            indexCustomer(c);
+        }
+        scheduleMaintenance();
+    }
+
+    // Tembel ve thread-safe singleton (holder idiom)
+    private static class Holder {
+        private static final DataManager INSTANCE = new DataManager();
     }
 
     // Singleton instance
     public static DataManager getInstance() {
-        if (instance == null) {
-            instance = new DataManager();
+        return Holder.INSTANCE;
+    }
+
+    // Boş sistem: varsa başlangıç anlık görüntüsünden, yoksa örnek verilerle başla
+    private void seed() {
+        String seedPath = System.getProperty("datamanager.seedSnapshot");
+        boolean seeded = false;
+        if (seedPath != null) {
+            seeded = loadSnapshot(Paths.get(seedPath)) != null;
         }
-        return instance;
+        if (!seeded) {
+            initializeDefaultData();
+        }
+        checkpoint();
     }
 
     // Varsayılan verileri yükle
@@ -57,50 +221,153 @@ public class DataManager {
     
     public Product addProduct(String name, String category, double price, int stock, 
                              String unit, int criticalLevel, double costPrice) {
-        Product product = new Product(nextProductId++, name, category, price, stock, 
-                                     unit, criticalLevel, costPrice);
-        products.put(product.getId(), product);
-        checkStockAlert(product);
-        return product;
+        beginMutation();
+        try {
+            Product product = new Product(nextProductId.getAndIncrement(), name, category, price, stock, 
+                                         unit, criticalLevel, costPrice);
+            long seq;
+            priceLock.lock();
+            try {
+                // Önce fiyat listesine: ürünü haritada gören satış listede de bulur
+                publishPrices(priceList.withProducts(Collections.singletonList(product)));
+                products.put(product.getId(), product);
+                seq = append(J_ADD_PRODUCT, out -> RecordCodec.writeProduct(out, product));
+            } finally {
+                priceLock.unlock();
+            }
+            sync(seq);
+            indexProduct(product);
+            checkStockAlert(product);
+            return product;
+        } finally {
+            endMutation();
+        }
     }
 
     public boolean updateProduct(int id, String name, String category, double price, 
                                 String unit, int criticalLevel, double costPrice) {
-        Product product = products.get(id);
-        if (product != null) {
-            product.setName(name);
-            product.setCategory(category);
-            product.setPrice(price);
-            product.setUnit(unit);
-            product.setCriticalStockLevel(criticalLevel);
-            product.setCostPrice(costPrice);
-            return true;
+        beginMutation();
+        try {
+            Product product = products.get(id);
+            if (product != null) {
+                long seq;
+                priceLock.lock();
+                productLocks.lock(id);
+                try {
+                    versions.saveProduct(product);
+                    product.setName(name);
+                    product.setCategory(category);
+                    setProductPrice(product, price);
+                    product.setUnit(unit);
+                    product.setCriticalStock(criticalLevel);
+                    product.setCostPrice(costPrice);
+                    seq = append(J_UPDATE_PRODUCT, out -> {
+                        out.writeInt(id);
+                        Journal.writeString(out, name);
+                        Journal.writeString(out, category);
+                        out.writeDouble(price);
+                        Journal.writeString(out, unit);
+                        out.writeInt(criticalLevel);
+                        out.writeDouble(costPrice);
+                    });
+                    indexProduct(product);
+                    checkStockAlert(product);
+                } finally {
+                    productLocks.unlock(id);
+                    priceLock.unlock();
+                }
+                sync(seq);
+                return true;
+            }
+            return false;
+        } finally {
+            endMutation();
         }
-        return false;
     }
 
     public boolean updateProductPrice(int id, double newPrice) {
-        Product product = products.get(id);
-        if (product != null) {
-            product.setPrice(newPrice);
-            return true;
+        beginMutation();
+        try {
+            Product product = products.get(id);
+            if (product != null) {
+                long seq;
+                priceLock.lock();
+                productLocks.lock(id);
+                try {
+                    versions.saveProduct(product);
+                    setProductPrice(product, newPrice);
+                    seq = append(J_PRODUCT_PRICE, out -> {
+                        out.writeInt(id);
+                        out.writeDouble(newPrice);
+                    });
+                } finally {
+                    productLocks.unlock(id);
+                    priceLock.unlock();
+                }
+                sync(seq);
+                return true;
+            }
+            return false;
+        } finally {
+            endMutation();
         }
-        return false;
     }
 
     public boolean updateProductStock(int id, int newStock) {
-        Product product = products.get(id);
-        if (product != null) {
-            product.setStock(newStock);
-            checkStockAlert(product);
-            return true;
+        beginMutation();
+        try {
+            Product product = products.get(id);
+            if (product != null) {
+                long seq;
+                productLocks.lock(id);
+                try {
+                    versions.saveProduct(product);
+                    int delta = stockDelta(product, newStock);
+                    seq = append(J_PRODUCT_STOCK_DELTA, out -> {
+                        out.writeInt(id);
+                        out.writeInt(delta);
+                    });
+                    checkStockAlert(product);
+                } finally {
+                    productLocks.unlock(id);
+                }
+                sync(seq);
+                return true;
+            }
+            return false;
+        } finally {
+            endMutation();
         }
-        return false;
+    }
+
+    // Stoğu ayarla, günlüğe yazılacak farkı döndür (kilitsiz satış düşümleri farka dahil olmaz)
+    private static int stockDelta(Product product, int newStock) {
+        int previous = product.exchangeStock(newStock);
+        return newStock >= 0 ? newStock - previous : 0;
     }
 
     public boolean deleteProduct(int id) {
-        Product product = products.remove(id);
-        return product != null;
+        beginMutation();
+        try {
+            Product product = products.get(id);
+            if (product != null) {
+                productLocks.lock(id);
+                try {
+                    versions.saveRemovedProduct(product);
+                    products.remove(id);
+                } finally {
+                    productLocks.unlock(id);
+                }
+                criticalStock.remove(id);
+                productSearch.remove(id);
+                productsById.remove(id);
+                productsByName.remove(id);
+                log(J_DELETE_PRODUCT, out -> out.writeInt(id));
+            }
+            return product != null;
+        } finally {
+            endMutation();
+        }
     }
 
     public Product getProduct(int id) {
@@ -111,6 +378,11 @@ public class DataManager {
         return new ArrayList<>(products.values());
     }
 
+    // Ürünleri kopya liste oluşturmadan gez
+    public void forEachProduct(Consumer<Product> visitor) {
+        products.values().forEach(visitor);
+    }
+
     public List<Product> getActiveProducts() {
         List<Product> activeProducts = new ArrayList<>();
         for (Product p : products.values()) {
@@ -121,35 +393,169 @@ public class DataManager {
         return activeProducts;
     }
 
+    // Ürün adı ve kategoride arama (Türkçe harf duyarsız), en iyi eşleşme önce
+    public List<Product> searchProducts(String query, int limit) {
+        List<Product> result = new ArrayList<>();
+        for (int id : productSearch.search(query, limit)) {
+            Product p = products.get(id);
+            if (p != null) {
+                result.add(p);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Ürünler sayfa sayfa (imleç tabanlı). sort: ID veya NAME (null ise ID).
+     * cursor önceki sayfanın getNextCursor değeridir, ilk sayfa için null.
+     * Geçersiz sıralama veya imleçte IllegalArgumentException.
+     */
+    public Page<Product> getProductPage(Page.Sort sort, boolean descending, String cursor, int limit) {
+        return recordPage(sort, descending, cursor, limit, productsById, productsByName, products);
+    }
+
+    // Kritik seviyedeki ürünler, en acil önce (dizinden okunur, katalog taranmaz)
     public List<Product> getCriticalStockProducts() {
-        List<Product> criticalProducts = new ArrayList<>();
-        for (Product p : products.values()) {
-            if (p.isCriticalStock()) {
-                criticalProducts.add(p);
+        return criticalStock.all();
+    }
+
+    // Siparişi en acil k ürün: O(k)
+    public List<Product> getMostUrgentProducts(int k) {
+        return criticalStock.top(k);
+    }
+
+    public int getCriticalStockCount() {
+        return criticalStock.size();
+    }
+
+    // Toplu fiyat güncelleme (tüm katalog); yeni fiyat listesi sürümünü döner
+    public PriceList bulkUpdatePrices(double percentage) {
+        return bulkUpdatePrices(null, percentage);
+    }
+
+    /**
+     * Kategorideki (null ise tüm katalogdaki) ürün fiyatlarını yüzde oranında değiştirir.
+     * Yeni fiyat listesi paralel hesaplanır ve tek adımda yayınlanır: satışlar beklemez,
+     * her satış ya eski ya yeni sürümün fiyatlarını görür. Yeni sürümü döner.
+     */
+    public PriceList bulkUpdatePrices(String category, double percentage) {
+        beginMutation();
+        try {
+            long seq;
+            PriceList next;
+            priceLock.lock();
+            try {
+                next = applyBulkPrices(category, percentage);
+                if (category == null) {
+                    seq = append(J_BULK_PRICE, out -> out.writeDouble(percentage));
+                } else {
+                    seq = append(J_CATEGORY_PRICE, out -> {
+                        Journal.writeString(out, category);
+                        out.writeDouble(percentage);
+                    });
+                }
+            } finally {
+                priceLock.unlock();
             }
+            sync(seq);
+            return next;
+        } finally {
+            endMutation();
         }
-        return criticalProducts;
     }
 
-    // Toplu fiyat güncelleme
-    public void bulkUpdatePrices(double percentage) {
+    // Yeni sürümü yayınla, sonra ürün kayıtlarındaki fiyatları eşitle (fiyat kilidi altında)
+    private PriceList applyBulkPrices(String category, double percentage) {
+        PriceList next = priceList.reprice(products.values(), category, percentage);
+        publishPrices(next);
         for (Product p : products.values()) {
-            double newPrice = p.getPrice() * (1 + percentage / 100.0);
-            p.setPrice(newPrice);
+            long price = next.priceOf(p.getId());
+            if (!PriceList.inScope(category, p) || price == PriceList.NO_PRICE) {
+                continue;
+            }
+            productLocks.lock(p.getId());
+            try {
+                versions.saveProduct(p);
+                p.setPriceKurus(price);
+            } finally {
+                productLocks.unlock(p.getId());
+            }
         }
+        return next;
     }
 
-    // Kritik stok kontrolü
-    private void checkStockAlert(Product product) {
-        if (product.isCriticalStock()) {
-            String alert = String.format("⚠️ UYARI: %s ürününün stoğu kritik seviyede! (Mevcut: %d %s, Kritik: %d)",
-                    product.getName(), product.getStock(), product.getUnit(), product.getCriticalStockLevel());
-            stockAlerts.add(alert);
+    // Tek ürünün fiyatı (fiyat kilidi altında); fiyat değiştiyse yeni sürüm yayınlanır
+    private void setProductPrice(Product product, double price) {
+        long kurus = Money.of(price);
+        if (kurus < 0) {
+            return;
+        }
+        if (priceList.priceOf(product) != kurus) {
+            publishPrices(priceList.withPrice(product.getId(), kurus));
+        }
+        product.setPriceKurus(kurus);
+    }
+
+    private void publishPrices(PriceList next) {
+        priceList = next;
+        priceHistory.put(next.getVersion(), next);
+        while (priceHistory.size() > PRICE_HISTORY_LIMIT) {
+            priceHistory.pollFirstEntry();
         }
     }
 
+    // Güncel fiyat listesi
+    public PriceList getPriceList() {
+        return priceList;
+    }
+
+    // Geçmişte tutulan sürüm (son datamanager.prices.history sürüm, yeniden başlatmada sıfırlanır); yoksa null
+    public PriceList getPriceList(long version) {
+        return priceHistory.get(version);
+    }
+
+    // Tutulan sürümler, eskiden yeniye
+    public List<PriceList> getPriceHistory() {
+        return new ArrayList<>(priceHistory.values());
+    }
+
+    private void indexProduct(Product p) {
+        productSearch.put(p.getId(), p.getName(), p.getCategory());
+        productsById.put(p.getId(), null);
+        productsByName.put(p.getId(), p.getName());
+    }
+
+    // Kritik stok kontrolü (ürün kritik seviyede kaldıkça tek uyarı üretilir); her stok değişikliğinde çağrılır
+    private void checkStockAlert(Product product) {
+        criticalStock.update(product);
+        stockAlerts.check(product);
+    }
+
+    // Uyarı metinleri (eskiden yeniye); metin okunurken üretilir
     public List<String> getStockAlerts() {
-        return new ArrayList<>(stockAlerts);
+        List<StockAlert> events = stockAlerts.recent();
+        List<String> messages = new ArrayList<>(events.size());
+        for (StockAlert alert : events) {
+            messages.add(alert.getMessage());
+        }
+        return messages;
+    }
+
+    public List<StockAlert> getStockAlertEvents() {
+        return stockAlerts.recent();
+    }
+
+    // Verilen sıra numarasından sonraki uyarılar (yoklama ile izleyenler için)
+    public List<StockAlert> getStockAlertEventsSince(long sequence) {
+        return stockAlerts.since(sequence);
+    }
+
+    public void addStockAlertListener(StockAlertStream.Listener listener) {
+        stockAlerts.addListener(listener);
+    }
+
+    public void removeStockAlertListener(StockAlertStream.Listener listener) {
+        stockAlerts.removeListener(listener);
     }
 
     public void clearStockAlerts() {
@@ -160,30 +566,148 @@ public class DataManager {
     
     public Customer addCustomer(String name, String phone, String email, String address,
                                String customerType, double specialDiscount) {
-        Customer customer = new Customer(nextCustomerId++, name, phone, email, address,
-                                        customerType, 0.0, specialDiscount);
-        customers.put(customer.getId(), customer);
-        return customer;
+        beginMutation();
+        try {
+            Customer customer = new Customer(nextCustomerId.getAndIncrement(), name, phone, email, address,
+                                            0.0, Customer.typeFromString(customerType), specialDiscount);
+            customers.put(customer.getId(), customer);
+            log(J_ADD_CUSTOMER, out -> RecordCodec.writeCustomer(out, customer));
+            indexCustomer(customer);
+            return customer;
+        } finally {
+            endMutation();
+        }
     }
 
     public boolean updateCustomer(int id, String name, String phone, String email,
                                  String address, String customerType, double specialDiscount) {
-        Customer customer = customers.get(id);
-        if (customer != null) {
-            customer.setName(name);
-            customer.setPhone(phone);
-            customer.setEmail(email);
-            customer.setAddress(address);
-            customer.setCustomerType(customerType);
-            customer.setSpecialDiscount(specialDiscount);
-            return true;
+        beginMutation();
+        try {
+            Customer customer = customers.get(id);
+            if (customer != null) {
+                long seq;
+                customerLocks.lock(id);
+                try {
+                    versions.saveCustomer(customer);
+                    customer.setName(name);
+                    customer.setPhone(phone);
+                    customer.setEmail(email);
+                    customer.setAddress(address);
+                    customer.setType(Customer.typeFromString(customerType));
+                    customer.setDiscountRate(specialDiscount);
+                    seq = append(J_UPDATE_CUSTOMER, out -> {
+                        out.writeInt(id);
+                        Journal.writeString(out, name);
+                        Journal.writeString(out, phone);
+                        Journal.writeString(out, email);
+                        Journal.writeString(out, address);
+                        Journal.writeString(out, customerType);
+                        out.writeDouble(specialDiscount);
+                    });
+                    indexCustomer(customer);
+                } finally {
+                    customerLocks.unlock(id);
+                }
+                sync(seq);
+                return true;
+            }
+            return false;
+        } finally {
+            endMutation();
         }
-        return false;
     }
 
     public boolean deleteCustomer(int id) {
-        Customer customer = customers.remove(id);
-        return customer != null;
+        beginMutation();
+        try {
+            Customer customer = customers.get(id);
+            if (customer != null) {
+                customerLocks.lock(id);
+                try {
+                    versions.saveRemovedCustomer(customer);
+                    customers.remove(id);
+                } finally {
+                    customerLocks.unlock(id);
+                }
+                customerSearch.remove(id);
+                customersById.remove(id);
+                customersByName.remove(id);
+                log(J_DELETE_CUSTOMER, out -> out.writeInt(id));
+            }
+            return customer != null;
+        } finally {
+            endMutation();
+        }
+    }
+
+    // Borç ekle
+    public boolean addCustomerDebt(int id, double amount) {
+        if (amount <= 0) {
+            return false;
+        }
+        return changeDebt(id, amount);
+    }
+
+    // Ödeme al (borç sıfırın altına inmez)
+    public boolean payCustomerDebt(int id, double amount) {
+        if (amount <= 0) {
+            return false;
+        }
+        return changeDebt(id, -amount);
+    }
+
+    // Borcu elle ayarla
+    public boolean setCustomerDebt(int id, double debt) {
+        beginMutation();
+        try {
+            Customer customer = customers.get(id);
+            if (customer == null || debt < 0) {
+                return false;
+            }
+            long seq;
+            customerLocks.lock(id);
+            try {
+                versions.saveCustomer(customer);
+                customer.setDebt(debt);
+                seq = append(J_CUSTOMER_DEBT, out -> {
+                    out.writeInt(id);
+                    out.writeDouble(debt);
+                });
+            } finally {
+                customerLocks.unlock(id);
+            }
+            sync(seq);
+            return true;
+        } finally {
+            endMutation();
+        }
+    }
+
+    private boolean changeDebt(int id, double delta) {
+        beginMutation();
+        try {
+            Customer customer = customers.get(id);
+            if (customer == null) {
+                return false;
+            }
+            long seq;
+            customerLocks.lock(id);
+            try {
+                versions.saveCustomer(customer);
+                long debt = Math.max(0, customer.getDebtKurus() + Money.of(delta));
+                customer.setDebtKurus(debt);
+                seq = append(J_CUSTOMER_DEBT, out -> {
+                    out.writeInt(id);
+                    out.writeDouble(Money.toDouble(debt));
+                });
+            } finally {
+                customerLocks.unlock(id);
+            }
+            sync(seq);
+            return true;
+        } finally {
+            endMutation();
+        }
     }
 
     public Customer getCustomer(int id) {
@@ -194,204 +718,1507 @@ public class DataManager {
         return new ArrayList<>(customers.values());
     }
 
-    public List<Transaction> getCustomerOrderHistory(int customerId) {
-        List<Transaction> customerOrders = new ArrayList<>();
-        for (Transaction t : transactions) {
-            if (t.getCustomerId() == customerId) {
-                customerOrders.add(t);
+    // Müşterileri kopya liste oluşturmadan gez
+    public void forEachCustomer(Consumer<Customer> visitor) {
+        customers.values().forEach(visitor);
+    }
+
+    // Müşteri adı, telefon ve e-postada arama (Türkçe harf duyarsız), en iyi eşleşme önce
+    public List<Customer> searchCustomers(String query, int limit) {
+        List<Customer> result = new ArrayList<>();
+        for (int id : customerSearch.search(query, limit)) {
+            Customer c = customers.get(id);
+            if (c != null) {
+                result.add(c);
+            }
+        }
+        return result;
+    }
+
+    // Müşteriler sayfa sayfa; kurallar getProductPage ile aynı
+    public Page<Customer> getCustomerPage(Page.Sort sort, boolean descending, String cursor, int limit) {
+        return recordPage(sort, descending, cursor, limit, customersById, customersByName, customers);
+    }
+
+    /**
+     * Ürün ve müşteri sayfaları: sıralı indeksten limit + 1 canlı kayıt okunur (fazlası
+     * sonraki sayfa olduğunu gösterir). Bu arada silinmiş id'ler atlanır ve indeksten
+     * okumaya devam edilir; imleç, kaydın indekste okunduğu andaki sıralama metninden kurulur.
+     * Paket içi: testlerden de çağrılır.
+     */
+    static <T> Page<T> recordPage(Page.Sort sort, boolean descending, String cursor, int limit,
+                                  SortedIndex byId, SortedIndex byName, Map<Integer, T> records) {
+        Page.Sort order = sort == null ? Page.Sort.ID : sort;
+        if (order != Page.Sort.ID && order != Page.Sort.NAME) {
+            throw new IllegalArgumentException("Bu liste için geçersiz sıralama: " + order);
+        }
+        checkPageSize(limit);
+        SortedIndex index = order == Page.Sort.NAME ? byName : byId;
+        Page.Cursor after = Page.decodeCursor(cursor, order);
+        int chunk = Math.min(fetchSize(limit), PAGE_CHUNK);
+        int[] ids = new int[chunk];
+        String[] texts = new String[chunk];
+        List<T> items = new ArrayList<>(Math.min(limit, chunk));
+        int last = -1;
+        String lastText = null;
+        String next = null;
+        while (next == null) {
+            int n = index.page(after, descending, ids, texts);
+            for (int i = 0; i < n; i++) {
+                T record = records.get(ids[i]);
+                if (record == null) {
+                    continue; // Bu arada silinmiş
+                }
+                if (items.size() == limit) {
+                    next = Page.encodeCursor(order, lastText, last);
+                    break;
+                }
+                items.add(record);
+                last = ids[i];
+                lastText = texts[i];
             }
+            if (n < chunk) {
+                break; // İndeks bitti
+            }
+            after = new Page.Cursor(order, texts[n - 1], ids[n - 1]);
         }
-        return customerOrders;
+        return new Page<>(items, next);
+    }
+
+    private void indexCustomer(Customer c) {
+        customerSearch.put(c.getId(), c.getName(), c.getPhone(), c.getEmail());
+        customersById.put(c.getId(), null);
+        customersByName.put(c.getId(), c.getName());
+    }
+
+    public List<Transaction> getCustomerOrderHistory(int customerId) {
+        List<Transaction> result = archive == null ? new ArrayList<>() : archive.findByCustomer(customerId);
+        result.addAll(sealedTransactions.findByCustomer(customerId));
+        result.addAll(transactionIndex.findByCustomer(customerId));
+        return result;
     }
 
     // ==================== SİPARİŞ YÖNETİMİ ====================
     
     public Transaction createTransaction(String type, int customerId, int productId,
                                         int quantity, double discount) {
-        Customer customer = customers.get(customerId);
-        Product product = products.get(productId);
+        return createTransaction(type, customerId, productId, quantity, discount,
+                Transaction.TransactionStatus.COMPLETED, null);
+    }
+
+    /**
+     * Sipariş: beklemede (PENDING) satış, nakliye firmasıyla birlikte tek adımda oluşturulur
+     * ve günlüğe tek kayıt olarak yazılır; yarım kurulmuş sipariş görünmez.
+     * Kayıt bulunamazsa, miktar geçersizse veya stok yetmezse null döner.
+     */
+    public Transaction createOrder(int customerId, int productId, int quantity, double discount,
+                                   String shippingCompany) {
+        return createTransaction("Satış", customerId, productId, quantity, discount,
+                Transaction.TransactionStatus.PENDING, shippingCompany);
+    }
+
+    private Transaction createTransaction(String type, int customerId, int productId, int quantity,
+                                          double discount, Transaction.TransactionStatus status,
+                                          String shippingCompany) {
+        beginMutation();
+        try {
+            Customer customer = customers.get(customerId);
+            Product product = products.get(productId);
+            Transaction.TransactionType transactionType = Transaction.typeFromString(type);
         
-        if (customer == null || product == null) {
-            return null;
+            if (customer == null || product == null || transactionType == null || quantity <= 0) {
+                return null;
+            }
+
+            PriceList prices = priceList;
+            // Kilitsiz stok değişikliğinden önce de önceki görüntü kaydedilir
+            versions.saveProduct(product);
+
+            // Satış ise stok kontrolü ve düşümü tek CAS adımında (ürün kilidi alınmaz)
+            if (transactionType == Transaction.TransactionType.SALE) {
+                if (!product.tryReserveStock(quantity)) {
+                    return null;
+                }
+            } else {
+                product.addStock(quantity);
+            }
+
+            // Özel fiyat hesaplama (bayi indirimi)
+            long finalPrice = prices.priceOf(product, customer.getDiscountRate());
+
+            Transaction transaction = new Transaction(
+                nextTransactionId.getAndIncrement(), transactionType, customerId, customer.getName(),
+                productId, product.getName(), quantity, 0.0, 0.0
+            );
+            transaction.setUnitPriceKurus(finalPrice);
+            transaction.setTotalKurus(Transaction.lineTotal(finalPrice, quantity, discount));
+            transaction.setUnitCostKurus(product.getCostPriceKurus());
+            transaction.setCategory(product.getCategory());
+            transaction.setPriceVersion(prices.getVersion());
+            transaction.setStatus(status);
+            transaction.setShippingCompany(shippingCompany);
+
+            // Günlük kaydı müşteri kilidi altında: borç kayıtlarıyla sırası korunur
+            long seq;
+            customerLocks.lock(customerId);
+            try {
+                versions.saveCustomer(customer);
+                if (transaction.isSale()) {
+                    customer.addDebtKurus(transaction.getTotalKurus());
+                }
+                customer.addOrder(transaction.getId());
+                seq = append(J_TRANSACTION, out -> RecordCodec.writeTransaction(out, transaction));
+            } finally {
+                customerLocks.unlock(customerId);
+            }
+
+            transactionIndex.add(transaction);
+            transactions.add(transaction);
+            if (transaction.isSale()) {
+                recordSale(transaction);
+            }
+            checkStockAlert(product);
+            sync(seq);
+
+            return transaction;
+        } finally {
+            endMutation();
         }
+    }
 
-        // Satış ise stok kontrolü
-        if (type.equals("Satış") && product.getStock() < quantity) {
+    /**
+     * Müşteri için sepet fiyat teklifi; stok ve borç değişmez. discount satır indirimidir
+     * (createTransaction ile aynı). Fiyatlar tek fiyat listesi sürümünden, müşterinin
+     * iskonto kademesi tablosundan okunur. Müşteri veya ürünlerden biri yoksa ya da
+     * miktar pozitif değilse null döner.
+     */
+    public PriceQuote quoteBasket(int customerId, int[] productIds, int[] quantities, double discount) {
+        if (productIds.length != quantities.length) {
+            throw new IllegalArgumentException("Ürün ve miktar sayıları eşit olmalı");
+        }
+        Customer customer = customers.get(customerId);
+        if (customer == null) {
             return null;
         }
+        int n = productIds.length;
+        Product[] lineProducts = new Product[n];
+        for (int i = 0; i < n; i++) {
+            lineProducts[i] = products.get(productIds[i]);
+            if (lineProducts[i] == null || quantities[i] <= 0) {
+                return null;
+            }
+        }
+        PriceList prices = priceList;
+        double discountRate = customer.getDiscountRate();
+        long[] unitPrices = new long[n];
+        long[] lineTotals = new long[n];
+        for (int i = 0; i < n; i++) {
+            unitPrices[i] = prices.priceOf(lineProducts[i], discountRate);
+            lineTotals[i] = Transaction.lineTotal(unitPrices[i], quantities[i], discount);
+        }
+        return new PriceQuote(customerId, discountRate, prices.getVersion(), productIds.clone(), quantities.clone(),
+                unitPrices, lineTotals);
+    }
 
-        // Özel fiyat hesaplama (bayi indirimi)
-        double finalPrice = customer.calculateSpecialPrice(product.getPrice());
-        
-        Transaction transaction = new Transaction(
-            nextTransactionId++, type, customerId, customer.getName(),
-            productId, product.getName(), quantity, product.getUnit(),
-            finalPrice, discount
-        );
-
-        // Stok güncelleme
-        if (type.equals("Satış")) {
-            product.removeStock(quantity);
-            customer.addDebt(transaction.getTotal());
-        } else if (type.equals("Alım")) {
-            product.addStock(quantity);
-        }
-
-        transactions.add(transaction);
-        customer.addOrder(transaction.getId());
-        checkStockAlert(product);
-        
-        return transaction;
+    /**
+     * Toplu işlem girişi (alım fişi, bayi siparişi).
+     * Tüm satırlar önce doğrulanır; stok ve borç değişiklikleri ya hepsi ya hiçbiri
+     * uygulanır ve günlüğe tek kayıt olarak yazılır (tek fsync).
+     * Kilitler deterministik sırayla alınır: ürün şeritleri, sonra müşteri şeritleri.
+     * Herhangi bir satır geçersizse veya stok yetmezse null döner, hiçbir şey değişmez.
+     */
+    public List<Transaction> createTransactions(List<TransactionLine> lines) {
+        if (lines.isEmpty()) {
+            return new ArrayList<>();
+        }
+        beginMutation();
+        try {
+            int n = lines.size();
+            Customer[] lineCustomers = new Customer[n];
+            Product[] lineProducts = new Product[n];
+            Transaction.TransactionType[] lineTypes = new Transaction.TransactionType[n];
+            int[] productIds = new int[n];
+            int[] customerIds = new int[n];
+            // Ürün bazlı toplam satış miktarı (ürün id sırasıyla)
+            Map<Integer, Integer> reservations = new TreeMap<>();
+            for (int i = 0; i < n; i++) {
+                TransactionLine line = lines.get(i);
+                lineCustomers[i] = customers.get(line.getCustomerId());
+                lineProducts[i] = products.get(line.getProductId());
+                lineTypes[i] = Transaction.typeFromString(line.getType());
+                if (lineCustomers[i] == null || lineProducts[i] == null || lineTypes[i] == null
+                        || line.getQuantity() <= 0) {
+                    return null;
+                }
+                productIds[i] = line.getProductId();
+                customerIds[i] = line.getCustomerId();
+                if (lineTypes[i] == Transaction.TransactionType.SALE) {
+                    reservations.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+                }
+            }
+
+            List<Transaction> batch = new ArrayList<>(n);
+            // Tüm satırlar aynı fiyat listesi sürümüyle fiyatlanır
+            PriceList prices = priceList;
+            long seq;
+            int[] productStripes = productLocks.lockAll(productIds);
+            try {
+                for (Product p : lineProducts) {
+                    versions.saveProduct(p);
+                }
+                // Stok: ürün başına tek CAS; biri yetmezse alınanlar geri bırakılır
+                List<Map.Entry<Integer, Integer>> reserved = new ArrayList<>();
+                for (Map.Entry<Integer, Integer> e : reservations.entrySet()) {
+                    if (!products.get(e.getKey()).tryReserveStock(e.getValue())) {
+                        for (Map.Entry<Integer, Integer> r : reserved) {
+                            products.get(r.getKey()).releaseStock(r.getValue());
+                        }
+                        return null;
+                    }
+                    reserved.add(e);
+                }
+
+                int firstId = nextTransactionId.getAndAdd(n);
+                for (int i = 0; i < n; i++) {
+                    TransactionLine line = lines.get(i);
+                    Customer customer = lineCustomers[i];
+                    Product product = lineProducts[i];
+                    if (lineTypes[i] != Transaction.TransactionType.SALE) {
+                        product.addStock(line.getQuantity());
+                    }
+                    long finalPrice = prices.priceOf(product, customer.getDiscountRate());
+                    Transaction transaction = new Transaction(
+                        firstId + i, lineTypes[i], customer.getId(), customer.getName(),
+                        product.getId(), product.getName(), line.getQuantity(), 0.0, 0.0
+                    );
+                    transaction.setUnitPriceKurus(finalPrice);
+                    transaction.setTotalKurus(
+                            Transaction.lineTotal(finalPrice, line.getQuantity(), line.getDiscount()));
+                    transaction.setUnitCostKurus(product.getCostPriceKurus());
+                    transaction.setCategory(product.getCategory());
+                    transaction.setPriceVersion(prices.getVersion());
+                    batch.add(transaction);
+                }
+
+                int[] customerStripes = customerLocks.lockAll(customerIds);
+                try {
+                    for (Transaction t : batch) {
+                        Customer customer = customers.get(t.getCustomerId());
+                        versions.saveCustomer(customer);
+                        if (t.isSale()) {
+                            customer.addDebtKurus(t.getTotalKurus());
+                        }
+                        customer.addOrder(t.getId());
+                    }
+                    seq = append(J_TRANSACTION_BATCH, out -> {
+                        out.writeInt(batch.size());
+                        for (Transaction t : batch) {
+                            RecordCodec.writeTransaction(out, t);
+                        }
+                    });
+                } finally {
+                    customerLocks.unlockAll(customerStripes);
+                }
+            } finally {
+                productLocks.unlockAll(productStripes);
+            }
+
+            for (Transaction t : batch) {
+                transactionIndex.add(t);
+                if (t.isSale()) {
+                    recordSale(t);
+                }
+            }
+            transactions.addAll(batch);
+            // Uyarı kontrolü ürün başına bir kez
+            Set<Product> touched = Collections.newSetFromMap(new IdentityHashMap<>());
+            touched.addAll(Arrays.asList(lineProducts));
+            for (Product p : touched) {
+                checkStockAlert(p);
+            }
+            sync(seq);
+
+            return batch;
+        } finally {
+            endMutation();
+        }
     }
 
     public boolean updateTransactionStatus(int transactionId, String newStatus) {
-        for (Transaction t : transactions) {
-            if (t.getId() == transactionId) {
-                t.setStatus(newStatus);
-                return true;
+        beginMutation();
+        try {
+            Transaction.TransactionStatus status = Transaction.statusFromString(newStatus);
+            if (status == null) {
+                return false;
+            }
+            long seq;
+            // Uygulama ve günlük kaydı aynı kilit altında: eşzamanlı değişiklikler oynatmada aynı sırayla uygulanır
+            transactionLocks.lock(transactionId);
+            try {
+                saveStatusImage(transactionId);
+                Transaction.TransactionStatus old = transactionIndex.updateStatus(transactionId, status);
+                Transaction t = transactionIndex.get(transactionId);
+                if (old == null) {
+                    old = sealedTransactions.updateStatus(transactionId, status);
+                    t = sealedTransactions.get(transactionId);
+                }
+                if (old == null && archive != null) {
+                    old = archive.updateStatus(transactionId, status);
+                    t = archive.get(transactionId);
+                }
+                if (old == null) {
+                    return false;
+                }
+                onStatusChanged(t, old, status);
+                seq = append(J_TRANSACTION_STATUS, out -> {
+                    out.writeInt(transactionId);
+                    out.writeByte(status.ordinal());
+                });
+            } finally {
+                transactionLocks.unlock(transactionId);
             }
+            sync(seq);
+            return true;
+        } finally {
+            endMutation();
         }
-        return false;
+    }
+
+    // İptal edilen satışlar özetlerden düşülür, iptal geri alınırsa tekrar eklenir
+    private void onStatusChanged(Transaction t, Transaction.TransactionStatus old,
+                                 Transaction.TransactionStatus status) {
+        if (!t.isSale() || old == status) {
+            return;
+        }
+        if (status == Transaction.TransactionStatus.CANCELLED) {
+            revertSale(t);
+        } else if (old == Transaction.TransactionStatus.CANCELLED) {
+            recordSale(t);
+        }
+    }
+
+    // Satışı artımlı rapor yapılarına işle
+    private void recordSale(Transaction t) {
+        salesRollup.record(t);
+        salesRanking.record(t);
+        profitLedger.record(t);
+    }
+
+    private void revertSale(Transaction t) {
+        salesRollup.revert(t);
+        salesRanking.revert(t);
+        profitLedger.revert(t);
     }
 
     public boolean setShippingCompany(int transactionId, String company) {
-        for (Transaction t : transactions) {
-            if (t.getId() == transactionId) {
-                t.setShippingCompany(company);
-                return true;
+        beginMutation();
+        try {
+            long seq;
+            transactionLocks.lock(transactionId);
+            try {
+                Transaction t = transactionIndex.get(transactionId);
+                if (t != null) {
+                    t.setShippingCompany(company);
+                } else if (!sealedTransactions.setShippingCompany(transactionId, company)) {
+                    // Arşivlenmiş kayıtlar sabit uzunlukta değildir, yerinde değiştirilemez
+                    return false;
+                }
+                seq = append(J_SHIPPING_COMPANY, out -> {
+                    out.writeInt(transactionId);
+                    Journal.writeString(out, company);
+                });
+            } finally {
+                transactionLocks.unlock(transactionId);
             }
+            sync(seq);
+            return true;
+        } finally {
+            endMutation();
         }
-        return false;
     }
 
     public Transaction getTransaction(int id) {
-        for (Transaction t : transactions) {
-            if (t.getId() == id) {
-                return t;
-            }
+        Transaction t = transactionIndex.get(id);
+        if (t == null) {
+            t = sealedTransactions.get(id);
         }
-        return null;
+        if (t == null && archive != null) {
+            t = archive.get(id);
+        }
+        return t;
     }
 
     public List<Transaction> getAllTransactions() {
-        return new ArrayList<>(transactions);
+        List<Transaction> result = archivedWhere(t -> true);
+        result.addAll(sealedTransactions.findAll());
+        result.addAll(transactions);
+        return result;
     }
 
     public List<Transaction> getTransactionsByStatus(String status) {
-        List<Transaction> filtered = new ArrayList<>();
+        Transaction.TransactionStatus wanted = Transaction.statusFromString(status);
+        List<Transaction> result = archive == null ? new ArrayList<>() : archive.findByStatus(wanted);
+        result.addAll(sealedTransactions.findByStatus(wanted));
+        result.addAll(transactionIndex.findByStatus(wanted));
+        return result;
+    }
+
+    public List<Transaction> getProductTransactionHistory(int productId) {
+        List<Transaction> result = archive == null ? new ArrayList<>() : archive.findByProduct(productId);
+        result.addAll(sealedTransactions.findByProduct(productId));
+        result.addAll(transactionIndex.findByProduct(productId));
+        return result;
+    }
+
+    /**
+     * Zaman aralığı [from, to) ve durum filtresine uyan işlemleri kopya liste
+     * oluşturmadan sırayla ziyaret eder: önce arşiv, sonra sütun deposu, sonra sıcak liste.
+     * Sınırlar ve statuses null olabilir (filtre yok). Tarama zayıf tutarlıdır.
+     */
+    public void forEachTransaction(LocalDateTime from, LocalDateTime to,
+                                   Set<Transaction.TransactionStatus> statuses, Consumer<Transaction> visitor) {
+        Predicate<Transaction> filter = t -> (from == null || !t.getDate().isBefore(from))
+                && (to == null || t.getDate().isBefore(to))
+                && (statuses == null || statuses.contains(t.getStatus()));
+        if (archive != null) {
+            archive.forEach(t -> {
+                if (filter.test(t)) {
+                    visitor.accept(t);
+                }
+            });
+        }
+        sealedTransactions.forEach(from, to, statuses, visitor);
         for (Transaction t : transactions) {
-            if (t.getStatus().equals(status)) {
-                filtered.add(t);
+            if (filter.test(t)) {
+                visitor.accept(t);
             }
         }
-        return filtered;
     }
 
-    // ==================== RAPORLAMA ====================
-    
-    // En çok satan ürünler
-    public Map<String, Integer> getTopSellingProducts(int limit) {
-        Map<String, Integer> productSales = new HashMap<>();
-        
-        for (Transaction t : transactions) {
-            if (t.getType().equals("Satış")) {
-                String productName = t.getProductName();
-                productSales.put(productName, 
-                    productSales.getOrDefault(productName, 0) + t.getQuantity());
+    // Nesne sıcak katmandaki canlı işlem mi (diğer katmanlar kopya döner)
+    boolean isLiveTransaction(Transaction t) {
+        return transactionIndex.get(t.getId()) == t;
+    }
+
+    /**
+     * İşlemler sayfa sayfa (imleç tabanlı), üç katman birlikte. sort: ID, DATE veya TOTAL
+     * (null ise ID); eşitlikte id sırası. Her katmandan en fazla limit + 1 işlem okunup
+     * birleştirilir: sayfa maliyeti toplam işlem sayısından bağımsızdır.
+     * Katmanlar sıcaktan soğuğa okunur; taşıma önce hedefe eklediği için işlem
+     * kaybolmaz, iki katmanda birden görülen işlem bir kez döner.
+     * Geçersiz sıralama veya imleçte IllegalArgumentException.
+     */
+    public Page<Transaction> getTransactionPage(Page.Sort sort, boolean descending, String cursor, int limit) {
+        Page.Sort order = sort == null ? Page.Sort.ID : sort;
+        if (!TransactionOrder.supports(order)) {
+            throw new IllegalArgumentException("Bu liste için geçersiz sıralama: " + order);
+        }
+        checkPageSize(limit);
+        Page.Cursor after = Page.decodeCursor(cursor, order);
+        int fetch = fetchSize(limit);
+        List<List<Transaction>> tiers = new ArrayList<>(3);
+        tiers.add(transactionIndex.page(order, descending, after, fetch));
+        tiers.add(sealedTransactions.page(order, descending, after, fetch));
+        if (archive != null) {
+            tiers.add(archive.page(order, descending, after, fetch));
+        }
+        int[] positions = new int[tiers.size()];
+        List<Transaction> items = new ArrayList<>(Math.min(fetch, 1024));
+        long lastKey = 0;
+        int lastId = -1;
+        while (items.size() < fetch) {
+            int best = -1;
+            long bestKey = 0;
+            int bestId = 0;
+            for (int i = 0; i < tiers.size(); i++) {
+                if (positions[i] == tiers.get(i).size()) {
+                    continue;
+                }
+                Transaction t = tiers.get(i).get(positions[i]);
+                long key = TransactionOrder.key(order, t);
+                int c = best < 0 ? -1 : TransactionOrder.compare(key, t.getId(), bestKey, bestId);
+                if (best < 0 || (descending ? c > 0 : c < 0)) {
+                    best = i;
+                    bestKey = key;
+                    bestId = t.getId();
+                }
+            }
+            if (best < 0) {
+                break;
             }
+            Transaction t = tiers.get(best).get(positions[best]++);
+            if (bestKey == lastKey && bestId == lastId) {
+                continue; // Taşınırken iki katmanda görüldü
+            }
+            items.add(t);
+            lastKey = bestKey;
+            lastId = bestId;
         }
-        
-        return productSales;
+        String next = null;
+        if (items.size() > limit) {
+            items.remove(limit);
+            Transaction last = items.get(limit - 1);
+            next = Page.encodeCursor(order, TransactionOrder.key(order, last), last.getId());
+        }
+        return new Page<>(items, next);
     }
 
-    // Günlük satış raporu
-    public double getDailySales(Date date) {
-        double total = 0.0;
-        Calendar cal1 = Calendar.getInstance();
-        cal1.setTime(date);
-        
-        for (Transaction t : transactions) {
-            if (t.getType().equals("Satış")) {
-                Calendar cal2 = Calendar.getInstance();
-                cal2.setTime(t.getDate());
-                
-                if (cal1.get(Calendar.YEAR) == cal2.get(Calendar.YEAR) &&
-                    cal1.get(Calendar.DAY_OF_YEAR) == cal2.get(Calendar.DAY_OF_YEAR)) {
-                    total += t.getTotal();
+    private static void checkPageSize(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Sayfa boyutu pozitif olmalı: " + limit);
+        }
+    }
+
+    // Sonraki sayfanın varlığını anlamak için bir fazla okunur
+    private static int fetchSize(int limit) {
+        return limit == Integer.MAX_VALUE ? limit : limit + 1;
+    }
+
+    // Arşivde filtreye uyan işlemler (arşiv kapalıysa boş liste)
+    private List<Transaction> archivedWhere(Predicate<Transaction> filter) {
+        return archive == null ? new ArrayList<>() : archive.select(filter);
+    }
+
+    /**
+     * Verilen zamandan eski işlemleri sütun deposuna taşır (mühürler).
+     * Taşıma sırasında değişiklikler kısa süre bekletilir. Taşınan işlem sayısını döner.
+     * Mühürlenmiş işlemler için dönen nesneler kopyadır; durum ve nakliye
+     * değişiklikleri DataManager metodlarıyla yapılmalıdır.
+     * Açık okuma anlık görüntüsü varsa taşıma yapılmaz (0 döner), sonraki bakımda tekrar denenir.
+     */
+    public int sealTransactions(LocalDateTime cutoff) {
+        checkpointLock.writeLock().lock();
+        versions.beginWrite();
+        try {
+            if (versions.hasOpenSnapshots()) {
+                return 0;
+            }
+            List<Transaction> batch = new ArrayList<>();
+            for (Transaction t : transactions) {
+                if (t.getDate().isBefore(cutoff)) {
+                    batch.add(t);
                 }
             }
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            batch.sort(Comparator.comparingInt(Transaction::getId));
+            sealedTransactions.appendAll(batch);
+            Set<Transaction> sealed = new HashSet<>(batch);
+            transactions.removeIf(sealed::contains);
+            for (Transaction t : batch) {
+                transactionIndex.remove(t);
+            }
+            return batch.size();
+        } finally {
+            versions.endWrite();
+            checkpointLock.writeLock().unlock();
         }
-        return total;
     }
 
-    // Aylık satış raporu
-    public double getMonthlySales(int year, int month) {
-        double total = 0.0;
-        
-        for (Transaction t : transactions) {
-            if (t.getType().equals("Satış")) {
-                Calendar cal = Calendar.getInstance();
-                cal.setTime(t.getDate());
-                
-                if (cal.get(Calendar.YEAR) == year && cal.get(Calendar.MONTH) == month) {
-                    total += t.getTotal();
+    public int sealTransactionsOlderThan(Duration age) {
+        return sealTransactions(LocalDateTime.now().minus(age));
+    }
+
+    public int getSealedTransactionCount() {
+        return sealedTransactions.size();
+    }
+
+    /**
+     * Verilen zamandan eski, tamamlanmış veya iptal edilmiş işlemleri disk arşivine taşır.
+     * Hem sıcak listeden hem sütun deposundan taşınır; arşiv anlık görüntüye yazılmaz.
+     * Arşivlenen işlemlerin durumu değiştirilebilir, nakliye firması değiştirilemez.
+     * Taşınan işlem sayısını döner (arşiv kapalıysa veya açık okuma anlık görüntüsü varsa 0).
+     */
+    public int archiveTransactions(LocalDateTime cutoff) {
+        if (archive == null) {
+            return 0;
+        }
+        checkpointLock.writeLock().lock();
+        versions.beginWrite();
+        try {
+            if (versions.hasOpenSnapshots()) {
+                return 0;
+            }
+            int moved = sealedTransactions.extract(cutoff, ARCHIVABLE_STATUSES, this::appendToArchive);
+            List<Transaction> batch = new ArrayList<>();
+            for (Transaction t : transactions) {
+                if (t.getDate().isBefore(cutoff) && ARCHIVABLE_STATUSES.contains(t.getStatus())) {
+                    batch.add(t);
                 }
             }
+            if (!batch.isEmpty()) {
+                batch.sort(Comparator.comparingInt(Transaction::getId));
+                appendToArchive(batch);
+                Set<Transaction> archived = new HashSet<>(batch);
+                transactions.removeIf(archived::contains);
+                for (Transaction t : batch) {
+                    transactionIndex.remove(t);
+                }
+            }
+            return moved + batch.size();
+        } finally {
+            versions.endWrite();
+            checkpointLock.writeLock().unlock();
         }
-        return total;
     }
 
-    // Kâr-Zarar analizi
-    public Map<String, Double> getProfitLossAnalysis() {
-        Map<String, Double> analysis = new HashMap<>();
-        double totalRevenue = 0.0;
-        double totalCost = 0.0;
-        double totalProfit = 0.0;
-        
-        for (Transaction t : transactions) {
-            if (t.getType().equals("Satış")) {
-                Product product = products.get(t.getProductId());
-                if (product != null) {
-                    double revenue = t.getTotal();
-                    double cost = product.getCostPrice() * t.getQuantity();
-                    double profit = revenue - cost;
-                    
-                    totalRevenue += revenue;
-                    totalCost += cost;
-                    totalProfit += profit;
+    public int archiveTransactionsOlderThan(Duration age) {
+        return archiveTransactions(LocalDateTime.now().minus(age));
+    }
+
+    public int getArchivedTransactionCount() {
+        return archive == null ? 0 : archive.size();
+    }
+
+    private void appendToArchive(List<Transaction> batch) {
+        try {
+            archive.appendAll(batch);
+        } catch (IOException e) {
+            throw new UncheckedIOException("İşlemler arşive yazılamadı", e);
+        }
+    }
+
+    // ==================== TOPLU İÇE AKTARMA ====================
+
+    /**
+     * İçe aktarılan ürünleri ekler (BulkImporter için).
+     * Kaynak id henüz verilmemişse korunur, yoksa yeni id atanır ve nesneye yazılır.
+     * Stok uyarıları ve arama/sıralama indeksleri burada güncellenmez; aktarım sonunda
+     * evaluateStockAlerts ve indexImported çağrılır. O zamana kadar ürünler id ile okunabilir,
+     * ama arama ve ad sıralı sayfalarda görünmez.
+     */
+    public void importProducts(List<Product> batch) {
+        beginMutation();
+        try {
+            long seq = 0;
+            priceLock.lock();
+            try {
+                for (Product p : batch) {
+                    p.setId(claimId(nextProductId, p.getId()));
+                }
+                publishPrices(priceList.withProducts(batch));
+                for (Product p : batch) {
+                    products.put(p.getId(), p);
+                    seq = append(J_ADD_PRODUCT, out -> RecordCodec.writeProduct(out, p));
                 }
+            } finally {
+                priceLock.unlock();
             }
+            sync(seq);
+        } finally {
+            endMutation();
         }
-        
-        analysis.put("revenue", totalRevenue);
-        analysis.put("cost", totalCost);
-        analysis.put("profit", totalProfit);
-        analysis.put("margin", totalRevenue > 0 ? (totalProfit / totalRevenue * 100) : 0);
-        
-        return analysis;
+    }
+
+    // İçe aktarılan müşterileri ekler; id ve indeks kuralı importProducts ile aynı
+    public void importCustomers(List<Customer> batch) {
+        beginMutation();
+        try {
+            long seq = 0;
+            for (Customer c : batch) {
+                c.setId(claimId(nextCustomerId, c.getId()));
+                customers.put(c.getId(), c);
+                seq = append(J_ADD_CUSTOMER, out -> RecordCodec.writeCustomer(out, c));
+            }
+            sync(seq);
+        } finally {
+            endMutation();
+        }
+    }
+
+    // Stok miktarlarını toplu ayarlar (ürün id -> stok); uygulanan ürün sayısını döner
+    public int importStocks(Map<Integer, Integer> stocks) {
+        beginMutation();
+        try {
+            long seq = 0;
+            int applied = 0;
+            for (Map.Entry<Integer, Integer> e : stocks.entrySet()) {
+                int id = e.getKey();
+                int stock = e.getValue();
+                Product product = products.get(id);
+                if (product == null) {
+                    continue;
+                }
+                productLocks.lock(id);
+                try {
+                    versions.saveProduct(product);
+                    int delta = stockDelta(product, stock);
+                    seq = append(J_PRODUCT_STOCK_DELTA, out -> {
+                        out.writeInt(id);
+                        out.writeInt(delta);
+                    });
+                } finally {
+                    productLocks.unlock(id);
+                }
+                applied++;
+            }
+            sync(seq);
+            return applied;
+        } finally {
+            endMutation();
+        }
+    }
+
+    /**
+     * Geçmiş işlemleri içe aktarır.
+     * Stok ve borç etkileri uygulanmaz: kaynak sistemdeki stok ve borçlar zaten
+     * bu işlemleri içerir. Parti günlüğe tek kayıt olarak yazılır.
+     */
+    public void importTransactions(List<Transaction> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        beginMutation();
+        try {
+            int[] customerIds = new int[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                Transaction t = batch.get(i);
+                t.setId(claimId(nextTransactionId, t.getId()));
+                customerIds[i] = t.getCustomerId();
+            }
+            long seq;
+            int[] customerStripes = customerLocks.lockAll(customerIds);
+            try {
+                for (Transaction t : batch) {
+                    Customer customer = customers.get(t.getCustomerId());
+                    if (customer != null) {
+                        customer.addOrder(t.getId());
+                    }
+                }
+                seq = append(J_IMPORT_TRANSACTIONS, out -> {
+                    out.writeInt(batch.size());
+                    for (Transaction t : batch) {
+                        RecordCodec.writeTransaction(out, t);
+                    }
+                });
+            } finally {
+                customerLocks.unlockAll(customerStripes);
+            }
+            for (Transaction t : batch) {
+                indexTransaction(t);
+            }
+            sync(seq);
+        } finally {
+            endMutation();
+        }
+    }
+
+    // İçe aktarılan kayıtları arama ve sıralama indekslerine bir kez ekler (aktarım sonunda)
+    public void indexImported(Collection<Integer> productIds, Collection<Integer> customerIds) {
+        for (Integer id : productIds) {
+            Product product = products.get(id);
+            if (product != null) {
+                indexProduct(product);
+            }
+        }
+        for (Integer id : customerIds) {
+            Customer customer = customers.get(id);
+            if (customer != null) {
+                indexCustomer(customer);
+            }
+        }
+    }
+
+    // Ertelenmiş stok uyarılarını değerlendir
+    public void evaluateStockAlerts(Collection<Integer> productIds) {
+        for (Integer id : productIds) {
+            Product product = products.get(id);
+            if (product != null) {
+                checkStockAlert(product);
+            }
+        }
+    }
+
+    // Kaynak id henüz verilmemişse onu ayır, yoksa sıradaki id'yi ver
+    private static int claimId(AtomicInteger counter, int wanted) {
+        while (wanted > 0) {
+            int current = counter.get();
+            if (wanted < current) {
+                break;
+            }
+            if (counter.compareAndSet(current, wanted + 1)) {
+                return wanted;
+            }
+        }
+        return counter.getAndIncrement();
+    }
+
+    // ==================== KALICILIK ====================
+
+    private static Journal openJournal() {
+        if ("false".equalsIgnoreCase(System.getProperty("datamanager.persistence", "true"))) {
+            return null;
+        }
+        String dataDir = System.getProperty("datamanager.dataDir", "data");
+        Journal.SyncMode mode = Journal.SyncMode.valueOf(
+                System.getProperty("datamanager.journal.sync", "GROUP").toUpperCase());
+        long groupCommitMillis = Long.getLong("datamanager.journal.groupCommitMillis", 2L);
+        try {
+            return new Journal(Paths.get(dataDir, "journal.bin"), mode, groupCommitMillis);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Günlük açılamadı: " + dataDir, e);
+        }
+    }
+
+    private static TransactionArchive openArchive() {
+        int segmentMegabytes = Integer.getInteger("datamanager.archive.segmentMegabytes", 64);
+        try {
+            return new TransactionArchive(dataPath("archive"), segmentMegabytes * 1024 * 1024);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Arşiv açılamadı", e);
+        }
+    }
+
+    private static Path dataPath(String fileName) {
+        return Paths.get(System.getProperty("datamanager.dataDir", "data"), fileName);
+    }
+
+    // Anlık görüntü al, bekleyen günlük kayıtlarını diske yaz ve kapat
+    public void shutdown() {
+        if (maintenanceScheduler != null) {
+            maintenanceScheduler.shutdownNow();
+        }
+        stockAlerts.shutdown();
+        if (journal != null) {
+            checkpoint();
+            try {
+                journal.close();
+                if (archive != null) {
+                    archive.close();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Tüm tabloların anlık görüntüsünü yazar ve günlüğü kısaltır.
+     * Yeni günlük, anlık görüntünün nesil numarasını taşıyan bir işaretle başlar;
+     * böylece taşıma ile kısaltma arasında çökülürse eski kayıtlar iki kez oynatılmaz.
+     */
+    public void checkpoint() {
+        if (journal == null) {
+            return;
+        }
+        checkpointLock.writeLock().lock();
+        try {
+            journal.flush();
+            if (archive != null) {
+                // Arşivdeki yerinde durum değişiklikleri günlük kısaltılmadan önce kalıcı olmalı
+                archive.force();
+            }
+            long generation = snapshotGeneration + 1;
+            SnapshotStore.Header header = new SnapshotStore.Header(generation, priceList.getVersion(),
+                    nextProductId.get(), nextCustomerId.get(), nextTransactionId.get(),
+                    products.size(), customers.size(), sealedTransactions.size() + transactions.size(),
+                    sealedTransactions.size(), archive == null ? 0 : archive.size());
+            SnapshotStore.write(dataPath("snapshot.bin"), header, products.values(), customers.values(),
+                    this::writeSummaries, sealedTransactions::write, transactions);
+            journal.truncate();
+            journal.write(J_CHECKPOINT, out -> out.writeLong(generation));
+            snapshotGeneration = generation;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Anlık görüntü yazılamadı", e);
+        } finally {
+            checkpointLock.writeLock().unlock();
+        }
+    }
+
+    // Satış özetleri ve müşteri sipariş listeleri (değişiklikler durdurulmuşken)
+    private void writeSummaries(DataOutput out) throws IOException {
+        salesRollup.write(out);
+        salesRanking.write(out);
+        profitLedger.write(out);
+        out.writeInt(customers.size());
+        for (Customer c : customers.values()) {
+            List<Integer> orders = c.getOrderHistory();
+            out.writeInt(c.getId());
+            out.writeInt(orders.size());
+            for (int orderId : orders) {
+                out.writeInt(orderId);
+            }
+        }
+    }
+
+    private void readSummaries(ByteBufferInput in) throws IOException {
+        salesRollup.read(in);
+        salesRanking.read(in);
+        profitLedger.read(in);
+        int count = in.readInt();
+        int[] orders = new int[0];
+        for (int i = 0; i < count; i++) {
+            Customer customer = customers.get(in.readInt());
+            int n = in.readInt();
+            if (orders.length < n) {
+                orders = new int[n];
+            }
+            in.readInts(orders, n);
+            for (int j = 0; customer != null && j < n; j++) {
+                customer.addOrder(orders[j]);
+            }
+        }
+    }
+
+    // Periyodik bakım: anlık görüntü, mühürleme ve arşivleme
+    private void scheduleMaintenance() {
+        long interval = Long.getLong("datamanager.snapshot.intervalSeconds", 300L);
+        long sealAfterDays = Long.getLong("datamanager.columnar.sealAfterDays", -1L);
+        long archiveAfterDays = Long.getLong("datamanager.archive.afterDays", -1L);
+        if (sealAfterDays >= 0) {
+            sealTransactionsOlderThan(Duration.ofDays(sealAfterDays));
+            schedule(() -> sealTransactionsOlderThan(Duration.ofDays(sealAfterDays)), TimeUnit.HOURS.toSeconds(1));
+        }
+        if (archive != null && archiveAfterDays >= 0) {
+            archiveTransactionsOlderThan(Duration.ofDays(archiveAfterDays));
+            schedule(() -> archiveTransactionsOlderThan(Duration.ofDays(archiveAfterDays)), TimeUnit.HOURS.toSeconds(1));
+        }
+        if (journal != null && interval > 0) {
+            schedule(this::checkpoint, interval);
+        }
+    }
+
+    private void schedule(Runnable task, long intervalSeconds) {
+        if (maintenanceScheduler == null) {
+            maintenanceScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "datamanager-maintenance");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        maintenanceScheduler.scheduleWithFixedDelay(task, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    // Değişiklik sınırları (anlık görüntü bu sırada beklenir)
+    // Bellek değişikliği ayrıca okuma anlık görüntüsü kesitinin de sınırıdır (fsync'e kadar)
+    private void beginMutation() {
+        checkpointLock.readLock().lock();
+        versions.beginWrite();
+    }
+
+    private void endMutation() {
+        versions.endWrite();
+        checkpointLock.readLock().unlock();
+    }
+
+    // Durum değişikliğinden önce, işlemin bulunduğu katmandan bağımsız olarak
+    private void saveStatusImage(int transactionId) {
+        if (versions.isRecording()) {
+            Transaction t = getTransaction(transactionId);
+            if (t != null) {
+                versions.saveStatus(transactionId, t.getStatus());
+            }
+        }
+    }
+
+    /**
+     * Anlık görüntüyü belleğe yükle; dosya yoksa null.
+     * Güncel biçimde özetler ve mühürlü sütunlar toplu okunur, yalnızca sıcak kuyruk işlem
+     * nesneleri olarak kurulur; geçmiş işlemler çözülmez ve özetler yeniden hesaplanmaz.
+     * Anlık görüntüden sonra arşive taşınmış işlemler çıkarılır, özetteki katkıları arşivdeki
+     * güncel durumla değiştirilir. Eski biçimlerde mühürlü işlemler partiler halinde sütun
+     * deposuna eklenir ve özetler işlem işlem kurulur.
+     */
+    private SnapshotStore.Header loadSnapshot(Path path) {
+        try {
+            List<Transaction> sealedBatch = new ArrayList<>(RESTORE_BATCH);
+            // Sıcak satırlardan anlık görüntüden sonra arşive taşınmış olanlar
+            Map<Integer, Transaction> archivedHot = new HashMap<>();
+            SnapshotStore.Header header = SnapshotStore.read(path, new SnapshotStore.Sink() {
+                @Override
+                public void product(Product product) {
+                    products.put(product.getId(), product);
+                }
+
+                @Override
+                public void customer(Customer customer) {
+                    customers.put(customer.getId(), customer);
+                }
+
+                @Override
+                public void transaction(Transaction t) {
+                    if (summariesRestored) {
+                        // Sipariş listeleri ve özetler bu işlemi zaten içeriyor
+                        if (isArchived(t)) {
+                            archivedHot.put(t.getId(), t);
+                        } else {
+                            transactionIndex.add(t);
+                            transactions.add(t);
+                        }
+                        return;
+                    }
+                    Customer customer = customers.get(t.getCustomerId());
+                    if (customer != null) {
+                        customer.addOrder(t.getId());
+                    }
+                    indexTransaction(t);
+                }
+
+                @Override
+                public void sealedTransaction(Transaction t) {
+                    Customer customer = customers.get(t.getCustomerId());
+                    if (customer != null) {
+                        customer.addOrder(t.getId());
+                    }
+                    if (isArchived(t)) {
+                        return;
+                    }
+                    if (t.isSale() && t.getStatus() != Transaction.TransactionStatus.CANCELLED) {
+                        recordSale(t);
+                    }
+                    sealedBatch.add(t);
+                    if (sealedBatch.size() == RESTORE_BATCH) {
+                        sealedTransactions.appendAll(sealedBatch);
+                        sealedBatch.clear();
+                    }
+                }
+
+                @Override
+                public void summaries(ByteBufferInput in) throws IOException {
+                    readSummaries(in);
+                    summariesRestored = true;
+                }
+
+                @Override
+                public void sealedColumns(ByteBufferInput in) throws IOException {
+                    sealedTransactions.read(in);
+                }
+            });
+            if (!sealedBatch.isEmpty()) {
+                sealedTransactions.appendAll(sealedBatch);
+            }
+            if (header == null) {
+                return null;
+            }
+            if (summariesRestored && archive != null && archive.size() > header.getArchivedTransactionCount()) {
+                Set<Integer> moved = new HashSet<>();
+                archive.forEachFrom(header.getArchivedTransactionCount(), t -> {
+                    Transaction previous = sealedTransactions.get(t.getId());
+                    if (previous != null) {
+                        moved.add(t.getId());
+                    } else {
+                        previous = archivedHot.get(t.getId());
+                    }
+                    resummarize(previous, t);
+                });
+                sealedTransactions.remove(moved);
+            }
+            publishPrices(PriceList.of(header.getPriceVersion(), products.values()));
+            nextProductId.accumulateAndGet(header.getNextProductId(), Math::max);
+            nextCustomerId.accumulateAndGet(header.getNextCustomerId(), Math::max);
+            nextTransactionId.accumulateAndGet(header.getNextTransactionId(), Math::max);
+            for (Product p : products.values()) {
+                checkStockAlert(p);
+            }
+            return header;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Anlık görüntü okunamadı: " + path, e);
+        }
+    }
+
+    /**
+     * Özetler anlık görüntüden gelmediyse arşivi sırayla tarayıp satış özetlerini yeniden
+     * kurar (işlemler yığında tutulmaz). Günlükten önce çalışır: günlükteki durum
+     * değişiklikleri arşivdeki durumun üzerine uygulanır. Arşivde kayıt varsa true
+     */
+    private boolean loadArchive() {
+        if (archive == null || archive.size() == 0) {
+            return false;
+        }
+        if (summariesRestored) {
+            // Özetler arşivi kapsıyor; sonradan taşınanlar loadSnapshot'ta işlendi, id'leri
+            // anlık görüntüdeki sonraki id'den küçüktür ya da günlükten gelir
+            return true;
+        }
+        archive.forEach(t -> {
+            if (t.isSale() && t.getStatus() != Transaction.TransactionStatus.CANCELLED) {
+                recordSale(t);
+            }
+            nextTransactionId.accumulateAndGet(t.getId() + 1, Math::max);
+        });
+        return true;
+    }
+
+    private long append(byte type, Journal.RecordWriter writer) {
+        return journal == null ? 0 : journal.append(type, writer);
+    }
+
+    // fsync beklenirken anlık görüntü kesiti engellenmez
+    private void sync(long seq) {
+        versions.endWrite();
+        if (journal != null) {
+            journal.sync(seq);
+        }
+    }
+
+    private void log(byte type, Journal.RecordWriter writer) {
+        sync(append(type, writer));
+    }
+
+    // Günlüğü tekrar oynat; kayıt varsa true
+    private boolean replayJournal() {
+        if (journal == null) {
+            return false;
+        }
+        // Anlık görüntü varsa, günlük yalnızca aynı nesil işaretiyle başlıyorsa oynatılır
+        final boolean[] skip = {snapshotGeneration > 0};
+        final long[] applied = {0};
+        try {
+            journal.replay((type, in) -> {
+                if (type == J_CHECKPOINT) {
+                    skip[0] = in.readLong() != snapshotGeneration;
+                } else if (!skip[0]) {
+                    replayRecord(type, in);
+                    applied[0]++;
+                }
+            });
+            if (applied[0] == 0) {
+                return false;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Günlük okunamadı: " + journal.getPath(), e);
+        }
+        for (Product p : products.values()) {
+            checkStockAlert(p);
+        }
+        return true;
+    }
+
+    private void replayRecord(byte type, DataInput in) throws IOException {
+        switch (type) {
+            case J_ADD_PRODUCT: {
+                Product p = RecordCodec.readProduct(in);
+                publishPrices(priceList.withProducts(Collections.singletonList(p)));
+                products.put(p.getId(), p);
+                nextProductId.accumulateAndGet(p.getId() + 1, Math::max);
+                break;
+            }
+            case J_UPDATE_PRODUCT: {
+                Product p = products.get(in.readInt());
+                String name = Journal.readString(in);
+                String category = Journal.readString(in);
+                double price = in.readDouble();
+                String unit = Journal.readString(in);
+                int critical = in.readInt();
+                double cost = in.readDouble();
+                if (p != null) {
+                    p.setName(name);
+                    p.setCategory(category);
+                    setProductPrice(p, price);
+                    p.setUnit(unit);
+                    p.setCriticalStock(critical);
+                    p.setCostPrice(cost);
+                }
+                break;
+            }
+            case J_PRODUCT_PRICE: {
+                Product p = products.get(in.readInt());
+                double price = in.readDouble();
+                if (p != null) {
+                    setProductPrice(p, price);
+                }
+                break;
+            }
+            case J_PRODUCT_STOCK: {
+                // Eski günlükler (mutlak değer)
+                Product p = products.get(in.readInt());
+                int stock = in.readInt();
+                if (p != null) {
+                    p.setStock(stock);
+                }
+                break;
+            }
+            case J_PRODUCT_STOCK_DELTA: {
+                Product p = products.get(in.readInt());
+                int delta = in.readInt();
+                if (p != null) {
+                    p.adjustStock(delta);
+                }
+                break;
+            }
+            case J_DELETE_PRODUCT: {
+                int id = in.readInt();
+                products.remove(id);
+                criticalStock.remove(id);
+                break;
+            }
+            case J_BULK_PRICE:
+                applyBulkPrices(null, in.readDouble());
+                break;
+            case J_CATEGORY_PRICE: {
+                String category = Journal.readString(in);
+                applyBulkPrices(category, in.readDouble());
+                break;
+            }
+            case J_ADD_CUSTOMER: {
+                Customer c = RecordCodec.readCustomer(in);
+                customers.put(c.getId(), c);
+                nextCustomerId.accumulateAndGet(c.getId() + 1, Math::max);
+                break;
+            }
+            case J_UPDATE_CUSTOMER: {
+                Customer c = customers.get(in.readInt());
+                String name = Journal.readString(in);
+                String phone = Journal.readString(in);
+                String email = Journal.readString(in);
+                String address = Journal.readString(in);
+                String customerType = Journal.readString(in);
+                double discount = in.readDouble();
+                if (c != null) {
+                    c.setName(name);
+                    c.setPhone(phone);
+                    c.setEmail(email);
+                    c.setAddress(address);
+                    c.setType(Customer.typeFromString(customerType));
+                    c.setDiscountRate(discount);
+                }
+                break;
+            }
+            case J_DELETE_CUSTOMER:
+                customers.remove(in.readInt());
+                break;
+            case J_CUSTOMER_DEBT: {
+                Customer c = customers.get(in.readInt());
+                double debt = in.readDouble();
+                if (c != null) {
+                    c.setDebt(debt);
+                }
+                break;
+            }
+            case J_TRANSACTION:
+                restoreTransaction(RecordCodec.readTransaction(in));
+                break;
+            case J_TRANSACTION_BATCH: {
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    restoreTransaction(RecordCodec.readTransaction(in));
+                }
+                break;
+            }
+            case J_IMPORT_TRANSACTIONS: {
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    restoreImportedTransaction(RecordCodec.readTransaction(in));
+                }
+                break;
+            }
+            case J_TRANSACTION_STATUS: {
+                int id = in.readInt();
+                Transaction.TransactionStatus status = Transaction.TransactionStatus.values()[in.readByte()];
+                Transaction.TransactionStatus old = transactionIndex.updateStatus(id, status);
+                Transaction t = transactionIndex.get(id);
+                if (old == null) {
+                    old = sealedTransactions.updateStatus(id, status);
+                    t = sealedTransactions.get(id);
+                }
+                if (old == null && archive != null) {
+                    old = archive.updateStatus(id, status);
+                    t = archive.get(id);
+                }
+                if (old != null) {
+                    onStatusChanged(t, old, status);
+                }
+                break;
+            }
+            case J_SHIPPING_COMPANY: {
+                int id = in.readInt();
+                String company = Journal.readString(in);
+                Transaction t = transactionIndex.get(id);
+                if (t != null) {
+                    t.setShippingCompany(company);
+                } else {
+                    sealedTransactions.setShippingCompany(id, company);
+                }
+                break;
+            }
+            default:
+                throw new IOException("Bilinmeyen günlük kaydı: " + type);
+        }
+    }
+
+    // Kaydedilmiş işlemi etkileriyle birlikte belleğe geri yükle
+    private void restoreTransaction(Transaction t) {
+        Product product = products.get(t.getProductId());
+        // Eski günlüklerde miktarı pozitif olmayan alım olabilir; canlıda stoğa etkisi olmamıştı
+        if (product != null && t.getQuantity() > 0) {
+            product.adjustStock(t.isSale() ? -t.getQuantity() : t.getQuantity());
+        }
+        Customer customer = customers.get(t.getCustomerId());
+        if (customer != null) {
+            if (t.isSale()) {
+                customer.addDebtKurus(t.getTotalKurus());
+            }
+            customer.addOrder(t.getId());
+        }
+        indexTransaction(t);
+        nextTransactionId.accumulateAndGet(t.getId() + 1, Math::max);
+    }
+
+    // İçe aktarılmış geçmiş işlemi geri yükle (stok ve borç etkisi yok)
+    private void restoreImportedTransaction(Transaction t) {
+        Customer customer = customers.get(t.getCustomerId());
+        if (customer != null) {
+            customer.addOrder(t.getId());
+        }
+        indexTransaction(t);
+        nextTransactionId.accumulateAndGet(t.getId() + 1, Math::max);
+    }
+
+    // Yüklenen işlemi indekslere ve rapor yapılarına ekle
+    private void indexTransaction(Transaction t) {
+        if (isArchived(t)) {
+            return;
+        }
+        transactionIndex.add(t);
+        transactions.add(t);
+        if (t.isSale() && t.getStatus() != Transaction.TransactionStatus.CANCELLED) {
+            recordSale(t);
+        }
+    }
+
+    // Arşive taşındıktan sonra anlık görüntü alınmadan kapanılmış; özetler arşivden kurulur
+    private boolean isArchived(Transaction t) {
+        return archive != null && archive.contains(t.getId());
+    }
+
+    /**
+     * Anlık görüntüden sonra arşive taşınan işlemin özete katkısını arşivdeki (güncel durumlu)
+     * kaydınkiyle değiştir. Anlık görüntüde olmayan işlem (günlükten gelir, günlük oynatılırken
+     * arşivde olduğu için atlanır) yalnızca eklenir.
+     */
+    private void resummarize(Transaction snapshotRow, Transaction archived) {
+        if (snapshotRow != null && snapshotRow.isSale()
+                && snapshotRow.getStatus() != Transaction.TransactionStatus.CANCELLED) {
+            revertSale(snapshotRow);
+        }
+        if (archived.isSale() && archived.getStatus() != Transaction.TransactionStatus.CANCELLED) {
+            recordSale(archived);
+        }
+    }
+
+    // ==================== RAPORLAMA ====================
+
+    /**
+     * Tutarlı okuma anlık görüntüsü açar (bkz. ReadSnapshot). Açılış yalnızca devam eden
+     * bellek değişikliklerinin bitmesini bekler, veri kopyalamaz; açıkken yazmalar
+     * durmaz, değiştirilen kayıtların önceki hâli bir kez saklanır.
+     * Açık anlık görüntü varken işlemler mühürlenmez ve arşivlenmez. Kapatılmalıdır.
+     */
+    public ReadSnapshot openReadSnapshot() {
+        return versions.open(epoch -> new ReadSnapshot(versions, epoch, this,
+                nextProductId.get(), nextCustomerId.get(), nextTransactionId.get()));
+    }
+    
+    // En çok satan ürünler (çoktan aza sıralı)
+    public Map<String, Integer> getTopSellingProducts(int limit) {
+        return toNameMap(salesRanking.top(limit));
+    }
+
+    // En çok satan ürünler - ürün id, miktar ve ciro ile
+    public List<SalesRanking.Entry> getTopSellers(int limit) {
+        return salesRanking.top(limit);
+    }
+
+    // Günlük satış raporu
+    public double getDailySales(Date date) {
+        return getDailySales(date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate());
+    }
+
+    public double getDailySales(LocalDate date) {
+        return salesRollup.getDay(date).getRevenue();
+    }
+
+    // Aylık satış raporu (ay: 0-11, Calendar.MONTH ile uyumlu)
+    public double getMonthlySales(int year, int month) {
+        return getMonthlySales(YearMonth.of(year, month + 1));
+    }
+
+    public double getMonthlySales(YearMonth month) {
+        return salesRollup.getMonth(month).getRevenue();
+    }
+
+    // Gün/ay için ciro, miktar ve işlem sayısı
+    public SalesRollup.Totals getDailySalesSummary(LocalDate date) {
+        return salesRollup.getDay(date);
+    }
+
+    public SalesRollup.Totals getMonthlySalesSummary(YearMonth month) {
+        return salesRollup.getMonth(month);
+    }
+
+    // Tarih aralığı satış raporu (iki uç dahil)
+    public SalesRollup.Totals getSalesBetween(LocalDate from, LocalDate to) {
+        return salesRollup.getRange(from, to);
+    }
+
+    /**
+     * Serbest filtreli satış toplamı (iptaller hariç): tarih aralığı [from, to] iki uç
+     * dahil, category null ise tüm kategoriler; sınırlar null olabilir. Üç katman
+     * birlikte taranır: mühürlü işlemler sütunlar üzerinde nesne üretmeden
+     * (SalesAggregator), sıcak ve arşiv katmanı nesne üzerinden.
+     * Tarama bir okuma anlık görüntüsünde yapılır: açıkken işlemler katmanlar arasında
+     * taşınmaz (hiçbiri iki kez sayılmaz veya atlanmaz); sıcak ve arşiv katmanında kesitten
+     * sonraki satışlar sayılmaz ve durum kesitteki durumdur. Mühürlü satırlarda durum
+     * yerinde okunur: tarama sırasındaki iptaller sayılabilir veya sayılmayabilir.
+     */
+    public SalesAggregator.Totals aggregateSales(LocalDate from, LocalDate to, String category) {
+        long fromSecond = from == null ? Long.MIN_VALUE : from.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        long toSecond = to == null ? Long.MAX_VALUE : to.plusDays(1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        long[] acc = new long[SalesAggregator.WIDTH];
+        try (ReadSnapshot snapshot = openReadSnapshot()) {
+            Consumer<Transaction> visible = t ->
+                    SalesAggregator.add(t, snapshot.statusOf(t), fromSecond, toSecond, category, acc);
+            if (archive != null) {
+                archive.forEach(visible);
+            }
+            sealedTransactions.aggregateSales(fromSecond, toSecond, category, acc);
+            transactions.forEach(visible);
+        }
+        return SalesAggregator.Totals.of(acc);
+    }
+
+    // Kâr-Zarar analizi (maliyetler satış anındaki değerlerdir): ciro, maliyet, kâr ve marj
+    public ProfitLedger.Totals getProfitLossAnalysis() {
+        return profitLedger.getOverall();
+    }
+
+    public ProfitLedger.Totals getProductProfit(int productId) {
+        return profitLedger.getProduct(productId);
+    }
+
+    public ProfitLedger.Totals getCategoryProfit(String category) {
+        return profitLedger.getCategory(category);
+    }
+
+    public Map<String, ProfitLedger.Totals> getCategoryProfits() {
+        return profitLedger.getCategories();
+    }
+
+    public ProfitLedger.Totals getMonthlyProfit(YearMonth month) {
+        return profitLedger.getMonth(month);
     }
 
     // Stok tüketim raporu
     public Map<String, Integer> getStockConsumptionReport() {
-        Map<String, Integer> consumption = new HashMap<>();
-        
-        for (Transaction t : transactions) {
-            if (t.getType().equals("Satış")) {
-                String productName = t.getProductName();
-                consumption.put(productName,
-                    consumption.getOrDefault(productName, 0) + t.getQuantity());
-            }
+        return toNameMap(salesRanking.all());
+    }
+
+    // Sıralama kayıtlarını güncel ürün adlarıyla eşle
+    private Map<String, Integer> toNameMap(List<SalesRanking.Entry> entries) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (SalesRanking.Entry e : entries) {
+            Product product = products.get(e.getProductId());
+            String name = product != null ? product.getName() : "Ürün #" + e.getProductId();
+            result.merge(name, (int) e.getQuantity(), Integer::sum);
         }
-        
-        return consumption;
+        return result;
     }
 
-    // Toplam stok değeri
+    // Toplam stok değeri; tek bir anda alınmış toplam (satışlar sırasında yarım değişiklik içermez)
     public double getTotalStockValue() {
-        double total = 0.0;
-        for (Product p : products.values()) {
-            total += p.getStockValue();
+        try (ReadSnapshot snapshot = openReadSnapshot()) {
+            return snapshot.getTotalStockValue();
         }
-        return total;
     }
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * int anahtarlı, kutulamasız (boxing yok) eşzamanlı harita için Java sınıfı
+ * Ardışık id'ler için tasarlanmıştır: anahtar parçalara (chunk) bölünür,
+ * okuma ve yazma O(1) ve kilitsizdir. Sadece yeni parça eklenirken kilit alınır.
+ */
+public class IntObjectMap<V> {
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    // Parça dizini; büyütülürken kopyalanıp yeniden yayınlanır
+    private volatile AtomicReferenceArray<V>[] chunks;
+    private final AtomicInteger size;
+    private final Object growLock = new Object();
+
+    // Constructor
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public IntObjectMap() {
+        this.chunks = (AtomicReferenceArray<V>[]) new AtomicReferenceArray[4];
+        this.size = new AtomicInteger();
+    }
+
+    public V get(int key) {
+        if (key < 0) {
+            return null;
+        }
+        AtomicReferenceArray<V>[] dir = chunks;
+        int c = key >>> CHUNK_BITS;
+        if (c >= dir.length || dir[c] == null) {
+            return null;
+        }
+        return dir[c].get(key & CHUNK_MASK);
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    public V put(int key, V value) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Negatif anahtar: " + key);
+        }
+        if (value == null) {
+            return remove(key);
+        }
+        V old = chunkFor(key).getAndSet(key & CHUNK_MASK, value);
+        if (old == null) {
+            size.incrementAndGet();
+        }
+        return old;
+    }
+
+    // Anahtar boşsa ekler; mevcut değeri (yoksa null) döner
+    public V putIfAbsent(int key, V value) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Negatif anahtar: " + key);
+        }
+        AtomicReferenceArray<V> chunk = chunkFor(key);
+        int index = key & CHUNK_MASK;
+        while (true) {
+            V old = chunk.get(index);
+            if (old != null) {
+                return old;
+            }
+            if (chunk.compareAndSet(index, null, value)) {
+                size.incrementAndGet();
+                return null;
+            }
+        }
+    }
+
+    public V remove(int key) {
+        if (key < 0) {
+            return null;
+        }
+        AtomicReferenceArray<V>[] dir = chunks;
+        int c = key >>> CHUNK_BITS;
+        if (c >= dir.length || dir[c] == null) {
+            return null;
+        }
+        V old = dir[c].getAndSet(key & CHUNK_MASK, null);
+        if (old != null) {
+            size.decrementAndGet();
+        }
+        return old;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public boolean isEmpty() {
+        return size.get() == 0;
+    }
+
+    // Dolu anahtarlar, artan sırada (zayıf tutarlı)
+    public int[] keys() {
+        AtomicReferenceArray<V>[] dir = chunks;
+        int[] keys = new int[size.get()];
+        int n = 0;
+        for (int c = 0; c < dir.length; c++) {
+            if (dir[c] == null) {
+                continue;
+            }
+            for (int i = 0; i < CHUNK_SIZE; i++) {
+                if (dir[c].get(i) != null) {
+                    if (n == keys.length) {
+                        keys = Arrays.copyOf(keys, Math.max(4, n << 1));
+                    }
+                    keys[n++] = (c << CHUNK_BITS) | i;
+                }
+            }
+        }
+        return n == keys.length ? keys : Arrays.copyOf(keys, n);
+    }
+
+    // Yardımcı metodlar
+    private AtomicReferenceArray<V> chunkFor(int key) {
+        int c = key >>> CHUNK_BITS;
+        AtomicReferenceArray<V>[] dir = chunks;
+        if (c < dir.length && dir[c] != null) {
+            return dir[c];
+        }
+        synchronized (growLock) {
+            dir = chunks;
+            if (c < dir.length && dir[c] != null) {
+                return dir[c];
+            }
+            int length = dir.length;
+            while (length <= c) {
+                length <<= 1;
+            }
+            AtomicReferenceArray<V>[] grown = Arrays.copyOf(dir, length);
+            grown[c] = new AtomicReferenceArray<>(CHUNK_SIZE);
+            chunks = grown;
+            return grown[c];
+        }
+    }
+}
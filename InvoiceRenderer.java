@@ -0,0 +1,482 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.DecimalFormatSymbols;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Fatura metni üreten Java sınıfı (tekil ve toplu faturalama)
+ * Şablon bir kez derlenir: sabit metin parçaları önceden UTF-8 baytlarına
+ * çevrilir, alanlar sıra numarasıyla işaretlenir. Fatura yeniden kullanılan bir
+ * bayt tamponuna doğrudan kodlanır; tarih ve tutarlar biçimlendirici, String
+ * veya ara nesne üretmeden rakam rakam yazılır.
+ *
+ * Toplu modda faturalar sayfa sonu (\f) ile ayrılarak aynı tampona eklenir ve
+ * tampon dolunca kanala boşaltılır: bellek kullanımı fatura sayısından bağımsızdır.
+ * Thread-safe değildir; her iş parçacığı kendi örneğini kullanır (şablon paylaşılabilir).
+ */
+public class InvoiceRenderer {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte PAGE_BREAK = '\f';
+    private static final byte[] NULL_TEXT = "null".getBytes(StandardCharsets.US_ASCII);
+
+    // Order.generateInvoice ile aynı düzen
+    public static final Template DEFAULT_TEMPLATE = Template.compile(
+            "═══════════════════════════════════════\n" +
+            "        YÜCEL ORMAN ÜRÜNLERİ\n" +
+            "           FATURA\n" +
+            "═══════════════════════════════════════\n\n" +
+            "Fatura No: INV-{invoiceNo}\n" +
+            "Tarih: {date}\n\n" +
+            "───────────────────────────────────────\n" +
+            "MÜŞTERİ BİLGİLERİ\n" +
+            "───────────────────────────────────────\n" +
+            "Müşteri: {customer}\n\n" +
+            "───────────────────────────────────────\n" +
+            "ÜRÜN BİLGİLERİ\n" +
+            "───────────────────────────────────────\n" +
+            "Ürün: {product}\n" +
+            "Miktar: {quantity}\n" +
+            "Birim Fiyat: {unitPrice} TL\n\n" +
+            "───────────────────────────────────────\n" +
+            "TOPLAM: {total} TL\n" +
+            "───────────────────────────────────────\n\n" +
+            "{?shipping}Nakliye: {shipping}\n\n{/shipping}" +
+            "═══════════════════════════════════════\n" +
+            "İletişim: FUAT YÜCEL - 0506 471 56 75\n" +
+            "═══════════════════════════════════════\n");
+
+    // Şablon alanları ({ad} ile yazılır)
+    public enum Field {
+        INVOICE_NO("invoiceNo"),
+        DATE("date"),          // dd.MM.yyyy HH:mm
+        CUSTOMER("customer"),
+        PRODUCT("product"),
+        QUANTITY("quantity"),
+        UNIT_PRICE("unitPrice"), // İki ondalık, yerel ondalık ayırıcıyla
+        TOTAL("total"),
+        SHIPPING("shipping");
+
+        private final String key;
+
+        Field(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        static Field of(String key) {
+            for (Field f : values()) {
+                if (f.key.equals(key)) {
+                    return f;
+                }
+            }
+            throw new IllegalArgumentException("Bilinmeyen şablon alanı: " + key);
+        }
+    }
+
+    /**
+     * Derlenmiş (değişmez) fatura şablonu
+     * Sözdizimi: {alan} alan değeri; {?alan}...{/alan} yalnızca alan boş değilse yazılan bölüm.
+     */
+    public static final class Template {
+        // Adım i: text[i] != null ise sabit metin; değilse field[i]. jump[i] >= 0 ise bölüm
+        // başıdır: alan boşsa jump[i] adımına atlanır
+        private final byte[][] text;
+        private final Field[] field;
+        private final int[] jump;
+
+        private Template(byte[][] text, Field[] field, int[] jump) {
+            this.text = text;
+            this.field = field;
+            this.jump = jump;
+        }
+
+        public static Template compile(String source) {
+            List<byte[]> text = new ArrayList<>();
+            List<Field> fields = new ArrayList<>();
+            List<Integer> jumps = new ArrayList<>();
+            List<Integer> openSections = new ArrayList<>();
+            int pos = 0;
+            while (pos < source.length()) {
+                int open = source.indexOf('{', pos);
+                if (open < 0) {
+                    open = source.length();
+                }
+                if (open > pos) {
+                    text.add(source.substring(pos, open).getBytes(StandardCharsets.UTF_8));
+                    fields.add(null);
+                    jumps.add(-1);
+                }
+                if (open == source.length()) {
+                    break;
+                }
+                int close = source.indexOf('}', open);
+                if (close < 0) {
+                    throw new IllegalArgumentException("Kapanmamış şablon alanı: " + source.substring(open));
+                }
+                String tag = source.substring(open + 1, close);
+                if (tag.startsWith("/")) {
+                    Field f = Field.of(tag.substring(1));
+                    if (openSections.isEmpty() || fields.get(openSections.get(openSections.size() - 1)) != f) {
+                        throw new IllegalArgumentException("Eşleşmeyen bölüm sonu: {" + tag + "}");
+                    }
+                    int start = openSections.remove(openSections.size() - 1);
+                    jumps.set(start, text.size());
+                } else {
+                    boolean section = tag.startsWith("?");
+                    Field f = Field.of(section ? tag.substring(1) : tag);
+                    if (section) {
+                        openSections.add(text.size());
+                    }
+                    text.add(null);
+                    fields.add(f);
+                    jumps.add(-1);
+                    if (section) {
+                        // Bölüm başı değer yazmaz; yalnızca koşul adımıdır
+                        text.set(text.size() - 1, new byte[0]);
+                    }
+                }
+                pos = close + 1;
+            }
+            if (!openSections.isEmpty()) {
+                throw new IllegalArgumentException("Kapanmamış bölüm: {?"
+                        + fields.get(openSections.get(openSections.size() - 1)).getKey() + "}");
+            }
+            int n = text.size();
+            int[] jump = new int[n];
+            for (int i = 0; i < n; i++) {
+                jump[i] = jumps.get(i);
+            }
+            return new Template(text.toArray(new byte[0][]), fields.toArray(new Field[0]), jump);
+        }
+    }
+
+    private final Template template;
+    private final byte decimalSeparator;
+    private byte[] buffer;
+    private int length;
+    private long count; // Tampona eklenen fatura sayısı (sayfa sonu için)
+
+    // Geçerli faturanın alanları (yeniden kullanılır)
+    private int invoiceNo;
+    private LocalDateTime date;
+    private String customer;
+    private String product;
+    private int quantity;
+    private long unitPrice; // Kuruş
+    private long total;
+    private String shipping;
+
+    // Constructor - Varsayılan şablon, sistem yerelinin ondalık ayırıcısı (String.format ile aynı)
+    public InvoiceRenderer() {
+        this(DEFAULT_TEMPLATE,
+                DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT)).getDecimalSeparator());
+    }
+
+    // Constructor - Tam
+    public InvoiceRenderer(Template template, char decimalSeparator) {
+        if (decimalSeparator >= 0x80) {
+            throw new IllegalArgumentException("Ondalık ayırıcı ASCII olmalı: " + decimalSeparator);
+        }
+        this.template = template;
+        this.decimalSeparator = (byte) decimalSeparator;
+        this.buffer = new byte[BUFFER_SIZE];
+    }
+
+    // ==================== TEKİL FATURA ====================
+
+    public String render(Order order) {
+        reset();
+        append(order);
+        return contents();
+    }
+
+    public String render(Transaction transaction) {
+        reset();
+        append(transaction);
+        return contents();
+    }
+
+    // ==================== TOPLU FATURA ====================
+
+    // Faturaları dosyaya yaz; yazılan fatura sayısını döner
+    public long writeOrders(Iterable<Order> orders, Path file) throws IOException {
+        try (FileChannel channel = openFile(file)) {
+            return writeOrders(orders, channel);
+        }
+    }
+
+    public long writeOrders(Iterable<Order> orders, WritableByteChannel channel) throws IOException {
+        reset();
+        long written = 0;
+        for (Order order : orders) {
+            append(order);
+            written++;
+            drainIfFull(channel);
+        }
+        drainTo(channel);
+        return written;
+    }
+
+    public long writeTransactions(Iterable<Transaction> transactions, Path file) throws IOException {
+        try (FileChannel channel = openFile(file)) {
+            return writeTransactions(transactions, channel);
+        }
+    }
+
+    public long writeTransactions(Iterable<Transaction> transactions, WritableByteChannel channel)
+            throws IOException {
+        reset();
+        long written = 0;
+        for (Transaction t : transactions) {
+            append(t);
+            written++;
+            drainIfFull(channel);
+        }
+        drainTo(channel);
+        return written;
+    }
+
+    /**
+     * Akış halinde kullanım (ör. ziyaretçi içinden): append ile faturayı tampona ekle,
+     * drainIfFull ile gerekirse boşalt, sonda drainTo ile kalanı yaz.
+     * İlk fatura dışındakilerden önce sayfa sonu eklenir.
+     */
+    public void append(Order order) {
+        invoiceNo = order.getId();
+        date = order.getCreatedAt();
+        customer = order.getCustomerName();
+        product = order.getProductName();
+        quantity = order.getQuantity();
+        unitPrice = order.getUnitPriceKurus();
+        total = order.getTotalKurus();
+        shipping = order.getShippingCompany();
+        emit();
+    }
+
+    public void append(Transaction transaction) {
+        invoiceNo = transaction.getId();
+        date = transaction.getDate();
+        customer = transaction.getCustomerName();
+        product = transaction.getProductName();
+        quantity = transaction.getQuantity();
+        unitPrice = transaction.getUnitPriceKurus();
+        total = transaction.getTotalKurus();
+        shipping = transaction.getShippingCompany();
+        emit();
+    }
+
+    public void drainIfFull(WritableByteChannel channel) throws IOException {
+        if (length >= BUFFER_SIZE) {
+            drainTo(channel);
+        }
+    }
+
+    // Tampondaki baytları kanala yaz ve tamponu boşalt (fatura sayacı korunur)
+    public void drainTo(WritableByteChannel channel) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, length);
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        length = 0;
+    }
+
+    // Tamponu ve fatura sayacını sıfırla
+    public void reset() {
+        length = 0;
+        count = 0;
+    }
+
+    // Yardımcı metodlar
+
+    private void emit() {
+        if (count++ > 0) {
+            put(PAGE_BREAK);
+        }
+        Template t = template;
+        for (int i = 0; i < t.text.length; i++) {
+            if (t.jump[i] >= 0) {
+                if (isEmpty(t.field[i])) {
+                    i = t.jump[i] - 1;
+                }
+            } else if (t.text[i] != null) {
+                put(t.text[i]);
+            } else {
+                putField(t.field[i]);
+            }
+        }
+    }
+
+    private boolean isEmpty(Field f) {
+        switch (f) {
+            case CUSTOMER:
+                return customer == null || customer.isEmpty();
+            case PRODUCT:
+                return product == null || product.isEmpty();
+            case SHIPPING:
+                return shipping == null || shipping.isEmpty();
+            case DATE:
+                return date == null;
+            default:
+                return false;
+        }
+    }
+
+    private void putField(Field f) {
+        switch (f) {
+            case INVOICE_NO:
+                putLong(invoiceNo);
+                break;
+            case DATE:
+                putDate(date);
+                break;
+            case CUSTOMER:
+                putString(customer);
+                break;
+            case PRODUCT:
+                putString(product);
+                break;
+            case QUANTITY:
+                putLong(quantity);
+                break;
+            case UNIT_PRICE:
+                putAmount(unitPrice);
+                break;
+            case TOTAL:
+                putAmount(total);
+                break;
+            case SHIPPING:
+                putString(shipping);
+                break;
+            default:
+                throw new IllegalStateException("Alan: " + f);
+        }
+    }
+
+    private String contents() {
+        return new String(buffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static FileChannel openFile(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    // ---- Tampon yazımı ----
+
+    private void ensure(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+
+    private void put(byte b) {
+        ensure(1);
+        buffer[length++] = b;
+    }
+
+    private void put(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    // UTF-8 kodlama, ara bayt dizisi üretmeden (null, StringBuilder gibi "null" yazılır)
+    private void putString(String s) {
+        if (s == null) {
+            put(NULL_TEXT);
+            return;
+        }
+        int n = s.length();
+        ensure(n * 3);
+        byte[] b = buffer;
+        int p = length;
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                b[p++] = (byte) c;
+            } else if (c < 0x800) {
+                b[p++] = (byte) (0xC0 | (c >> 6));
+                b[p++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                b[p++] = (byte) (0xF0 | (cp >> 18));
+                b[p++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                b[p++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                b[p++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                b[p++] = '?'; // Eşsiz vekil (String.getBytes ile aynı)
+            } else {
+                b[p++] = (byte) (0xE0 | (c >> 12));
+                b[p++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                b[p++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        length = p;
+    }
+
+    private void putLong(long value) {
+        ensure(20);
+        if (value < 0) {
+            buffer[length++] = '-';
+            value = -value;
+        }
+        int start = length;
+        do {
+            buffer[length++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        // Rakamlar ters yazıldı
+        for (int i = start, j = length - 1; i < j; i++, j--) {
+            byte tmp = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = tmp;
+        }
+    }
+
+    // Kuruş -> "1234,50" (String.format("%.2f") ile aynı: gruplama yok)
+    private void putAmount(long kurus) {
+        if (kurus < 0) {
+            put((byte) '-');
+        }
+        putLong(Math.abs(kurus / Money.SCALE));
+        long fraction = Math.abs(kurus % Money.SCALE);
+        ensure(3);
+        buffer[length++] = decimalSeparator;
+        buffer[length++] = (byte) ('0' + fraction / 10);
+        buffer[length++] = (byte) ('0' + fraction % 10);
+    }
+
+    // dd.MM.yyyy HH:mm
+    private void putDate(LocalDateTime value) {
+        if (value == null) {
+            return;
+        }
+        put2(value.getDayOfMonth());
+        put((byte) '.');
+        put2(value.getMonthValue());
+        put((byte) '.');
+        putLong(value.getYear());
+        put((byte) ' ');
+        put2(value.getHour());
+        put((byte) ':');
+        put2(value.getMinute());
+    }
+
+    private void put2(int value) {
+        ensure(2);
+        buffer[length++] = (byte) ('0' + value / 10);
+        buffer[length++] = (byte) ('0' + value % 10);
+    }
+}
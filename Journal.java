@@ -0,0 +1,418 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Sadece sona eklenen (append-only) ikili değişiklik günlüğü için Java sınıfı
+ * Her kayıt: [uzunluk:int][tip:byte][veri][crc32:int]
+ * Diske yazma (fsync) moduna göre birçok kayıt tek fsync ile kalıcı olur
+ * (group commit). Açılışta günlük baştan okunarak durum yeniden kurulur.
+ */
+public class Journal implements Closeable {
+    private static final int HEADER_SIZE = 4 + 1;
+    private static final int TRAILER_SIZE = 4;
+    private static final int MAX_RECORD_SIZE = 16 * 1024 * 1024;
+
+    // Kalıcılık modu
+    public enum SyncMode {
+        ALWAYS, // Her kayıttan sonra fsync (en güvenli, en yavaş)
+        GROUP,  // Yazan, ortak fsync'i bekler; fsync'ler pencere içinde birleştirilir
+        ASYNC   // Periyodik fsync, yazan beklemez (son pencere kaybolabilir)
+    }
+
+    // Kayıt verisini yazan fonksiyon
+    public interface RecordWriter {
+        void write(DataOutput out) throws IOException;
+    }
+
+    // Okunan kaydı işleyen fonksiyon
+    public interface RecordHandler {
+        void handle(byte type, DataInput in) throws IOException;
+    }
+
+    private final Path path;
+    private final FileChannel channel;
+    private final SyncMode mode;
+    private final long groupCommitMillis;
+
+    // Bekleyen (henüz diske yazılmamış) kayıtlar
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Condition durableChanged = appendLock.newCondition();
+    private final Condition pendingAvailable = appendLock.newCondition();
+    private Staging staging = new Staging();
+    private Staging spare = new Staging();
+    private long appendedSeq;
+    private long durableSeq;
+    private IOException failure;
+    private boolean closed;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Thread flusher;
+
+    // Constructor
+    public Journal(Path path, SyncMode mode, long groupCommitMillis) throws IOException {
+        this.path = path;
+        this.mode = mode;
+        this.groupCommitMillis = Math.max(1, groupCommitMillis);
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.channel.position(channel.size());
+        if (mode == SyncMode.ALWAYS) {
+            this.flusher = null;
+        } else {
+            this.flusher = new Thread(this::flushLoop, "journal-flusher");
+            this.flusher.setDaemon(true);
+            this.flusher.start();
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public SyncMode getMode() {
+        return mode;
+    }
+
+    public long size() throws IOException {
+        return channel.size();
+    }
+
+    // Kaydı sıraya ekler ve sıra numarasını döner; kalıcılık için sync(seq) çağrılır
+    public long append(byte type, RecordWriter writer) {
+        appendLock.lock();
+        try {
+            checkOpen();
+            staging.begin(type);
+            try {
+                writer.write(staging.data);
+            } catch (IOException e) {
+                staging.rollback();
+                throw new UncheckedIOException(e);
+            }
+            staging.end();
+            pendingAvailable.signal();
+            return ++appendedSeq;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // Verilen sıra numarasına kadar olan kayıtların moda göre kalıcı olmasını bekler
+    public void sync(long seq) {
+        switch (mode) {
+            case ALWAYS:
+                flush(seq);
+                break;
+            case GROUP:
+                awaitDurable(seq);
+                break;
+            default:
+                break;
+        }
+    }
+
+    // append + sync
+    public void write(byte type, RecordWriter writer) {
+        sync(append(type, writer));
+    }
+
+    // Bekleyen her şeyi diske yaz
+    public void flush() {
+        long target;
+        appendLock.lock();
+        try {
+            target = appendedSeq;
+        } finally {
+            appendLock.unlock();
+        }
+        flush(target);
+    }
+
+    /**
+     * Günlüğü baştan okuyup her kaydı işleyiciye verir.
+     * Yarım kalmış veya bozuk kuyruk kesilir; yazmalar son sağlam kayıttan devam eder.
+     * Kayıt eklenmeden önce çağrılmalıdır.
+     */
+    public long replay(RecordHandler handler) throws IOException {
+        flushLock.lock();
+        try {
+            long position = 0;
+            long count = 0;
+            long fileSize = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            CRC32 crc = new CRC32();
+            while (position + HEADER_SIZE + TRAILER_SIZE <= fileSize) {
+                header.clear();
+                readFully(header, position);
+                header.flip();
+                int length = header.getInt();
+                byte type = header.get();
+                if (length < 0 || length > MAX_RECORD_SIZE
+                        || position + HEADER_SIZE + length + TRAILER_SIZE > fileSize) {
+                    break;
+                }
+                ByteBuffer body = ByteBuffer.allocate(length + TRAILER_SIZE);
+                readFully(body, position + HEADER_SIZE);
+                body.flip();
+                crc.reset();
+                crc.update(type);
+                crc.update(body.array(), 0, length);
+                if ((int) crc.getValue() != body.getInt(length)) {
+                    break;
+                }
+                handler.handle(type, new DataInputStream(
+                        new ByteArrayInputStream(body.array(), 0, length)));
+                position += HEADER_SIZE + length + TRAILER_SIZE;
+                count++;
+            }
+            if (position < fileSize) {
+                channel.truncate(position);
+            }
+            channel.position(position);
+            return count;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // Günlüğü boşalt (ör. anlık görüntü alındıktan sonra)
+    public void truncate() throws IOException {
+        flush();
+        flushLock.lock();
+        try {
+            channel.truncate(0);
+            channel.position(0);
+            channel.force(true);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        appendLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pendingAvailable.signalAll();
+        } finally {
+            appendLock.unlock();
+        }
+        if (flusher != null) {
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushPending();
+        channel.close();
+    }
+
+    // ==================== İKİLİ YARDIMCILAR ====================
+
+    // null olabilen metin
+    public static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    public static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    // ==================== İÇ İŞLEYİŞ ====================
+
+    private void flushLoop() {
+        while (true) {
+            appendLock.lock();
+            try {
+                while (!closed && durableSeq == appendedSeq) {
+                    pendingAvailable.await();
+                }
+                if (closed) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                appendLock.unlock();
+            }
+            try {
+                // Pencere boyunca gelen kayıtlar aynı fsync'e katılır
+                Thread.sleep(groupCommitMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            flushPending();
+        }
+    }
+
+    private void flush(long seq) {
+        appendLock.lock();
+        try {
+            if (durableSeq >= seq) {
+                return;
+            }
+        } finally {
+            appendLock.unlock();
+        }
+        flushPending();
+        appendLock.lock();
+        try {
+            checkFailure();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void awaitDurable(long seq) {
+        appendLock.lock();
+        try {
+            while (durableSeq < seq) {
+                checkFailure();
+                durableChanged.await();
+            }
+            checkFailure();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Günlük beklenirken kesildi", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // Bekleyen tamponu değiştir, diske yaz, fsync yap
+    private void flushPending() {
+        flushLock.lock();
+        try {
+            Staging toWrite;
+            long seq;
+            appendLock.lock();
+            try {
+                if (staging.size() == 0) {
+                    return;
+                }
+                toWrite = staging;
+                staging = spare;
+                spare = toWrite;
+                seq = appendedSeq;
+            } finally {
+                appendLock.unlock();
+            }
+            IOException error = null;
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(toWrite.buffer(), 0, toWrite.size());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                error = e;
+            }
+            toWrite.reset();
+            appendLock.lock();
+            try {
+                if (error != null) {
+                    failure = error;
+                } else {
+                    durableSeq = seq;
+                }
+                durableChanged.signalAll();
+            } finally {
+                appendLock.unlock();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position + buffer.position());
+            if (n < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Günlük kapalı: " + path);
+        }
+    }
+
+    private void checkFailure() {
+        if (failure != null) {
+            throw new UncheckedIOException("Günlük yazılamadı: " + path, failure);
+        }
+    }
+
+    // Kayıtların çerçevelendiği yeniden kullanılabilir tampon
+    private static class Staging extends ByteArrayOutputStream {
+        private final DataOutputStream data = new DataOutputStream(this);
+        private final CRC32 crc = new CRC32();
+        private int recordStart;
+
+        Staging() {
+            super(64 * 1024);
+        }
+
+        void begin(byte type) {
+            recordStart = count;
+            writeInt(0);
+            write(type);
+        }
+
+        void end() {
+            int length = count - recordStart - HEADER_SIZE;
+            buf[recordStart] = (byte) (length >>> 24);
+            buf[recordStart + 1] = (byte) (length >>> 16);
+            buf[recordStart + 2] = (byte) (length >>> 8);
+            buf[recordStart + 3] = (byte) length;
+            crc.reset();
+            crc.update(buf, recordStart + 4, length + 1);
+            writeInt((int) crc.getValue());
+        }
+
+        void rollback() {
+            count = recordStart;
+        }
+
+        byte[] buffer() {
+            return buf;
+        }
+
+        private void writeInt(int v) {
+            write(v >>> 24);
+            write(v >>> 16);
+            write(v >>> 8);
+            write(v);
+        }
+    }
+}
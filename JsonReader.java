@@ -0,0 +1,418 @@
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Akış halinde (streaming) JSON okuyucu için Java sınıfı
+ * Belge bütünüyle belleğe alınmaz; değerler sırayla çekilir (pull parser).
+ * Büyük dizilerde her öğe tek tek okunabilir, bellek kullanımı öğe boyutuyla sınırlıdır.
+ * Yansıma (reflection) kullanmaz; nesneler Map/List/String/Double/Boolean olarak okunur.
+ */
+public class JsonReader implements Closeable {
+    // Sıradaki değer tipi
+    public enum Token {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+    }
+
+    // Kapsam durumları
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_ARRAY = 2;
+    private static final int NONEMPTY_ARRAY = 3;
+    private static final int EMPTY_OBJECT = 4;
+    private static final int DANGLING_NAME = 5;
+    private static final int NONEMPTY_OBJECT = 6;
+
+    private final Reader in;
+    private final char[] buffer = new char[8192];
+    private int pos;
+    private int limit;
+    private int line = 1;
+
+    private int[] stack = new int[32];
+    private int stackSize;
+
+    private Token peeked;
+    private String peekedText;
+    private final StringBuilder text = new StringBuilder();
+
+    // Constructor
+    public JsonReader(Reader in) {
+        this.in = in;
+        this.stack[stackSize++] = EMPTY_DOCUMENT;
+    }
+
+    // Okunan satır (hata mesajları için)
+    public int getLine() {
+        return line;
+    }
+
+    public Token peek() throws IOException {
+        if (peeked != null) {
+            return peeked;
+        }
+        int scope = stack[stackSize - 1];
+        switch (scope) {
+            case EMPTY_ARRAY:
+                stack[stackSize - 1] = NONEMPTY_ARRAY;
+                break;
+            case NONEMPTY_ARRAY: {
+                int c = nextNonWhitespace();
+                if (c == ']') {
+                    return peeked = Token.END_ARRAY;
+                }
+                if (c != ',') {
+                    throw syntaxError("',' veya ']' bekleniyordu");
+                }
+                break;
+            }
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT: {
+                stack[stackSize - 1] = DANGLING_NAME;
+                int c = nextNonWhitespace();
+                if (c == '}') {
+                    return peeked = Token.END_OBJECT;
+                }
+                if (scope == NONEMPTY_OBJECT) {
+                    if (c != ',') {
+                        throw syntaxError("',' veya '}' bekleniyordu");
+                    }
+                    c = nextNonWhitespace();
+                }
+                if (c != '"') {
+                    throw syntaxError("Alan adı bekleniyordu");
+                }
+                peekedText = readString();
+                return peeked = Token.NAME;
+            }
+            case DANGLING_NAME:
+                stack[stackSize - 1] = NONEMPTY_OBJECT;
+                if (nextNonWhitespace() != ':') {
+                    throw syntaxError("':' bekleniyordu");
+                }
+                break;
+            case EMPTY_DOCUMENT:
+                stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+                break;
+            default: {
+                int c = read();
+                while (c != -1 && isWhitespace(c)) {
+                    c = read();
+                }
+                if (c == -1) {
+                    return peeked = Token.END_DOCUMENT;
+                }
+                throw syntaxError("Belge sonunda fazladan veri");
+            }
+        }
+
+        int c = nextNonWhitespace();
+        switch (c) {
+            case '{':
+                return peeked = Token.BEGIN_OBJECT;
+            case '[':
+                return peeked = Token.BEGIN_ARRAY;
+            case ']':
+                if (scope == EMPTY_ARRAY) {
+                    return peeked = Token.END_ARRAY;
+                }
+                throw syntaxError("Değer bekleniyordu");
+            case '"':
+                peekedText = readString();
+                return peeked = Token.STRING;
+            default:
+                unread(c);
+                return peeked = readLiteral();
+        }
+    }
+
+    public boolean hasNext() throws IOException {
+        Token t = peek();
+        return t != Token.END_OBJECT && t != Token.END_ARRAY && t != Token.END_DOCUMENT;
+    }
+
+    public void beginObject() throws IOException {
+        expect(Token.BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+    }
+
+    public void endObject() throws IOException {
+        expect(Token.END_OBJECT);
+        stackSize--;
+    }
+
+    public void beginArray() throws IOException {
+        expect(Token.BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+    }
+
+    public void endArray() throws IOException {
+        expect(Token.END_ARRAY);
+        stackSize--;
+    }
+
+    public String nextName() throws IOException {
+        expect(Token.NAME);
+        return peekedText;
+    }
+
+    // Metin; sayı ve mantıksal değerler de metin olarak okunabilir
+    public String nextString() throws IOException {
+        Token t = peek();
+        if (t != Token.STRING && t != Token.NUMBER && t != Token.BOOLEAN) {
+            throw syntaxError("Metin bekleniyordu, bulunan: " + t);
+        }
+        peeked = null;
+        return peekedText;
+    }
+
+    // Sayı; tırnak içindeki sayılar da kabul edilir
+    public double nextDouble() throws IOException {
+        Token t = peek();
+        if (t != Token.NUMBER && t != Token.STRING) {
+            throw syntaxError("Sayı bekleniyordu, bulunan: " + t);
+        }
+        try {
+            double value = Double.parseDouble(peekedText.trim());
+            peeked = null;
+            return value;
+        } catch (NumberFormatException e) {
+            throw syntaxError("Geçersiz sayı: " + peekedText);
+        }
+    }
+
+    public boolean nextBoolean() throws IOException {
+        expect(Token.BOOLEAN);
+        return "true".equals(peekedText);
+    }
+
+    public void nextNull() throws IOException {
+        expect(Token.NULL);
+    }
+
+    // Sıradaki değeri (iç içe olanlarla birlikte) atla
+    public void skipValue() throws IOException {
+        int depth = 0;
+        do {
+            Token t = peek();
+            switch (t) {
+                case BEGIN_OBJECT:
+                    beginObject();
+                    depth++;
+                    break;
+                case BEGIN_ARRAY:
+                    beginArray();
+                    depth++;
+                    break;
+                case END_OBJECT:
+                    endObject();
+                    depth--;
+                    break;
+                case END_ARRAY:
+                    endArray();
+                    depth--;
+                    break;
+                case END_DOCUMENT:
+                    throw syntaxError("Beklenmeyen belge sonu");
+                default:
+                    peeked = null;
+                    break;
+            }
+        } while (depth > 0);
+    }
+
+    /**
+     * Sıradaki değeri bütünüyle okur: nesne -> LinkedHashMap, dizi -> ArrayList,
+     * sayı -> Double, metin -> String, mantıksal -> Boolean, null -> null.
+     * Tek bir kaydı okumak için kullanılır; dev dizileri bununla okumayın.
+     */
+    public Object readValue() throws IOException {
+        switch (peek()) {
+            case BEGIN_OBJECT: {
+                Map<String, Object> map = new LinkedHashMap<>();
+                beginObject();
+                while (hasNext()) {
+                    String name = nextName();
+                    map.put(name, readValue());
+                }
+                endObject();
+                return map;
+            }
+            case BEGIN_ARRAY: {
+                List<Object> list = new ArrayList<>();
+                beginArray();
+                while (hasNext()) {
+                    list.add(readValue());
+                }
+                endArray();
+                return list;
+            }
+            case NUMBER:
+                return nextDouble();
+            case BOOLEAN:
+                return nextBoolean();
+            case NULL:
+                nextNull();
+                return null;
+            case STRING:
+                return nextString();
+            default:
+                throw syntaxError("Değer bekleniyordu, bulunan: " + peek());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // ==================== İÇ İŞLEYİŞ ====================
+
+    private void expect(Token token) throws IOException {
+        Token t = peek();
+        if (t != token) {
+            throw syntaxError(token + " bekleniyordu, bulunan: " + t);
+        }
+        peeked = null;
+    }
+
+    private void push(int scope) {
+        if (stackSize == stack.length) {
+            int[] bigger = new int[stackSize * 2];
+            System.arraycopy(stack, 0, bigger, 0, stackSize);
+            stack = bigger;
+        }
+        stack[stackSize++] = scope;
+    }
+
+    private int read() throws IOException {
+        if (pos == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            pos = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        char c = buffer[pos++];
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    // Son okunan karakteri geri al (her zaman tampondan gelir)
+    private void unread(int c) {
+        if (c == -1) {
+            return;
+        }
+        pos--;
+        if (c == '\n') {
+            line--;
+        }
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        int c = read();
+        while (c != -1 && isWhitespace(c)) {
+            c = read();
+        }
+        if (c == -1) {
+            throw new EOFException("Beklenmeyen belge sonu, satır " + line);
+        }
+        return c;
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\uFEFF';
+    }
+
+    private String readString() throws IOException {
+        text.setLength(0);
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                throw new EOFException("Kapanmamış metin, satır " + line);
+            }
+            if (c == '"') {
+                return text.toString();
+            }
+            if (c == '\\') {
+                c = read();
+                switch (c) {
+                    case '"': case '\\': case '/':
+                        text.append((char) c);
+                        break;
+                    case 'b':
+                        text.append('\b');
+                        break;
+                    case 'f':
+                        text.append('\f');
+                        break;
+                    case 'n':
+                        text.append('\n');
+                        break;
+                    case 'r':
+                        text.append('\r');
+                        break;
+                    case 't':
+                        text.append('\t');
+                        break;
+                    case 'u': {
+                        int value = 0;
+                        for (int i = 0; i < 4; i++) {
+                            int digit = Character.digit(read(), 16);
+                            if (digit < 0) {
+                                throw syntaxError("Geçersiz \\u kaçışı");
+                            }
+                            value = (value << 4) | digit;
+                        }
+                        text.append((char) value);
+                        break;
+                    }
+                    default:
+                        throw syntaxError("Geçersiz kaçış karakteri");
+                }
+            } else {
+                text.append((char) c);
+            }
+        }
+    }
+
+    // true / false / null / sayı
+    private Token readLiteral() throws IOException {
+        text.setLength(0);
+        int c = read();
+        while (c != -1 && !isWhitespace(c) && c != ',' && c != ':' && c != ']' && c != '}'
+                && c != '[' && c != '{' && c != '"') {
+            text.append((char) c);
+            c = read();
+        }
+        unread(c);
+        peekedText = text.toString();
+        switch (peekedText) {
+            case "true":
+            case "false":
+                return Token.BOOLEAN;
+            case "null":
+                return Token.NULL;
+            case "":
+                throw syntaxError("Değer bekleniyordu");
+            default:
+                char first = peekedText.charAt(0);
+                if (first != '-' && (first < '0' || first > '9')) {
+                    throw syntaxError("Geçersiz değer: " + peekedText);
+                }
+                return Token.NUMBER;
+        }
+    }
+
+    private IOException syntaxError(String message) {
+        return new IOException("JSON hatası, satır " + line + ": " + message);
+    }
+}
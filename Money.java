@@ -0,0 +1,75 @@
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Para tutarları için yardımcı Java sınıfı
+ * Tutarlar long kuruş (1/100 TL) olarak tutulur: toplama, çıkarma ve miktarla
+ * çarpma tamdır, toplamlar satır sırasından bağımsızdır ve kutulama gerektirmez.
+ * Oranlı hesaplar (iskonto, zam) sonucu en yakın kuruşa yuvarlar.
+ *
+ * double yalnızca sınırda kullanılır (JSON, CSV, eski double API'ler ve kayıt
+ * dosyaları). Kuruş tutarının double TL karşılığı (kuruş / 100.0) geri
+ * çevrildiğinde aynı kuruşu verir; kayıt biçimleri bu yüzden değişmedi.
+ */
+public final class Money {
+    public static final long SCALE = 100; // 1 TL = 100 kuruş
+
+    private Money() {
+    }
+
+    // TL -> kuruş (en yakın kuruşa)
+    public static long of(double amount) {
+        if (Double.isNaN(amount) || Double.isInfinite(amount)) {
+            throw new IllegalArgumentException("Geçersiz tutar: " + amount);
+        }
+        return Math.round(amount * SCALE);
+    }
+
+    // Metin TL tutarı -> kuruş ("12.5", "12,50"); ikili kayan nokta hatası olmadan
+    public static long parse(String text) {
+        try {
+            return new BigDecimal(text.trim().replace(',', '.'))
+                    .movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Geçersiz tutar: " + text);
+        }
+    }
+
+    // Kuruş -> TL (gösterim ve double API'ler için)
+    public static double toDouble(long kurus) {
+        return kurus / (double) SCALE;
+    }
+
+    // Birim tutar x miktar (taşmada ArithmeticException)
+    public static long times(long kurus, long quantity) {
+        return Math.multiplyExact(kurus, quantity);
+    }
+
+    // Tutarın oranla çarpımı, en yakın kuruşa
+    public static long scale(long kurus, double factor) {
+        return Math.round(kurus * factor);
+    }
+
+    // Yüzde iskonto uygulanmış tutar, en yakın kuruşa
+    public static long discount(long kurus, double percentage) {
+        return percentage == 0 ? kurus : scale(kurus, 1 - percentage / 100.0);
+    }
+
+    // İki ondalıklı metin ("1234.50", "-0.05"), bilimsel gösterim olmadan
+    public static String format(long kurus) {
+        return appendTo(new StringBuilder(24), kurus).toString();
+    }
+
+    public static StringBuilder appendTo(StringBuilder out, long kurus) {
+        if (kurus < 0) {
+            out.append('-');
+        }
+        long lira = Math.abs(kurus / SCALE);
+        long fraction = Math.abs(kurus % SCALE);
+        out.append(lira).append('.');
+        if (fraction < 10) {
+            out.append('0');
+        }
+        return out.append(fraction);
+    }
+}
@@ -6,14 +6,19 @@ import java.time.format.DateTimeFormatter;
  * OOP prensipleri ile geliştirilmiştir
  */
 public class Order {
+    // DateTimeFormatter değişmez ve thread-safe: her çağrıda yeniden oluşturulmaz
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+    // InvoiceRenderer thread-safe değil; tamponu her iş parçacığında yeniden kullanılır
+    private static final ThreadLocal<InvoiceRenderer> INVOICE_RENDERER = ThreadLocal.withInitial(InvoiceRenderer::new);
+
     private int id;
     private int customerId;
     private String customerName;
     private int productId;
     private String productName;
     private int quantity;
-    private double unitPrice;
-    private double total;
+    private long unitPrice; // Tutarlar kuruş (bkz. Money)
+    private long total;
     private OrderStatus status;
     private String shippingCompany;
     private String note;
@@ -36,8 +41,8 @@ public class Order {
         this.productId = productId;
         this.productName = productName;
         this.quantity = quantity;
-        this.unitPrice = unitPrice;
-        this.total = total;
+        this.unitPrice = Money.of(unitPrice);
+        this.total = Money.of(total);
         this.status = OrderStatus.PREPARING;
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
@@ -102,19 +107,27 @@ public class Order {
     }
 
     public double getUnitPrice() {
-        return unitPrice;
+        return Money.toDouble(unitPrice);
     }
 
     public void setUnitPrice(double unitPrice) {
-        this.unitPrice = unitPrice;
+        this.unitPrice = Money.of(unitPrice);
     }
 
     public double getTotal() {
-        return total;
+        return Money.toDouble(total);
     }
 
     public void setTotal(double total) {
-        this.total = total;
+        this.total = Money.of(total);
+    }
+
+    public long getUnitPriceKurus() {
+        return unitPrice;
+    }
+
+    public long getTotalKurus() {
+        return total;
     }
 
     public OrderStatus getStatus() {
@@ -152,8 +165,7 @@ public class Order {
 
     // İş mantığı metodları
     public String getFormattedCreatedDate() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
-        return createdAt.format(formatter);
+        return createdAt.format(DATE_FORMAT);
     }
 
     public String getStatusString() {
@@ -191,35 +203,9 @@ public class Order {
         return status == OrderStatus.SHIPPING;
     }
 
+    // Fatura metni (InvoiceRenderer.DEFAULT_TEMPLATE); toplu faturalama için InvoiceRenderer.writeOrders
     public String generateInvoice() {
-        StringBuilder invoice = new StringBuilder();
-        invoice.append("═══════════════════════════════════════\n");
-        invoice.append("        YÜCEL ORMAN ÜRÜNLERİ\n");
-        invoice.append("           FATURA\n");
-        invoice.append("═══════════════════════════════════════\n\n");
-        invoice.append("Fatura No: INV-").append(id).append("\n");
-        invoice.append("Tarih: ").append(getFormattedCreatedDate()).append("\n\n");
-        invoice.append("───────────────────────────────────────\n");
-        invoice.append("MÜŞTERİ BİLGİLERİ\n");
-        invoice.append("───────────────────────────────────────\n");
-        invoice.append("Müşteri: ").append(customerName).append("\n\n");
-        invoice.append("───────────────────────────────────────\n");
-        invoice.append("ÜRÜN BİLGİLERİ\n");
-        invoice.append("───────────────────────────────────────\n");
-        invoice.append("Ürün: ").append(productName).append("\n");
-        invoice.append("Miktar: ").append(quantity).append("\n");
-        invoice.append("Birim Fiyat: ").append(String.format("%.2f", unitPrice)).append(" TL\n\n");
-        invoice.append("───────────────────────────────────────\n");
-        invoice.append("TOPLAM: ").append(String.format("%.2f", total)).append(" TL\n");
-        invoice.append("───────────────────────────────────────\n\n");
-        if (shippingCompany != null && !shippingCompany.isEmpty()) {
-            invoice.append("Nakliye: ").append(shippingCompany).append("\n\n");
-        }
-        invoice.append("═══════════════════════════════════════\n");
-        invoice.append("İletişim: FUAT YÜCEL - 0506 471 56 75\n");
-        invoice.append("═══════════════════════════════════════\n");
-        
-        return invoice.toString();
+        return INVOICE_RENDERER.get().render(this);
     }
 
     @Override
@@ -229,7 +215,7 @@ public class Order {
                 ", customerName='" + customerName + '\'' +
                 ", productName='" + productName + '\'' +
                 ", quantity=" + quantity +
-                ", total=" + total +
+                ", total=" + Money.format(total) +
                 ", status=" + status +
                 ", createdAt=" + getFormattedCreatedDate() +
                 '}';
@@ -0,0 +1,119 @@
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Sayfalı liste sonucu için Java sınıfı
+ * Anahtar kümesi (keyset) sayfalaması kullanılır: imleç son öğenin sıralama
+ * değerini ve id'sini taşır, sonraki sayfa sıralı indekste o noktadan devam eder.
+ * Ofset yoktur; sayfa maliyeti liste boyuna değil sayfa boyuna bağlıdır.
+ * İmleç istemci için opaktır (Base64, URL güvenli).
+ */
+public class Page<T> {
+    // Sıralama anahtarları
+    public enum Sort {
+        ID, DATE, NAME, TOTAL
+    }
+
+    // Çözülmüş imleç: sıralama, son öğenin sıralama değeri ve id'si
+    public static class Cursor {
+        private final Sort sort;
+        private final String value;
+        private final int id;
+
+        public Cursor(Sort sort, String value, int id) {
+            this.sort = sort;
+            this.value = value == null ? "" : value;
+            this.id = id;
+        }
+
+        public Sort getSort() {
+            return sort;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        // Sayısal sıralama değeri (işlem sıralamaları)
+        public long getNumber() {
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Geçersiz imleç");
+            }
+        }
+    }
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    // Constructor
+    public Page(List<T> items, String nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+
+    // Getter metodları
+    public List<T> getItems() {
+        return items;
+    }
+
+    // Son sayfada null
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    // ==================== İMLEÇ ====================
+
+    public static String encodeCursor(Sort sort, String value, int id) {
+        String raw = sort.name() + "\n" + id + "\n" + (value == null ? "" : value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String encodeCursor(Sort sort, long value, int id) {
+        return encodeCursor(sort, Long.toString(value), id);
+    }
+
+    /**
+     * İmleci çözer; imleç null veya boşsa null (ilk sayfa).
+     * Bozuk imleç veya başka bir sıralamaya ait imleç için IllegalArgumentException.
+     */
+    public static Cursor decodeCursor(String cursor, Sort expected) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\n", 3);
+            if (parts.length == 3 && expected.name().equals(parts[0])) {
+                return new Cursor(expected, parts[2], Integer.parseInt(parts[1]));
+            }
+        } catch (IllegalArgumentException e) {
+            // Base64 veya sayı hatası: aşağıdaki hata fırlatılır
+        }
+        throw new IllegalArgumentException("Geçersiz imleç");
+    }
+
+    // Metinden sıralama (büyük/küçük harf duyarsız); bilinmiyorsa null
+    public static Sort sortFromString(String text) {
+        if (text == null) {
+            return null;
+        }
+        for (Sort sort : Sort.values()) {
+            if (sort.name().equalsIgnoreCase(text.trim())) {
+                return sort;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,306 @@
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Sürümlü, değişmez fiyat listesi için Java sınıfı
+ * Fiyatlar kuruş olarak, ürün id'sine göre sıralı ilkel dizilerde tutulur (ürün başına 12 bayt).
+ * Yeni sürüm eskisinden türetilir ve DataManager'da tek referans değişimiyle
+ * yayınlanır; satış listeyi bir kez okuduğu için bir satış (veya toplu sipariş)
+ * her zaman tek bir sürümün fiyatlarını görür.
+ *
+ * Tekil fiyat değişiklikleri küçük bir ek katmana yazılır (O(k)); ek katman büyüyünce
+ * tabanla birleştirilir. Toplu yeniden fiyatlandırma yeni tabanı fork/join ile paralel
+ * hesaplar. Ek katmanı değişen sürümler taban dizilerini paylaşır.
+ *
+ * İskontolu (bayi kademesi) fiyatlar dizi başına, iskonto oranı anahtarıyla
+ * önbelleklenir: tablo ilk kullanımda bir kez hesaplanır, satış ve teklif
+ * satırları tek dizi okumasıyla fiyatlanır. Fiyat değişikliği yeni sürüm
+ * (yeni dizi) ürettiği için önbellek ayrıca geçersiz kılınmaz; müşterinin
+ * iskontosu değişirse müşteri başka bir kademenin tablosunu kullanır.
+ */
+public final class PriceList {
+    private static final int PARALLEL_THRESHOLD = 4096;
+    private static final int MIN_OVERLAY = 64;
+    private static final int MAX_TIERS = 8; // Dizi başına önbelleklenen iskonto oranı sayısı
+    private static final Table EMPTY = new Table(new int[0], new long[0]);
+
+    public static final long NO_PRICE = -1; // priceOf(int): ürün listede yok
+
+    private final long version;
+    private final LocalDateTime createdAt;
+    private final String category; // Toplu değişikliğin kategori kapsamı; tüm katalog veya tekil değişiklikte null
+    private final Table base;    // Taban (sürümler arasında paylaşılır)
+    private final Table overlay; // Ek katman (tabanı ezer)
+    private final int size;
+
+    // Constructor
+    private PriceList(long version, LocalDateTime createdAt, String category, Table base, Table overlay) {
+        this.version = version;
+        this.createdAt = createdAt;
+        this.category = category;
+        this.base = base;
+        this.overlay = overlay;
+        int added = 0;
+        for (int id : overlay.ids) {
+            if (Arrays.binarySearch(base.ids, id) < 0) {
+                added++;
+            }
+        }
+        this.size = base.ids.length + added;
+    }
+
+    // Boş liste (sürüm 0); listede olmayan ürünün fiyatı ürün kaydındadır
+    public static PriceList empty() {
+        return new PriceList(0, LocalDateTime.now(), null, EMPTY, EMPTY);
+    }
+
+    // Ürünlerin güncel fiyatlarından verilen sürümde tam liste (açılışta)
+    public static PriceList of(long version, Collection<Product> products) {
+        Product[] catalog = sortedById(products);
+        int[] ids = new int[catalog.length];
+        long[] prices = new long[catalog.length];
+        for (int i = 0; i < catalog.length; i++) {
+            ids[i] = catalog[i].getId();
+            prices[i] = catalog[i].getPriceKurus();
+        }
+        return new PriceList(version, LocalDateTime.now(), null, new Table(ids, prices), EMPTY);
+    }
+
+    // Getter metodları
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Ürünün bu sürümdeki fiyatı (kuruş); listede yoksa NO_PRICE
+    public long priceOf(int productId) {
+        int i = Arrays.binarySearch(overlay.ids, productId);
+        if (i >= 0) {
+            return overlay.prices[i];
+        }
+        i = Arrays.binarySearch(base.ids, productId);
+        return i >= 0 ? base.prices[i] : NO_PRICE;
+    }
+
+    // Satış fiyatı (kuruş): listede yoksa ürün kaydındaki fiyat
+    public long priceOf(Product product) {
+        long price = priceOf(product.getId());
+        return price == NO_PRICE ? product.getPriceKurus() : price;
+    }
+
+    // İskontolu satış fiyatı (kuruş); Customer.applyDiscount(priceOf(product), discountRate) ile aynı sonuç
+    public long priceOf(Product product, double discountRate) {
+        int i = Arrays.binarySearch(overlay.ids, product.getId());
+        if (i >= 0) {
+            return overlay.price(i, discountRate);
+        }
+        i = Arrays.binarySearch(base.ids, product.getId());
+        if (i >= 0) {
+            return base.price(i, discountRate);
+        }
+        return Customer.applyDiscount(product.getPriceKurus(), discountRate);
+    }
+
+    // Toplu değişikliğin kapsamında mı (kategori null ise tüm katalog)
+    public static boolean inScope(String category, Product product) {
+        return category == null || category.equals(product.getCategory());
+    }
+
+    // ==================== YENİ SÜRÜMLER ====================
+
+    // Tek ürünün fiyatı (kuruş) değişti: sonraki sürüm
+    public PriceList withPrice(int productId, long price) {
+        return merge(version + 1, LocalDateTime.now(), null, new int[]{productId}, new long[]{price}, 1);
+    }
+
+    /**
+     * Yeni ürünler aynı sürüme eklenir: listedeki fiyatlar değişmediği için sürüm artmaz.
+     * Ürünün id'si daha önce verilmemiş olmalıdır.
+     */
+    public PriceList withProducts(List<Product> added) {
+        int n = added.size();
+        if (n == 0) {
+            return this;
+        }
+        int[] batchIds = new int[n];
+        long[] batchPrices = new long[n];
+        for (int i = 0; i < n; i++) {
+            batchIds[i] = added.get(i).getId();
+            batchPrices[i] = added.get(i).getPriceKurus();
+        }
+        return merge(version, createdAt, category, batchIds, batchPrices, n);
+    }
+
+    /**
+     * Kapsamdaki ürünlerin fiyatını yüzde oranında değiştiren sonraki sürüm
+     * (yeni fiyatlar en yakın kuruşa yuvarlanır).
+     * Taban katalogdaki ürünlerden yeniden kurulur (silinmiş ürünler düşer);
+     * büyük kataloglarda ortak fork/join havuzunda paralel hesaplanır.
+     */
+    public PriceList reprice(Collection<Product> catalog, String category, double percentage) {
+        Product[] sorted = sortedById(catalog);
+        int[] newIds = new int[sorted.length];
+        long[] newPrices = new long[sorted.length];
+        new Reprice(this, sorted, category, 1 + percentage / 100.0, newIds, newPrices, 0, sorted.length).invoke();
+        return new PriceList(version + 1, LocalDateTime.now(), category, new Table(newIds, newPrices), EMPTY);
+    }
+
+    // Yardımcı metodlar
+
+    // Sırasız partiyi ek katmana birleştir; ek katman büyüdüyse tabanla birleştir
+    private PriceList merge(long newVersion, LocalDateTime newCreatedAt, String newCategory,
+                            int[] batchIds, long[] batchPrices, int n) {
+        int m = sortBatch(batchIds, batchPrices, n);
+        Table merged = union(overlay.ids, overlay.prices, overlay.ids.length, batchIds, batchPrices, m);
+        if (merged.ids.length <= Math.max(MIN_OVERLAY, base.ids.length / 8)) {
+            return new PriceList(newVersion, newCreatedAt, newCategory, base, merged);
+        }
+        Table compacted = union(base.ids, base.prices, base.ids.length, merged.ids, merged.prices, merged.ids.length);
+        return new PriceList(newVersion, newCreatedAt, newCategory, compacted, EMPTY);
+    }
+
+    // (id << 32 | sıra) ile ilkel sıralama; aynı id'de partideki son fiyat kalır. Tekil öğe sayısını döner
+    private static int sortBatch(int[] batchIds, long[] batchPrices, int n) {
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            packed[i] = ((long) batchIds[i] << 32) | i;
+        }
+        Arrays.sort(packed);
+        long[] sortedPrices = new long[n];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            int id = (int) (packed[i] >> 32);
+            long price = batchPrices[(int) packed[i]];
+            if (k > 0 && batchIds[k - 1] == id) {
+                sortedPrices[k - 1] = price;
+            } else {
+                batchIds[k] = id;
+                sortedPrices[k++] = price;
+            }
+        }
+        System.arraycopy(sortedPrices, 0, batchPrices, 0, k);
+        return k;
+    }
+
+    // İki sıralı dizinin birleşimi; aynı id'de sağdaki kazanır
+    private static Table union(int[] leftIds, long[] leftPrices, int leftSize,
+                                 int[] rightIds, long[] rightPrices, int rightSize) {
+        int[] mergedIds = new int[leftSize + rightSize];
+        long[] mergedPrices = new long[leftSize + rightSize];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < leftSize || j < rightSize) {
+            if (j >= rightSize || (i < leftSize && leftIds[i] < rightIds[j])) {
+                mergedIds[k] = leftIds[i];
+                mergedPrices[k++] = leftPrices[i++];
+            } else {
+                if (i < leftSize && leftIds[i] == rightIds[j]) {
+                    i++;
+                }
+                mergedIds[k] = rightIds[j];
+                mergedPrices[k++] = rightPrices[j++];
+            }
+        }
+        return new Table(Arrays.copyOf(mergedIds, k), Arrays.copyOf(mergedPrices, k));
+    }
+
+    private static Product[] sortedById(Collection<Product> products) {
+        Product[] catalog = products.toArray(new Product[0]);
+        Arrays.parallelSort(catalog, Comparator.comparingInt(Product::getId));
+        return catalog;
+    }
+
+    // Id sıralı (id, fiyat) dizileri ve iskonto kademesi fiyat tabloları
+    private static final class Table {
+        final int[] ids;
+        final long[] prices;
+        final ConcurrentHashMap<Double, long[]> tiers; // İskonto oranı -> prices ile hizalı fiyatlar
+
+        Table(int[] ids, long[] prices) {
+            this.ids = ids;
+            this.prices = prices;
+            this.tiers = new ConcurrentHashMap<>();
+        }
+
+        long price(int index, double discountRate) {
+            if (discountRate <= 0) {
+                return prices[index];
+            }
+            long[] tier = tiers.get(discountRate);
+            if (tier == null) {
+                if (tiers.size() >= MAX_TIERS) {
+                    return Customer.applyDiscount(prices[index], discountRate);
+                }
+                tier = tiers.computeIfAbsent(discountRate, this::buildTier);
+            }
+            return tier[index];
+        }
+
+        private long[] buildTier(double discountRate) {
+            long[] tier = new long[prices.length];
+            for (int i = 0; i < tier.length; i++) {
+                tier[i] = Customer.applyDiscount(prices[i], discountRate);
+            }
+            return tier;
+        }
+    }
+
+    // Yeni tabanın [from, to) aralığını hesaplayan fork/join görevi
+    private static final class Reprice extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final PriceList source;
+        private final Product[] catalog;
+        private final String category;
+        private final double factor;
+        private final int[] ids;
+        private final long[] prices;
+        private final int from;
+        private final int to;
+
+        Reprice(PriceList source, Product[] catalog, String category, double factor,
+                int[] ids, long[] prices, int from, int to) {
+            this.source = source;
+            this.catalog = catalog;
+            this.category = category;
+            this.factor = factor;
+            this.ids = ids;
+            this.prices = prices;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    Product p = catalog[i];
+                    long price = source.priceOf(p);
+                    ids[i] = p.getId();
+                    prices[i] = inScope(category, p) ? Money.scale(price, factor) : price;
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Reprice(source, catalog, category, factor, ids, prices, from, mid),
+                    new Reprice(source, catalog, category, factor, ids, prices, mid, to));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Sepet fiyat teklifi için Java sınıfı (DataManager.quoteBasket)
+ * Tüm satırlar tek bir fiyat listesi sürümüyle fiyatlanır; aynı sürüm geçerliyken
+ * createTransaction aynı birim fiyat ve tutarları üretir. Satırlar ilkel dizilerde,
+ * tutarlar kuruş olarak tutulur; toplam satır tutarlarının tam toplamıdır.
+ */
+public class PriceQuote {
+    private final int customerId;
+    private final double discountRate;
+    private final long priceVersion;
+    private final int[] productIds;
+    private final int[] quantities;
+    private final long[] unitPrices;
+    private final long[] lineTotals;
+    private final long total;
+
+    // Constructor (diziler sahiplenilir)
+    public PriceQuote(int customerId, double discountRate, long priceVersion, int[] productIds, int[] quantities,
+                      long[] unitPrices, long[] lineTotals) {
+        this.customerId = customerId;
+        this.discountRate = discountRate;
+        this.priceVersion = priceVersion;
+        this.productIds = productIds;
+        this.quantities = quantities;
+        this.unitPrices = unitPrices;
+        this.lineTotals = lineTotals;
+        long sum = 0;
+        for (long lineTotal : lineTotals) {
+            sum += lineTotal;
+        }
+        this.total = sum;
+    }
+
+    // Getter metodları
+    public int getCustomerId() {
+        return customerId;
+    }
+
+    // Teklifte uygulanan müşteri (bayi) iskontosu
+    public double getDiscountRate() {
+        return discountRate;
+    }
+
+    public long getPriceVersion() {
+        return priceVersion;
+    }
+
+    public int getLineCount() {
+        return productIds.length;
+    }
+
+    public int getProductId(int line) {
+        return productIds[line];
+    }
+
+    public int getQuantity(int line) {
+        return quantities[line];
+    }
+
+    // İskontolu birim fiyat (TL)
+    public double getUnitPrice(int line) {
+        return Money.toDouble(unitPrices[line]);
+    }
+
+    public double getLineTotal(int line) {
+        return Money.toDouble(lineTotals[line]);
+    }
+
+    public double getTotal() {
+        return Money.toDouble(total);
+    }
+
+    public long getUnitPriceKurus(int line) {
+        return unitPrices[line];
+    }
+
+    public long getLineTotalKurus(int line) {
+        return lineTotals[line];
+    }
+
+    public long getTotalKurus() {
+        return total;
+    }
+}
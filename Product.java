@@ -1,3 +1,5 @@
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
 /**
  * Ürün bilgilerini tutan Java sınıfı
  * OOP prensipleri ile geliştirilmiştir
@@ -5,18 +7,23 @@
 public class Product {
     private int id;
     private String name;
-    private double price;
-    private int stock;
+    private long price; // Kuruş (bkz. Money)
+    private volatile int stock; // CAS ile güncellenir (bkz. STOCK)
     private String unit; // Birim: Adet, m³, Ton, Metre, Kg
     private int criticalStock; // Kritik stok seviyesi
     private String category;
     private boolean isActive;
+    private long costPrice; // Maliyet fiyatı (kuruş)
+
+    // Stok alanı için kilitsiz (CAS) güncelleyici
+    private static final AtomicIntegerFieldUpdater<Product> STOCK =
+            AtomicIntegerFieldUpdater.newUpdater(Product.class, "stock");
 
     // Constructor - Temel
     public Product(int id, String name, double price) {
         this.id = id;
         this.name = name;
-        this.price = price;
+        this.price = Money.of(price);
         this.stock = 0;
         this.unit = "Adet";
         this.criticalStock = 10;
@@ -27,13 +34,21 @@ public class Product {
     public Product(int id, String name, double price, int stock, String unit, int criticalStock) {
         this.id = id;
         this.name = name;
-        this.price = price;
+        this.price = Money.of(price);
         this.stock = stock;
         this.unit = unit;
         this.criticalStock = criticalStock;
         this.isActive = true;
     }
 
+    // Constructor - Detaylı (kategori ve maliyet ile)
+    public Product(int id, String name, String category, double price, int stock,
+                   String unit, int criticalStock, double costPrice) {
+        this(id, name, price, stock, unit, criticalStock);
+        this.category = category;
+        this.costPrice = Money.of(costPrice);
+    }
+
     // Getter ve Setter metodları
     public int getId() {
         return id;
@@ -51,11 +66,20 @@ public class Product {
         this.name = name;
     }
 
+    // Fiyat TL olarak (kuruş karşılığı)
     public double getPrice() {
-        return price;
+        return Money.toDouble(price);
     }
 
     public void setPrice(double price) {
+        setPriceKurus(Money.of(price));
+    }
+
+    public long getPriceKurus() {
+        return price;
+    }
+
+    public void setPriceKurus(long price) {
         if (price >= 0) {
             this.price = price;
         }
@@ -71,6 +95,11 @@ public class Product {
         }
     }
 
+    // Stoğu ayarla ve önceki değeri döndür; eşzamanlı CAS düşümleriyle atomik (negatif değer yok sayılır)
+    public int exchangeStock(int stock) {
+        return stock >= 0 ? STOCK.getAndSet(this, stock) : this.stock;
+    }
+
     public String getUnit() {
         return unit;
     }
@@ -95,6 +124,24 @@ public class Product {
         this.category = category;
     }
 
+    public double getCostPrice() {
+        return Money.toDouble(costPrice);
+    }
+
+    public void setCostPrice(double costPrice) {
+        setCostPriceKurus(Money.of(costPrice));
+    }
+
+    public long getCostPriceKurus() {
+        return costPrice;
+    }
+
+    public void setCostPriceKurus(long costPrice) {
+        if (costPrice >= 0) {
+            this.costPrice = costPrice;
+        }
+    }
+
     public boolean isActive() {
         return isActive;
     }
@@ -103,19 +150,52 @@ public class Product {
         isActive = active;
     }
 
+    // Bağımsız kopya (okuma anlık görüntüleri için)
+    public Product copy() {
+        Product copy = new Product(id, name, 0.0, stock, unit, criticalStock);
+        copy.price = price;
+        copy.category = category;
+        copy.costPrice = costPrice;
+        copy.isActive = isActive;
+        return copy;
+    }
+
     // İş mantığı metodları
     public void addStock(int quantity) {
         if (quantity > 0) {
-            this.stock += quantity;
+            STOCK.addAndGet(this, quantity);
         }
     }
 
     public boolean subtractStock(int quantity) {
-        if (quantity > 0 && this.stock >= quantity) {
-            this.stock -= quantity;
-            return true;
+        return tryReserveStock(quantity);
+    }
+
+    // Kontrol ve düşüm tek adımda: eşzamanlı satışlar stoğu eksiye düşüremez
+    public boolean tryReserveStock(int quantity) {
+        if (quantity <= 0) {
+            return false;
         }
-        return false;
+        while (true) {
+            int current = this.stock;
+            if (current < quantity) {
+                return false;
+            }
+            if (STOCK.compareAndSet(this, current, current - quantity)) {
+                return true;
+            }
+        }
+    }
+
+    // Günlük oynatma için işaretli değişim: kayıtlar farklı sırayla oynatılabildiği için
+    // ara değer geçici olarak negatif olabilir, son değer canlı sistemdekiyle aynıdır
+    public void adjustStock(int delta) {
+        STOCK.addAndGet(this, delta);
+    }
+
+    // Rezervasyon geri alma (ör. satış tamamlanamazsa)
+    public void releaseStock(int quantity) {
+        addStock(quantity);
     }
 
     public boolean isCriticalStock() {
@@ -127,24 +207,27 @@ public class Product {
     }
 
     public double calculateTotalValue() {
-        return this.price * this.stock;
+        return Money.toDouble(getStockValueKurus());
+    }
+
+    // Stok değeri (fiyat x stok), kuruş
+    public long getStockValueKurus() {
+        return Money.times(this.price, this.stock);
     }
 
     public void updatePrice(double newPrice) {
-        if (newPrice >= 0) {
-            this.price = newPrice;
-        }
+        setPrice(newPrice);
     }
 
     public void applyDiscount(double percentage) {
         if (percentage > 0 && percentage <= 100) {
-            this.price = this.price * (1 - percentage / 100);
+            this.price = Money.discount(this.price, percentage);
         }
     }
 
     public void increasePrice(double percentage) {
         if (percentage > 0) {
-            this.price = this.price * (1 + percentage / 100);
+            this.price = Money.scale(this.price, 1 + percentage / 100);
         }
     }
 
@@ -153,7 +236,7 @@ public class Product {
         return "Product{" +
                 "id=" + id +
                 ", name='" + name + '\'' +
-                ", price=" + price +
+                ", price=" + Money.format(price) +
                 ", stock=" + stock +
                 ", unit='" + unit + '\'' +
                 ", criticalStock=" + criticalStock +
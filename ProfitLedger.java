@@ -0,0 +1,221 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kâr-zarar hesaplarını akış halinde tutan Java sınıfı
+ * Maliyet satış anında işleme yazılır; sonradan maliyet değişse de
+ * geçmiş raporlar değişmez. Genel, ürün, kategori ve ay bazlı
+ * okumalar sabit zamanlıdır. Tutarlar kuruş olarak toplanır: sonuçlar tamdır
+ * ve kayıt, nesne veya kutulama üretmez (hesap ilk kullanımda bir kez oluşur).
+ */
+public class ProfitLedger {
+    private final Account overall;
+    private final IntObjectMap<Account> byProduct;
+    private final Map<String, Account> byCategory;
+    private final IntObjectMap<Account> byMonth; // yıl*12 + (ay-1) -> hesap
+
+    // Constructor
+    public ProfitLedger() {
+        this.overall = new Account();
+        this.byProduct = new IntObjectMap<>();
+        this.byCategory = new ConcurrentHashMap<>();
+        this.byMonth = new IntObjectMap<>();
+    }
+
+    // Satışı hesaplara ekle
+    public void record(Transaction t) {
+        apply(t, 1);
+    }
+
+    // İptal edilen satışı hesaplardan düş
+    public void revert(Transaction t) {
+        apply(t, -1);
+    }
+
+    public Totals getOverall() {
+        return overall.snapshot();
+    }
+
+    public Totals getProduct(int productId) {
+        Account a = byProduct.get(productId);
+        return a == null ? Totals.EMPTY : a.snapshot();
+    }
+
+    public Totals getCategory(String category) {
+        Account a = byCategory.get(categoryKey(category));
+        return a == null ? Totals.EMPTY : a.snapshot();
+    }
+
+    public Totals getMonth(YearMonth month) {
+        Account a = byMonth.get(monthKey(month.getYear(), month.getMonthValue()));
+        return a == null ? Totals.EMPTY : a.snapshot();
+    }
+
+    // Tüm kategoriler (ada göre sıralı)
+    public Map<String, Totals> getCategories() {
+        Map<String, Totals> result = new TreeMap<>();
+        for (Map.Entry<String, Account> e : byCategory.entrySet()) {
+            result.put(e.getKey(), e.getValue().snapshot());
+        }
+        return result;
+    }
+
+    // Hesapları anlık görüntüye yaz (değişiklikler durdurulmuşken)
+    public void write(DataOutput out) throws IOException {
+        overall.write(out);
+        writeAccounts(out, byProduct);
+        out.writeInt(byCategory.size());
+        for (Map.Entry<String, Account> e : byCategory.entrySet()) {
+            Journal.writeString(out, e.getKey());
+            e.getValue().write(out);
+        }
+        writeAccounts(out, byMonth);
+    }
+
+    // Anlık görüntüden yükle (boş hesaplara)
+    public void read(DataInput in) throws IOException {
+        overall.read(in);
+        readAccounts(in, byProduct);
+        int n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            byCategory.computeIfAbsent(Journal.readString(in), k -> new Account()).read(in);
+        }
+        readAccounts(in, byMonth);
+    }
+
+    // Yardımcı metodlar
+    private static void writeAccounts(DataOutput out, IntObjectMap<Account> accounts) throws IOException {
+        int[] keys = accounts.keys();
+        out.writeInt(keys.length);
+        for (int key : keys) {
+            out.writeInt(key);
+            accounts.get(key).write(out);
+        }
+    }
+
+    private static void readAccounts(DataInput in, IntObjectMap<Account> accounts) throws IOException {
+        int n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            account(accounts, in.readInt()).read(in);
+        }
+    }
+
+    private void apply(Transaction t, int sign) {
+        long revenue = sign * t.getTotalKurus();
+        long cost = sign * t.getTotalCostKurus();
+        LocalDateTime date = t.getDate();
+
+        overall.add(revenue, cost);
+        account(byProduct, t.getProductId()).add(revenue, cost);
+        byCategory.computeIfAbsent(categoryKey(t.getCategory()), k -> new Account()).add(revenue, cost);
+        account(byMonth, monthKey(date.getYear(), date.getMonthValue())).add(revenue, cost);
+    }
+
+    private static Account account(IntObjectMap<Account> accounts, int key) {
+        Account a = accounts.get(key);
+        if (a == null) {
+            synchronized (accounts) {
+                a = accounts.get(key);
+                if (a == null) {
+                    a = new Account();
+                    accounts.put(key, a);
+                }
+            }
+        }
+        return a;
+    }
+
+    private static int monthKey(int year, int month) {
+        return year * 12 + (month - 1);
+    }
+
+    private static String categoryKey(String category) {
+        return category == null ? "" : category;
+    }
+
+    // Değişebilir hesap (sadece bu sınıf içinde)
+    private static class Account {
+        private long revenue;
+        private long cost;
+
+        synchronized void add(long revenue, long cost) {
+            this.revenue += revenue;
+            this.cost += cost;
+        }
+
+        synchronized Totals snapshot() {
+            return new Totals(revenue, cost);
+        }
+
+        synchronized void write(DataOutput out) throws IOException {
+            out.writeLong(revenue);
+            out.writeLong(cost);
+        }
+
+        synchronized void read(DataInput in) throws IOException {
+            revenue = in.readLong();
+            cost = in.readLong();
+        }
+    }
+
+    /**
+     * Bir hesabın değişmez anlık görüntüsü
+     */
+    public static class Totals {
+        public static final Totals EMPTY = new Totals(0, 0);
+
+        private final long revenue; // Kuruş
+        private final long cost;
+
+        public Totals(long revenue, long cost) {
+            this.revenue = revenue;
+            this.cost = cost;
+        }
+
+        // Tutarlar TL olarak (kuruş karşılığı)
+        public double getRevenue() {
+            return Money.toDouble(revenue);
+        }
+
+        public double getCost() {
+            return Money.toDouble(cost);
+        }
+
+        public double getProfit() {
+            return Money.toDouble(getProfitKurus());
+        }
+
+        public long getRevenueKurus() {
+            return revenue;
+        }
+
+        public long getCostKurus() {
+            return cost;
+        }
+
+        public long getProfitKurus() {
+            return revenue - cost;
+        }
+
+        // Kâr marjı (%)
+        public double getMargin() {
+            return revenue > 0 ? ((double) getProfitKurus() / revenue * 100) : 0;
+        }
+
+        @Override
+        public String toString() {
+            return "Totals{" +
+                    "revenue=" + Money.format(revenue) +
+                    ", cost=" + Money.format(cost) +
+                    ", profit=" + Money.format(getProfitKurus()) +
+                    ", margin=" + getMargin() +
+                    '}';
+        }
+    }
+}
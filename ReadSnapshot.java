@@ -0,0 +1,286 @@
+import java.lang.invoke.VarHandle;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Tutarlı okuma anlık görüntüsü için Java sınıfı (DataManager.openReadSnapshot)
+ * Açıldığı andaki ürün, müşteri ve işlem durumunu gösterir; sonraki satışlar,
+ * güncellemeler ve silmeler görünmez. Açmak kopya oluşturmaz, yazmaları
+ * durdurmaz (bkz. VersionStore). Uzun raporlar bu görünüm üzerinden çalışır.
+ *
+ * Görünürlük: kesitten sonra oluşturulan kayıtların id'si kesitteki id sayacından
+ * büyük veya eşittir, bu yüzden sayaç sınır olarak kullanılır. Değişen veya silinen
+ * kayıtlar dönemin önceki görüntüsünden okunur. İşlemlerde durum izlenir;
+ * nakliye firması ve müşteri sipariş geçmişi anlık görüntüye dahil değildir.
+ *
+ * Ziyaretçilere ve get metodlarına bağımsız kopyalar verilir; toplam metodları
+ * kopya üretmez. Kapatılmayan anlık görüntü önceki görüntülerin bırakılmasını
+ * ve işlemlerin katmanlar arası taşınmasını engeller; try-with-resources ile kullanın.
+ */
+public class ReadSnapshot implements AutoCloseable {
+    private final VersionStore store;
+    private final VersionStore.Epoch epoch;
+    private final DataManager dataManager;
+    private final int productLimit;
+    private final int customerLimit;
+    private final int transactionLimit;
+    private boolean closed;
+
+    // Constructor (kesit kilidi altında çağrılır; sınırlar id sayaçlarının o anki değeri)
+    ReadSnapshot(VersionStore store, VersionStore.Epoch epoch, DataManager dataManager,
+                 int productLimit, int customerLimit, int transactionLimit) {
+        this.store = store;
+        this.epoch = epoch;
+        this.dataManager = dataManager;
+        this.productLimit = productLimit;
+        this.customerLimit = customerLimit;
+        this.transactionLimit = transactionLimit;
+    }
+
+    // Anlık görüntü sürümü (her açılışta artar)
+    public long getVersion() {
+        return epoch.getNumber();
+    }
+
+    // ==================== ÜRÜNLER ====================
+
+    public Product getProduct(int id) {
+        if (id >= productLimit) {
+            return null;
+        }
+        Product live = dataManager.getProduct(id);
+        if (live != null) {
+            return productAt(live);
+        }
+        // Kesitten sonra silinmişse önceki görüntüsü vardır
+        Product image = store.productImage(epoch, id);
+        return image == null ? null : image.copy();
+    }
+
+    public void forEachProduct(Consumer<Product> visitor) {
+        BitSet seen = new BitSet();
+        dataManager.forEachProduct(p -> {
+            if (p.getId() < productLimit) {
+                seen.set(p.getId());
+                visitor.accept(productAt(p));
+            }
+        });
+        for (VersionStore.Epoch e = epoch; e != null; e = e.next()) {
+            for (int id : e.removedProducts()) {
+                if (id < productLimit && !seen.get(id)) {
+                    seen.set(id);
+                    Product image = store.productImage(epoch, id);
+                    if (image != null) {
+                        visitor.accept(image.copy());
+                    }
+                }
+            }
+        }
+    }
+
+    // Toplam stok değeri (fiyat x stok), TL
+    public double getTotalStockValue() {
+        return Money.toDouble(getTotalStockValueKurus());
+    }
+
+    // Toplam stok değeri, kuruş; kopya üretmeden
+    public long getTotalStockValueKurus() {
+        long[] total = new long[1];
+        BitSet seen = new BitSet();
+        dataManager.forEachProduct(p -> {
+            if (p.getId() >= productLimit) {
+                return;
+            }
+            seen.set(p.getId());
+            long price = p.getPriceKurus();
+            int stock = p.getStock();
+            VarHandle.loadLoadFence();
+            Product image = store.productImage(epoch, p.getId());
+            total[0] += image == null ? Money.times(price, stock) : image.getStockValueKurus();
+        });
+        for (VersionStore.Epoch e = epoch; e != null; e = e.next()) {
+            for (int id : e.removedProducts()) {
+                if (id < productLimit && !seen.get(id)) {
+                    seen.set(id);
+                    Product image = store.productImage(epoch, id);
+                    if (image != null) {
+                        total[0] += image.getStockValueKurus();
+                    }
+                }
+            }
+        }
+        return total[0];
+    }
+
+    // ==================== MÜŞTERİLER ====================
+
+    public Customer getCustomer(int id) {
+        if (id >= customerLimit) {
+            return null;
+        }
+        Customer live = dataManager.getCustomer(id);
+        if (live != null) {
+            return customerAt(live);
+        }
+        Customer image = store.customerImage(epoch, id);
+        return image == null ? null : image.copy();
+    }
+
+    public void forEachCustomer(Consumer<Customer> visitor) {
+        BitSet seen = new BitSet();
+        dataManager.forEachCustomer(c -> {
+            if (c.getId() < customerLimit) {
+                seen.set(c.getId());
+                visitor.accept(customerAt(c));
+            }
+        });
+        for (VersionStore.Epoch e = epoch; e != null; e = e.next()) {
+            for (int id : e.removedCustomers()) {
+                if (id < customerLimit && !seen.get(id)) {
+                    seen.set(id);
+                    Customer image = store.customerImage(epoch, id);
+                    if (image != null) {
+                        visitor.accept(image.copy());
+                    }
+                }
+            }
+        }
+    }
+
+    // Toplam müşteri borcu, TL
+    public double getTotalDebt() {
+        return Money.toDouble(getTotalDebtKurus());
+    }
+
+    // Toplam müşteri borcu, kuruş; kopya üretmeden
+    public long getTotalDebtKurus() {
+        long[] total = new long[1];
+        BitSet seen = new BitSet();
+        dataManager.forEachCustomer(c -> {
+            if (c.getId() >= customerLimit) {
+                return;
+            }
+            seen.set(c.getId());
+            long debt = c.getDebtKurus();
+            VarHandle.loadLoadFence();
+            Customer image = store.customerImage(epoch, c.getId());
+            total[0] += image == null ? debt : image.getDebtKurus();
+        });
+        for (VersionStore.Epoch e = epoch; e != null; e = e.next()) {
+            for (int id : e.removedCustomers()) {
+                if (id < customerLimit && !seen.get(id)) {
+                    seen.set(id);
+                    Customer image = store.customerImage(epoch, id);
+                    if (image != null) {
+                        total[0] += image.getDebtKurus();
+                    }
+                }
+            }
+        }
+        return total[0];
+    }
+
+    // ==================== İŞLEMLER ====================
+
+    public Transaction getTransaction(int id) {
+        if (id >= transactionLimit) {
+            return null;
+        }
+        Transaction t = dataManager.getTransaction(id);
+        return t == null ? null : transactionAt(t);
+    }
+
+    /**
+     * Zaman aralığı [from, to) ve durum filtresine uyan işlemleri gezer
+     * (sınırlar ve statuses null olabilir). Durum filtresi anlık görüntüdeki
+     * duruma uygulanır.
+     */
+    public void forEachTransaction(LocalDateTime from, LocalDateTime to,
+                                   Set<Transaction.TransactionStatus> statuses, Consumer<Transaction> visitor) {
+        dataManager.forEachTransaction(from, to, null, t -> {
+            if (t.getId() >= transactionLimit) {
+                return;
+            }
+            Transaction visible = transactionAt(t);
+            if (statuses == null || statuses.contains(visible.getStatus())) {
+                visitor.accept(visible);
+            }
+        });
+    }
+
+    // İşlemin anlık görüntüdeki durumu, kopya üretmeden; kesitten sonra oluşturulmuşsa null
+    Transaction.TransactionStatus statusOf(Transaction t) {
+        if (t.getId() >= transactionLimit) {
+            return null;
+        }
+        Transaction.TransactionStatus status = t.getStatus();
+        VarHandle.loadLoadFence();
+        Transaction.TransactionStatus image = store.statusImage(epoch, t.getId());
+        return image != null ? image : status;
+    }
+
+    // Tarih aralığı satış özeti (iki uç dahil, iptaller hariç); SalesRollup ile aynı tanım
+    public SalesRollup.Totals getSalesBetween(LocalDate from, LocalDate to) {
+        long[] sums = new long[3]; // ciro (kuruş), miktar, adet
+        forEachTransaction(from.atStartOfDay(), to.plusDays(1).atStartOfDay(), null, t -> {
+            if (t.isSale() && t.getStatus() != Transaction.TransactionStatus.CANCELLED) {
+                sums[0] += t.getTotalKurus();
+                sums[1] += t.getQuantity();
+                sums[2]++;
+            }
+        });
+        return new SalesRollup.Totals(sums[0], sums[1], sums[2]);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            store.release(epoch);
+        }
+    }
+
+    // Yardımcı metodlar
+
+    // Canlı alanlar okunduktan sonra önceki görüntü tekrar kontrol edilir: yazıcı
+    // görüntüyü değiştirmeden önce kaydettiği için okuma yarım kalmış yazmayı göremez
+    private Product productAt(Product live) {
+        Product image = store.productImage(epoch, live.getId());
+        if (image == null) {
+            Product copy = live.copy();
+            VarHandle.loadLoadFence();
+            image = store.productImage(epoch, live.getId());
+            if (image == null) {
+                return copy;
+            }
+        }
+        return image.copy();
+    }
+
+    private Customer customerAt(Customer live) {
+        Customer image = store.customerImage(epoch, live.getId());
+        if (image == null) {
+            Customer copy = live.copy();
+            VarHandle.loadLoadFence();
+            image = store.customerImage(epoch, live.getId());
+            if (image == null) {
+                return copy;
+            }
+        }
+        return image.copy();
+    }
+
+    // Sıcak katmandaki canlı nesneler kopyalanır; diğer katmanlar zaten kopya üretir
+    private Transaction transactionAt(Transaction t) {
+        Transaction visible = dataManager.isLiveTransaction(t) ? t.copy() : t;
+        VarHandle.loadLoadFence();
+        Transaction.TransactionStatus image = store.statusImage(epoch, t.getId());
+        if (image != null) {
+            visible.setStatus(image);
+        }
+        return visible;
+    }
+}
@@ -0,0 +1,112 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Ürün, müşteri ve işlemlerin ikili kodlaması için Java sınıfı
+ * Değişiklik günlüğü (Journal) ve anlık görüntü (SnapshotStore) aynı biçimi kullanır.
+ * Tutarlar TL double olarak yazılır; okunurken kayıpsız olarak aynı kuruşa döner (bkz. Money).
+ */
+public final class RecordCodec {
+
+    private RecordCodec() {
+    }
+
+    public static void writeProduct(DataOutput out, Product p) throws IOException {
+        out.writeInt(p.getId());
+        Journal.writeString(out, p.getName());
+        Journal.writeString(out, p.getCategory());
+        out.writeDouble(p.getPrice());
+        out.writeInt(p.getStock());
+        Journal.writeString(out, p.getUnit());
+        out.writeInt(p.getCriticalStock());
+        out.writeDouble(p.getCostPrice());
+        out.writeBoolean(p.isActive());
+    }
+
+    public static Product readProduct(DataInput in) throws IOException {
+        int id = in.readInt();
+        String name = Journal.readString(in);
+        String category = Journal.readString(in);
+        double price = in.readDouble();
+        int stock = in.readInt();
+        String unit = Journal.readString(in);
+        int critical = in.readInt();
+        double cost = in.readDouble();
+        Product p = new Product(id, name, category, price, stock, unit, critical, cost);
+        p.setActive(in.readBoolean());
+        return p;
+    }
+
+    public static void writeCustomer(DataOutput out, Customer c) throws IOException {
+        out.writeInt(c.getId());
+        Journal.writeString(out, c.getName());
+        Journal.writeString(out, c.getPhone());
+        Journal.writeString(out, c.getEmail());
+        Journal.writeString(out, c.getAddress());
+        out.writeDouble(c.getDebt());
+        out.writeByte(c.getType().ordinal());
+        out.writeDouble(c.getDiscountRate());
+        out.writeBoolean(c.isActive());
+    }
+
+    public static Customer readCustomer(DataInput in) throws IOException {
+        int id = in.readInt();
+        String name = Journal.readString(in);
+        String phone = Journal.readString(in);
+        String email = Journal.readString(in);
+        String address = Journal.readString(in);
+        double debt = in.readDouble();
+        Customer.CustomerType type = Customer.CustomerType.values()[in.readByte()];
+        double discount = in.readDouble();
+        Customer c = new Customer(id, name, phone, email, address, debt, type, discount);
+        c.setActive(in.readBoolean());
+        return c;
+    }
+
+    public static void writeTransaction(DataOutput out, Transaction t) throws IOException {
+        out.writeInt(t.getId());
+        out.writeByte(t.getType().ordinal());
+        out.writeInt(t.getCustomerId());
+        Journal.writeString(out, t.getCustomerName());
+        out.writeInt(t.getProductId());
+        Journal.writeString(out, t.getProductName());
+        out.writeInt(t.getQuantity());
+        out.writeDouble(t.getUnitPrice());
+        out.writeDouble(t.getTotal());
+        out.writeDouble(t.getUnitCost());
+        Journal.writeString(out, t.getCategory());
+        out.writeLong(t.getDate().toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(t.getDate().getNano());
+        out.writeByte(t.getStatus().ordinal());
+        Journal.writeString(out, t.getNote());
+        Journal.writeString(out, t.getShippingCompany());
+        out.writeLong(t.getPriceVersion());
+    }
+
+    public static Transaction readTransaction(DataInput in) throws IOException {
+        int id = in.readInt();
+        Transaction.TransactionType type = Transaction.TransactionType.values()[in.readByte()];
+        int customerId = in.readInt();
+        String customerName = Journal.readString(in);
+        int productId = in.readInt();
+        String productName = Journal.readString(in);
+        int quantity = in.readInt();
+        double unitPrice = in.readDouble();
+        double total = in.readDouble();
+        Transaction t = new Transaction(id, type, customerId, customerName, productId, productName,
+                quantity, unitPrice, total);
+        t.setUnitCost(in.readDouble());
+        t.setCategory(Journal.readString(in));
+        long epochSecond = in.readLong();
+        int nano = in.readInt();
+        t.setDate(LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC));
+        t.setStatus(Transaction.TransactionStatus.values()[in.readByte()]);
+        t.setNote(Journal.readString(in));
+        t.setShippingCompany(Journal.readString(in));
+        t.setPriceVersion(in.readLong());
+        return t;
+    }
+}
@@ -0,0 +1,418 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * İşlem ve rapor satırlarını akış halinde dışa aktaran Java sınıfı
+ * Satırlar tek tek üretilip yeniden kullanılan bir doğrudan (direct) tampona
+ * kodlanır ve NIO kanalına yazılır; tam liste kopyası oluşturulmaz.
+ * Bellek kullanımı satır sayısından bağımsızdır.
+ * Kayıtlar bir okuma anlık görüntüsünden okunur: dışa aktarma sürerken yapılan
+ * satışlar ve değişiklikler dosyaya yarım yansımaz, yazmalar da beklemez.
+ *
+ * Biçimler: CSV (başlık satırlı, RFC 4180 tırnaklama) ve JSON Lines (satır başına bir nesne).
+ * Satış faturaları InvoiceRenderer ile aynı anlık görüntüden toplu yazılır.
+ */
+public class ReportExporter {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String[] TRANSACTION_COLUMNS = {
+            "id", "date", "type", "status", "customerId", "customerName", "productId", "productName",
+            "category", "quantity", "unitPrice", "total", "unitCost", "priceVersion", "shippingCompany", "note"
+    };
+    private static final String[] DAILY_SALES_COLUMNS = {"date", "revenue", "quantity", "count"};
+    private static final String[] PRODUCT_PROFIT_COLUMNS = {
+            "productId", "productName", "category", "revenue", "cost", "profit", "margin"
+    };
+
+    // Çıktı biçimi
+    public enum Format {
+        CSV,
+        JSON_LINES
+    }
+
+    /**
+     * İşlem filtresi: tarih aralığı (gün bazında, iki uç dahil) ve durumlar.
+     * null alanlar filtre uygulanmaz anlamına gelir.
+     */
+    public static class Filter {
+        private final LocalDate from;
+        private final LocalDate to;
+        private final Set<Transaction.TransactionStatus> statuses;
+
+        // Constructor - Filtresiz
+        public Filter() {
+            this(null, null, null);
+        }
+
+        // Constructor - Tam
+        public Filter(LocalDate from, LocalDate to, Set<Transaction.TransactionStatus> statuses) {
+            this.from = from;
+            this.to = to;
+            if (statuses == null) {
+                this.statuses = null;
+            } else {
+                this.statuses = EnumSet.noneOf(Transaction.TransactionStatus.class);
+                this.statuses.addAll(statuses);
+            }
+        }
+
+        public LocalDate getFrom() {
+            return from;
+        }
+
+        public LocalDate getTo() {
+            return to;
+        }
+
+        public Set<Transaction.TransactionStatus> getStatuses() {
+            return statuses;
+        }
+    }
+
+    private final DataManager dataManager;
+
+    // Constructor
+    public ReportExporter(DataManager dataManager) {
+        this.dataManager = dataManager;
+    }
+
+    // ==================== İŞLEMLER ====================
+
+    // Filtreye uyan işlemleri dosyaya yaz; yazılan satır sayısını döner
+    public long exportTransactions(Path file, Format format, Filter filter) throws IOException {
+        try (FileChannel channel = openFile(file)) {
+            return exportTransactions(channel, format, filter);
+        }
+    }
+
+    public long exportTransactions(WritableByteChannel channel, Format format, Filter filter) throws IOException {
+        LocalDateTime from = filter.getFrom() == null ? null : filter.getFrom().atStartOfDay();
+        LocalDateTime to = filter.getTo() == null ? null : filter.getTo().plusDays(1).atStartOfDay();
+        RowWriter out = new RowWriter(channel, format, TRANSACTION_COLUMNS);
+        try (ReadSnapshot snapshot = dataManager.openReadSnapshot()) {
+            snapshot.forEachTransaction(from, to, filter.getStatuses(), t -> {
+                out.integer(t.getId());
+                out.dateTime(t.getDate());
+                out.text(t.getType().name());
+                out.text(t.getStatus().name());
+                out.integer(t.getCustomerId());
+                out.text(t.getCustomerName());
+                out.integer(t.getProductId());
+                out.text(t.getProductName());
+                out.text(t.getCategory());
+                out.integer(t.getQuantity());
+                out.amount(t.getUnitPriceKurus());
+                out.amount(t.getTotalKurus());
+                out.amount(t.getUnitCostKurus());
+                out.integer(t.getPriceVersion());
+                out.text(t.getShippingCompany());
+                out.text(t.getNote());
+                out.endRow();
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+        return out.getRows();
+    }
+
+    // ==================== RAPORLAR ====================
+
+    // Günlük satış özeti (satış olmayan günler atlanır); iki uç dahil
+    public long exportDailySales(Path file, Format format, LocalDate from, LocalDate to) throws IOException {
+        try (FileChannel channel = openFile(file)) {
+            return exportDailySales(channel, format, from, to);
+        }
+    }
+
+    public long exportDailySales(WritableByteChannel channel, Format format, LocalDate from, LocalDate to)
+            throws IOException {
+        RowWriter out = new RowWriter(channel, format, DAILY_SALES_COLUMNS);
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            SalesRollup.Totals totals = dataManager.getDailySalesSummary(day);
+            if (totals.getCount() == 0) {
+                continue;
+            }
+            out.text(day.toString());
+            out.amount(totals.getRevenueKurus());
+            out.integer(totals.getQuantity());
+            out.integer(totals.getCount());
+            out.endRow();
+        }
+        out.flush();
+        return out.getRows();
+    }
+
+    // Ürün bazlı kâr-zarar (satışı olmayan ürünler atlanır)
+    public long exportProductProfits(Path file, Format format) throws IOException {
+        try (FileChannel channel = openFile(file)) {
+            return exportProductProfits(channel, format);
+        }
+    }
+
+    public long exportProductProfits(WritableByteChannel channel, Format format) throws IOException {
+        RowWriter out = new RowWriter(channel, format, PRODUCT_PROFIT_COLUMNS);
+        try (ReadSnapshot snapshot = dataManager.openReadSnapshot()) {
+            snapshot.forEachProduct(p -> {
+                ProfitLedger.Totals totals = dataManager.getProductProfit(p.getId());
+                if (totals.getRevenueKurus() == 0 && totals.getCostKurus() == 0) {
+                    return;
+                }
+                out.integer(p.getId());
+                out.text(p.getName());
+                out.text(p.getCategory());
+                out.amount(totals.getRevenueKurus());
+                out.amount(totals.getCostKurus());
+                out.amount(totals.getProfitKurus());
+                out.percent(totals.getMargin());
+                out.endRow();
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+        return out.getRows();
+    }
+
+    // ==================== FATURALAR ====================
+
+    // Filtreye uyan satışların faturaları (sayfa sonu ile ayrılmış); yazılan fatura sayısını döner
+    public long exportInvoices(Path file, Filter filter) throws IOException {
+        try (FileChannel channel = openFile(file)) {
+            return exportInvoices(channel, filter);
+        }
+    }
+
+    public long exportInvoices(WritableByteChannel channel, Filter filter) throws IOException {
+        LocalDateTime from = filter.getFrom() == null ? null : filter.getFrom().atStartOfDay();
+        LocalDateTime to = filter.getTo() == null ? null : filter.getTo().plusDays(1).atStartOfDay();
+        InvoiceRenderer renderer = new InvoiceRenderer();
+        long[] invoices = new long[1];
+        try (ReadSnapshot snapshot = dataManager.openReadSnapshot()) {
+            snapshot.forEachTransaction(from, to, filter.getStatuses(), t -> {
+                if (!t.isSale()) {
+                    return;
+                }
+                renderer.append(t);
+                invoices[0]++;
+                try {
+                    renderer.drainIfFull(channel);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        renderer.drainTo(channel);
+        return invoices[0];
+    }
+
+    private static FileChannel openFile(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Satır yazıcı: alanlar sütun sırasıyla eklenir, endRow ile satır kodlanır.
+     * Satır metni ve bayt tamponu yeniden kullanılır; tampon dolunca kanala boşaltılır.
+     * Ziyaretçi içinden çağrıldığı için G/Ç hataları UncheckedIOException olarak atılır.
+     */
+    private static class RowWriter {
+        private final WritableByteChannel channel;
+        private final Format format;
+        private final String[] columns;
+        private final StringBuilder line = new StringBuilder(256);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private int column;
+        private long rows;
+
+        RowWriter(WritableByteChannel channel, Format format, String[] columns) {
+            this.channel = channel;
+            this.format = format;
+            this.columns = columns;
+            if (format == Format.CSV) {
+                for (String c : columns) {
+                    text(c);
+                }
+                endLine();
+            }
+        }
+
+        long getRows() {
+            return rows;
+        }
+
+        void text(String value) {
+            begin();
+            if (format == Format.CSV) {
+                if (value != null) {
+                    appendCsv(value);
+                }
+            } else if (value == null) {
+                line.append("null");
+            } else {
+                appendJsonString(value);
+            }
+        }
+
+        void integer(long value) {
+            begin();
+            line.append(value);
+        }
+
+        // Para (kuruş): iki ondalık, bilimsel gösterim olmadan; yuvarlama yok
+        void amount(long kurus) {
+            begin();
+            Money.appendTo(line, kurus);
+        }
+
+        // Yüzde: iki ondalığa yuvarlanmış
+        void percent(double value) {
+            begin();
+            Money.appendTo(line, Math.round(value * 100));
+        }
+
+        // ISO-8601 (yyyy-MM-ddTHH:mm:ss), ara String üretmeden
+        void dateTime(LocalDateTime value) {
+            begin();
+            if (format == Format.JSON_LINES) {
+                line.append('"');
+            }
+            line.append(value.getYear()).append('-');
+            pad(value.getMonthValue()).append('-');
+            pad(value.getDayOfMonth()).append('T');
+            pad(value.getHour()).append(':');
+            pad(value.getMinute()).append(':');
+            pad(value.getSecond());
+            if (format == Format.JSON_LINES) {
+                line.append('"');
+            }
+        }
+
+        void endRow() {
+            if (format == Format.JSON_LINES) {
+                line.append('}');
+            }
+            endLine();
+            rows++;
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private void begin() {
+            if (format == Format.CSV) {
+                if (column > 0) {
+                    line.append(',');
+                }
+            } else {
+                line.append(column == 0 ? '{' : ',');
+                appendJsonString(columns[column]);
+                line.append(':');
+            }
+            column++;
+        }
+
+        private void endLine() {
+            line.append('\n');
+            CharBuffer chars = CharBuffer.wrap(line);
+            try {
+                while (true) {
+                    CoderResult result = encoder.encode(chars, buffer, true);
+                    if (result.isOverflow()) {
+                        flush();
+                    } else {
+                        if (result.isError()) {
+                            result.throwException();
+                        }
+                        break;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            encoder.reset();
+            line.setLength(0);
+            column = 0;
+        }
+
+        private StringBuilder pad(int value) {
+            if (value < 10) {
+                line.append('0');
+            }
+            return line.append(value);
+        }
+
+        private void appendCsv(String value) {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                line.append(value);
+                return;
+            }
+            line.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    line.append('"');
+                }
+                line.append(c);
+            }
+            line.append('"');
+        }
+
+        private void appendJsonString(String value) {
+            line.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"':
+                        line.append("\\\"");
+                        break;
+                    case '\\':
+                        line.append("\\\\");
+                        break;
+                    case '\n':
+                        line.append("\\n");
+                        break;
+                    case '\r':
+                        line.append("\\r");
+                        break;
+                    case '\t':
+                        line.append("\\t");
+                        break;
+                    default:
+                        if (c < 0x20) {
+                            line.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            line.append(c);
+                        }
+                }
+            }
+            line.append('"');
+        }
+    }
+}
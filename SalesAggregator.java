@@ -0,0 +1,185 @@
+import java.time.ZoneOffset;
+
+/**
+ * İşlem sütunları üzerinde satış toplama çekirdekleri için Java sınıfı
+ * Filtre (tip = SATIŞ, iptal değil, tarih aralığı, kategori) her satır için
+ * karşılaştırma ve dal içermeyen bir bit maskesine (-1/0) çevrilir, toplamlara
+ * maskeyle eklenir; döngü dört bağımsız akümülatörle açılmıştır. Seçicilik ne
+ * olursa olsun dal tahmini hatası olmaz, toplamlar arasında bağımlılık zinciri
+ * oluşmaz ve sütunlar ardışık okunur. Tutarlar kuruştur; toplamlar tamdır.
+ */
+public final class SalesAggregator {
+    // Akümülatör dizisindeki konumlar (sumSales ve add aynı diziye ekler)
+    public static final int REVENUE = 0;
+    public static final int COST = 1;
+    public static final int QUANTITY = 2;
+    public static final int COUNT = 3;
+    public static final int WIDTH = 4;
+
+    private static final byte SALE = (byte) Transaction.TransactionType.SALE.ordinal();
+    private static final byte CANCELLED = (byte) Transaction.TransactionStatus.CANCELLED.ordinal();
+    // Maske aritmetiği taşmasın diye zaman sınırları bu aralığa kırpılır (LocalDateTime'ın tamamını kapsar)
+    private static final long MIN_SECOND = -(1L << 62);
+    private static final long MAX_SECOND = 1L << 62;
+
+    private SalesAggregator() {
+    }
+
+    /**
+     * [from, to) satırlarından filtreye uyan satışları acc'ye ekler.
+     * Zaman aralığı [fromSecond, toSecond) epoch saniyedir; anyCategory false ise
+     * yalnızca kategori kodu categoryCode olan satırlar sayılır.
+     */
+    public static void sumSales(long[] total, long[] unitCost, int[] quantity, long[] epochSecond,
+                                byte[] type, byte[] status, int[] category, int from, int to,
+                                long fromSecond, long toSecond, boolean anyCategory, int categoryCode,
+                                long[] acc) {
+        long revenue0 = 0, revenue1 = 0, revenue2 = 0, revenue3 = 0;
+        long cost0 = 0, cost1 = 0, cost2 = 0, cost3 = 0;
+        long quantity0 = 0, quantity1 = 0, quantity2 = 0, quantity3 = 0;
+        long count0 = 0, count1 = 0, count2 = 0, count3 = 0;
+        long first = Math.max(fromSecond, MIN_SECOND);
+        long last = Math.min(toSecond, MAX_SECOND) - 1;
+        long categories = anyCategory ? -1 : 0;
+        int row = from;
+        for (; row + 3 < to; row += 4) {
+            long m0 = mask(epochSecond[row], type[row], status[row], category[row],
+                    first, last, categories, categoryCode);
+            long m1 = mask(epochSecond[row + 1], type[row + 1], status[row + 1], category[row + 1],
+                    first, last, categories, categoryCode);
+            long m2 = mask(epochSecond[row + 2], type[row + 2], status[row + 2], category[row + 2],
+                    first, last, categories, categoryCode);
+            long m3 = mask(epochSecond[row + 3], type[row + 3], status[row + 3], category[row + 3],
+                    first, last, categories, categoryCode);
+            revenue0 += total[row] & m0;
+            revenue1 += total[row + 1] & m1;
+            revenue2 += total[row + 2] & m2;
+            revenue3 += total[row + 3] & m3;
+            cost0 += (unitCost[row] * quantity[row]) & m0;
+            cost1 += (unitCost[row + 1] * quantity[row + 1]) & m1;
+            cost2 += (unitCost[row + 2] * quantity[row + 2]) & m2;
+            cost3 += (unitCost[row + 3] * quantity[row + 3]) & m3;
+            quantity0 += quantity[row] & m0;
+            quantity1 += quantity[row + 1] & m1;
+            quantity2 += quantity[row + 2] & m2;
+            quantity3 += quantity[row + 3] & m3;
+            count0 -= m0;
+            count1 -= m1;
+            count2 -= m2;
+            count3 -= m3;
+        }
+        for (; row < to; row++) {
+            long m = mask(epochSecond[row], type[row], status[row], category[row],
+                    first, last, categories, categoryCode);
+            revenue0 += total[row] & m;
+            cost0 += (unitCost[row] * quantity[row]) & m;
+            quantity0 += quantity[row] & m;
+            count0 -= m;
+        }
+        acc[REVENUE] += revenue0 + revenue1 + revenue2 + revenue3;
+        acc[COST] += cost0 + cost1 + cost2 + cost3;
+        acc[QUANTITY] += quantity0 + quantity1 + quantity2 + quantity3;
+        acc[COUNT] += count0 + count1 + count2 + count3;
+    }
+
+    // Nesne katmanları için aynı filtre ve toplama (tek satır); status işlemin sayılacak
+    // durumudur (ör. okuma anlık görüntüsündeki), null ise işlem sayılmaz
+    public static void add(Transaction t, Transaction.TransactionStatus status, long fromSecond, long toSecond,
+                           String category, long[] acc) {
+        if (status == null) {
+            return;
+        }
+        long second = t.getDate().toEpochSecond(ZoneOffset.UTC);
+        if (t.isSale() && status != Transaction.TransactionStatus.CANCELLED
+                && second >= fromSecond && second < toSecond
+                && (category == null || category.equals(t.getCategory()))) {
+            acc[REVENUE] += t.getTotalKurus();
+            acc[COST] += t.getTotalCostKurus();
+            acc[QUANTITY] += t.getQuantity();
+            acc[COUNT]++;
+        }
+    }
+
+    // Satır filtreye uyuyorsa -1 (tüm bitler), uymuyorsa 0. Zaman [first, last] aralığında
+    // değilse farklardan biri negatiftir; categories -1 ise kategori karşılaştırılmaz
+    private static long mask(long second, byte type, byte status, int category,
+                             long first, long last, long categories, int categoryCode) {
+        long outside = ((second - first) | (last - second)) >> 63;
+        return ~outside & ~nonZero(type ^ SALE) & nonZero(status ^ CANCELLED)
+                & ~nonZero((category ^ categoryCode) & ~categories);
+    }
+
+    // x sıfır değilse -1, sıfırsa 0
+    private static long nonZero(long x) {
+        return (x | -x) >> 63;
+    }
+
+    /**
+     * Toplama sonucunun değişmez görüntüsü (ilkel alanlar)
+     */
+    public static class Totals {
+        private final long revenue; // Kuruş
+        private final long cost;
+        private final long quantity;
+        private final long count;
+
+        public Totals(long revenue, long cost, long quantity, long count) {
+            this.revenue = revenue;
+            this.cost = cost;
+            this.quantity = quantity;
+            this.count = count;
+        }
+
+        // Akümülatör dizisinden (REVENUE, COST, QUANTITY, COUNT)
+        public static Totals of(long[] acc) {
+            return new Totals(acc[REVENUE], acc[COST], acc[QUANTITY], acc[COUNT]);
+        }
+
+        public double getRevenue() {
+            return Money.toDouble(revenue);
+        }
+
+        public double getCost() {
+            return Money.toDouble(cost);
+        }
+
+        public double getProfit() {
+            return Money.toDouble(getProfitKurus());
+        }
+
+        public long getRevenueKurus() {
+            return revenue;
+        }
+
+        public long getCostKurus() {
+            return cost;
+        }
+
+        public long getProfitKurus() {
+            return revenue - cost;
+        }
+
+        public long getQuantity() {
+            return quantity;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        // Kâr marjı (%)
+        public double getMargin() {
+            return revenue > 0 ? ((double) getProfitKurus() / revenue * 100) : 0;
+        }
+
+        @Override
+        public String toString() {
+            return "Totals{" +
+                    "revenue=" + Money.format(revenue) +
+                    ", cost=" + Money.format(cost) +
+                    ", quantity=" + quantity +
+                    ", count=" + count +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,159 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Ürün bazlı satış sayaçlarını ve en çok satanlar sıralamasını tutan Java sınıfı
+ * Sıralama ürün id'sine göre tutulur; ürün adı değişse de sayaçlar bölünmez.
+ * Güncelleme O(log ürün), ilk N sorgusu O(N + log ürün) maliyetlidir.
+ */
+public class SalesRanking {
+    // Miktara göre azalan, eşitlikte ürün id'sine göre artan
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingLong(Entry::getQuantity).reversed()
+            .thenComparingInt(Entry::getProductId);
+
+    private final IntObjectMap<Counter> counters;
+    private final ConcurrentSkipListSet<Entry> ranking;
+
+    // Constructor
+    public SalesRanking() {
+        this.counters = new IntObjectMap<>();
+        this.ranking = new ConcurrentSkipListSet<>(ORDER);
+    }
+
+    // Satışı sayaçlara ekle
+    public void record(Transaction t) {
+        counter(t.getProductId()).add(t.getQuantity(), t.getTotalKurus());
+    }
+
+    // İptal edilen satışı sayaçlardan düş
+    public void revert(Transaction t) {
+        counter(t.getProductId()).add(-t.getQuantity(), -t.getTotalKurus());
+    }
+
+    // En çok satan ilk N ürün
+    public List<Entry> top(int limit) {
+        List<Entry> result = new ArrayList<>(Math.max(0, Math.min(limit, 64)));
+        Iterator<Entry> it = ranking.iterator();
+        while (result.size() < limit && it.hasNext()) {
+            result.add(it.next());
+        }
+        return result;
+    }
+
+    // Tüm ürünler, çoktan aza
+    public List<Entry> all() {
+        return new ArrayList<>(ranking);
+    }
+
+    public Entry get(int productId) {
+        Counter c = counters.get(productId);
+        return c == null ? null : c.current;
+    }
+
+    // Sayaçları anlık görüntüye yaz (değişiklikler durdurulmuşken)
+    public void write(DataOutput out) throws IOException {
+        int[] productIds = counters.keys();
+        out.writeInt(productIds.length);
+        for (int productId : productIds) {
+            Entry e = counters.get(productId).current;
+            out.writeInt(productId);
+            out.writeLong(e == null ? 0 : e.quantity);
+            out.writeLong(e == null ? 0 : e.revenue);
+        }
+    }
+
+    // Anlık görüntüden yükle (boş sayaçlara)
+    public void read(DataInput in) throws IOException {
+        int n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            int productId = in.readInt();
+            counter(productId).add(in.readLong(), in.readLong());
+        }
+    }
+
+    // Yardımcı metodlar
+    private Counter counter(int productId) {
+        Counter c = counters.get(productId);
+        if (c == null) {
+            synchronized (counters) {
+                c = counters.get(productId);
+                if (c == null) {
+                    c = new Counter(productId);
+                    counters.put(productId, c);
+                }
+            }
+        }
+        return c;
+    }
+
+    // Ürün başına sayaç; sıralamadaki kaydını kendisi değiştirir
+    private class Counter {
+        private final int productId;
+        private Entry current;
+
+        Counter(int productId) {
+            this.productId = productId;
+        }
+
+        synchronized void add(long quantity, long revenue) {
+            Entry next;
+            if (current == null) {
+                next = new Entry(productId, quantity, revenue);
+            } else {
+                ranking.remove(current);
+                next = new Entry(productId, current.quantity + quantity, current.revenue + revenue);
+            }
+            current = next;
+            if (next.quantity > 0) {
+                ranking.add(next);
+            }
+        }
+    }
+
+    /**
+     * Sıralamadaki değişmez ürün kaydı
+     */
+    public static class Entry {
+        private final int productId;
+        private final long quantity;
+        private final long revenue; // Kuruş
+
+        public Entry(int productId, long quantity, long revenue) {
+            this.productId = productId;
+            this.quantity = quantity;
+            this.revenue = revenue;
+        }
+
+        public int getProductId() {
+            return productId;
+        }
+
+        public long getQuantity() {
+            return quantity;
+        }
+
+        public double getRevenue() {
+            return Money.toDouble(revenue);
+        }
+
+        public long getRevenueKurus() {
+            return revenue;
+        }
+
+        @Override
+        public String toString() {
+            return "Entry{" +
+                    "productId=" + productId +
+                    ", quantity=" + quantity +
+                    ", revenue=" + Money.format(revenue) +
+                    '}';
+        }
+    }
+}
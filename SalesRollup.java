@@ -0,0 +1,174 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Günlük ve aylık satış özetlerini artımlı tutan Java sınıfı
+ * Her satış kaydında ilgili gün/ay kovası güncellenir, iptalde geri alınır.
+ * Gün/ay sorgusu O(1), tarih aralığı toplamı O(kova sayısı) maliyetlidir.
+ * Ciro kuruş olarak toplanır; toplamlar tamdır ve kayıt sırasından bağımsızdır.
+ */
+public class SalesRollup {
+    private final ConcurrentSkipListMap<Long, Bucket> daily;   // epochDay -> kova
+    private final ConcurrentSkipListMap<Long, Bucket> monthly; // yıl*12 + (ay-1) -> kova
+
+    // Constructor
+    public SalesRollup() {
+        this.daily = new ConcurrentSkipListMap<>();
+        this.monthly = new ConcurrentSkipListMap<>();
+    }
+
+    // Satışı özetlere ekle
+    public void record(Transaction t) {
+        apply(t, 1);
+    }
+
+    // İptal edilen satışı özetlerden düş
+    public void revert(Transaction t) {
+        apply(t, -1);
+    }
+
+    public Totals getDay(LocalDate date) {
+        return snapshot(daily.get(date.toEpochDay()));
+    }
+
+    public Totals getMonth(YearMonth month) {
+        return snapshot(monthly.get(monthKey(month.getYear(), month.getMonthValue())));
+    }
+
+    // İki tarih arası (dahil) toplam
+    public Totals getRange(LocalDate from, LocalDate to) {
+        long revenue = 0;
+        long quantity = 0;
+        long count = 0;
+        for (Bucket b : daily.subMap(from.toEpochDay(), true, to.toEpochDay(), true).values()) {
+            synchronized (b) {
+                revenue += b.revenue;
+                quantity += b.quantity;
+                count += b.count;
+            }
+        }
+        return new Totals(revenue, quantity, count);
+    }
+
+    // Kovaları anlık görüntüye yaz (değişiklikler durdurulmuşken)
+    public void write(DataOutput out) throws IOException {
+        writeBuckets(out, daily);
+        writeBuckets(out, monthly);
+    }
+
+    // Anlık görüntüden yükle (boş özetlere)
+    public void read(DataInput in) throws IOException {
+        readBuckets(in, daily);
+        readBuckets(in, monthly);
+    }
+
+    // Yardımcı metodlar
+    private static void writeBuckets(DataOutput out, Map<Long, Bucket> buckets) throws IOException {
+        out.writeInt(buckets.size());
+        for (Map.Entry<Long, Bucket> e : buckets.entrySet()) {
+            Bucket b = e.getValue();
+            synchronized (b) {
+                out.writeLong(e.getKey());
+                out.writeLong(b.revenue);
+                out.writeLong(b.quantity);
+                out.writeLong(b.count);
+            }
+        }
+    }
+
+    private static void readBuckets(DataInput in, Map<Long, Bucket> buckets) throws IOException {
+        int n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            Bucket b = bucket(buckets, in.readLong());
+            synchronized (b) {
+                b.revenue = in.readLong();
+                b.quantity = in.readLong();
+                b.count = in.readLong();
+            }
+        }
+    }
+
+    private void apply(Transaction t, int sign) {
+        LocalDateTime date = t.getDate();
+        bucket(daily, date.toLocalDate().toEpochDay()).add(t, sign);
+        bucket(monthly, monthKey(date.getYear(), date.getMonthValue())).add(t, sign);
+    }
+
+    private static long monthKey(int year, int month) {
+        return year * 12L + (month - 1);
+    }
+
+    private static Bucket bucket(Map<Long, Bucket> map, long key) {
+        return map.computeIfAbsent(key, k -> new Bucket());
+    }
+
+    private static Totals snapshot(Bucket b) {
+        if (b == null) {
+            return Totals.EMPTY;
+        }
+        synchronized (b) {
+            return new Totals(b.revenue, b.quantity, b.count);
+        }
+    }
+
+    // Değişebilir kova (sadece bu sınıf içinde)
+    private static class Bucket {
+        private long revenue;
+        private long quantity;
+        private long count;
+
+        synchronized void add(Transaction t, int sign) {
+            revenue += sign * t.getTotalKurus();
+            quantity += (long) sign * t.getQuantity();
+            count += sign;
+        }
+    }
+
+    /**
+     * Bir kovanın değişmez anlık görüntüsü
+     */
+    public static class Totals {
+        public static final Totals EMPTY = new Totals(0, 0, 0);
+
+        private final long revenue; // Kuruş
+        private final long quantity;
+        private final long count;
+
+        public Totals(long revenue, long quantity, long count) {
+            this.revenue = revenue;
+            this.quantity = quantity;
+            this.count = count;
+        }
+
+        public double getRevenue() {
+            return Money.toDouble(revenue);
+        }
+
+        public long getRevenueKurus() {
+            return revenue;
+        }
+
+        public long getQuantity() {
+            return quantity;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public String toString() {
+            return "Totals{" +
+                    "revenue=" + Money.format(revenue) +
+                    ", quantity=" + quantity +
+                    ", count=" + count +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,503 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bellek içi metin arama dizini için Java sınıfı
+ * Her kayıt (int id) birkaç metin alanından oluşur. Alanlar Türkçe kurallarıyla
+ * katlanır (İ/I/ı -> i, ş -> s, ğ -> g, ü -> u, ö -> o, ç -> c, küçük harf) ve
+ * üçlü (trigram) gruplara bölünür; kelime başları ayrıca işaretlenir.
+ *
+ * Sorgu kelimelerine ayrılır, her kelime eşleşmelidir (VE):
+ * - 1-2 karakterlik kelimeler kelime başında aranır (yazarken arama)
+ * - 3 ve üzeri karakterlik kelimeler alan içinde herhangi bir yerde aranır
+ * Aday kümesi en seyrek üçlüden alınır, diğer üçlülerle kesiştirilir ve metinle doğrulanır.
+ * Sonuçlar puana göre sıralanır: tam eşleşme > alan başı > kelime başı > içinde,
+ * alan ağırlığıyla çarpılır.
+ *
+ * Tek kelimelik sorgular (yazarken arama) katmanlı çalışır: alan bazlı tam eşleşme ve
+ * alan başı listeleri, puan üst sınırına göre sırayla gezilir; ilk K sonuç kalan
+ * katmanların üst sınırından iyiyse tarama erken biter. "k" gibi her kaydı tutan
+ * sorgular tüm dizini puanlamaz.
+ */
+public class SearchIndex {
+    private static final char BOUNDARY = '\u0001'; // Kelime başı işareti
+
+    // Alan bazlı anahtar etiketleri (üst 16 bit; üçlüler alt 48 biti kullanır)
+    private static final int FIELD_START_TAG = 0x100;
+    private static final int EXACT_TAG = 0x200;
+
+    // Eşleşme puanları
+    private static final int EXACT = 8;
+    private static final int FIELD_PREFIX = 4;
+    private static final int WORD_PREFIX = 2;
+    private static final int CONTAINS = 1;
+
+    private final int[] weights;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final IntObjectMap<String[]> documents; // id -> katlanmış alanlar
+    private final Map<Long, Postings> postings;     // üçlü -> sıralı id listesi
+
+    /**
+     * @param weights alan ağırlıkları; alan sayısı bu dizinin uzunluğudur
+     */
+    public SearchIndex(int... weights) {
+        this.weights = weights.clone();
+        this.documents = new IntObjectMap<>();
+        this.postings = new HashMap<>();
+    }
+
+    // Kaydı ekle veya alanlarını güncelle (alanlar ağırlık sırasıyla verilir, null olabilir)
+    public void put(int id, String... fields) {
+        String[] folded = new String[weights.length];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = i < fields.length && fields[i] != null ? fold(fields[i]) : "";
+        }
+        lock.writeLock().lock();
+        try {
+            String[] old = documents.put(id, folded);
+            if (old != null) {
+                unindex(id, old);
+            }
+            for (int f = 0; f < folded.length; f++) {
+                forEachKey(f, folded[f], key -> postings.computeIfAbsent(key, k -> new Postings()).add(id));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            String[] old = documents.remove(id);
+            if (old != null) {
+                unindex(id, old);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * Sorguya uyan kayıtların id'leri, en yüksek puanlı önce.
+     * Eşit puanlılar arasındaki sıra sabittir ama id sırası garanti edilmez.
+     * Boş sorgu boş sonuç döner.
+     */
+    public int[] search(String query, int limit) {
+        String[] tokens = fold(query == null ? "" : query).trim().split("\\s+");
+        if (limit <= 0 || tokens[0].isEmpty()) {
+            return new int[0];
+        }
+        lock.readLock().lock();
+        try {
+            TopK top = new TopK(limit);
+            BitSet seen = null;
+            long generalBound = Long.MAX_VALUE;
+            if (tokens.length == 1) {
+                seen = new BitSet();
+                generalBound = searchTiers(tokens[0], top, seen);
+                if (generalBound < 0) {
+                    return top.toSortedIds();
+                }
+            }
+
+            // Tüm kelimelerin üçlü listeleri; biri yoksa sonuç yok
+            List<Postings> lists = new ArrayList<>();
+            Postings smallest = null;
+            for (String token : tokens) {
+                for (long gram : queryGrams(token)) {
+                    Postings p = postings.get(gram);
+                    if (p == null) {
+                        return top.toSortedIds();
+                    }
+                    lists.add(p);
+                    if (smallest == null || p.size < smallest.size) {
+                        smallest = p;
+                    }
+                }
+            }
+
+            // Listeler id sırasında olduğundan kesişim ileri giden imleçlerle yapılır
+            int[] cursors = new int[lists.size()];
+            int[] ids = smallest.ids;
+            candidates:
+            for (int i = 0; i < smallest.size; i++) {
+                int id = ids[i];
+                if (seen != null) {
+                    if (top.isFull() && top.minScore() >= generalBound) {
+                        break;
+                    }
+                    if (seen.get(id)) {
+                        continue;
+                    }
+                }
+                for (int k = 0; k < cursors.length; k++) {
+                    Postings p = lists.get(k);
+                    if (p == smallest) {
+                        continue;
+                    }
+                    int pos = p.seek(cursors[k], id);
+                    cursors[k] = pos;
+                    if (pos == p.size) {
+                        break candidates; // Bu liste bitti, kesişimde başka kayıt yok
+                    }
+                    if (p.ids[pos] != id) {
+                        continue candidates;
+                    }
+                }
+                String[] fields = documents.get(id);
+                long score = 0;
+                for (String token : tokens) {
+                    int best = score(fields, token);
+                    if (best == 0) {
+                        continue candidates; // Üçlüler tuttu ama metin eşleşmedi
+                    }
+                    score += best;
+                }
+                top.offer(score, id);
+            }
+            return top.toSortedIds();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tek kelime için alan bazlı tam eşleşme ve alan başı katmanlarını üst sınırı büyük
+     * olandan başlayarak gezer. Genel (kelime başı / içinde) tarama da bir katmandır;
+     * sırası geldiğinde durulur ve onun üst sınırı döner. Genel taramaya gerek kalmadıysa -1.
+     */
+    private long searchTiers(String token, TopK top, BitSet seen) {
+        int fieldCount = weights.length;
+        long[] bounds = new long[fieldCount * 2 + 1];
+        long[] keys = new long[bounds.length];
+        for (int f = 0; f < fieldCount; f++) {
+            bounds[2 * f] = (long) EXACT * weights[f];
+            keys[2 * f] = exactKey(f, token);
+            bounds[2 * f + 1] = (long) FIELD_PREFIX * weights[f];
+            keys[2 * f + 1] = fieldStartKey(f, token);
+        }
+        long generalBound = 0;
+        for (int weight : weights) {
+            generalBound = Math.max(generalBound, (long) WORD_PREFIX * weight);
+        }
+        int general = bounds.length - 1;
+        bounds[general] = generalBound;
+
+        // Üst sınırı büyük katman önce (katman sayısı küçük: seçmeli sıralama)
+        boolean[] done = new boolean[bounds.length];
+        for (int round = 0; round < bounds.length; round++) {
+            int tier = -1;
+            for (int t = 0; t < bounds.length; t++) {
+                if (!done[t] && (tier < 0 || bounds[t] > bounds[tier])) {
+                    tier = t;
+                }
+            }
+            done[tier] = true;
+            long bound = bounds[tier];
+            if (top.isFull() && top.minScore() >= bound) {
+                return -1; // Kalan katmanlar ilk K'ya giremez
+            }
+            if (tier == general) {
+                return bound;
+            }
+            Postings p = postings.get(keys[tier]);
+            if (p == null) {
+                continue;
+            }
+            for (int i = 0; i < p.size; i++) {
+                if (top.isFull() && top.minScore() >= bound) {
+                    break;
+                }
+                int id = p.ids[i];
+                if (seen.get(id)) {
+                    continue;
+                }
+                seen.set(id);
+                int score = score(documents.get(id), token);
+                if (score > 0) {
+                    top.offer(score, id);
+                }
+            }
+        }
+        return -1;
+    }
+
+    // Kelimenin kayıttaki en iyi alan puanı (0 = eşleşme yok)
+    private int score(String[] fields, String token) {
+        int best = 0;
+        for (int f = 0; f < fields.length; f++) {
+            best = Math.max(best, match(fields[f], token) * weights[f]);
+        }
+        return best;
+    }
+
+    private void unindex(int id, String[] fields) {
+        for (int f = 0; f < fields.length; f++) {
+            forEachKey(f, fields[f], key -> {
+                Postings p = postings.get(key);
+                if (p != null && p.remove(id) && p.size == 0) {
+                    postings.remove(key);
+                }
+            });
+        }
+    }
+
+    /**
+     * Türkçe büyük/küçük harf ve aksan katlaması.
+     * Locale'e bağlı toLowerCase kullanılmaz: "ISPARTA", "Isparta" ve "ısparta" aynı aranır.
+     */
+    public static String fold(String text) {
+        StringBuilder sb = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            char f = foldChar(c);
+            if (f != c && sb == null) {
+                sb = new StringBuilder(text.length());
+                sb.append(text, 0, i);
+            }
+            if (sb != null) {
+                sb.append(f);
+            }
+        }
+        return sb == null ? text : sb.toString();
+    }
+
+    // ==================== İÇ İŞLEYİŞ ====================
+
+    private static char foldChar(char c) {
+        switch (c) {
+            case 'I': case 'İ': case 'ı':
+                return 'i';
+            case 'Ş': case 'ş':
+                return 's';
+            case 'Ğ': case 'ğ':
+                return 'g';
+            case 'Ü': case 'ü':
+                return 'u';
+            case 'Ö': case 'ö':
+                return 'o';
+            case 'Ç': case 'ç':
+                return 'c';
+            case 'Â': case 'â':
+                return 'a';
+            case 'Î': case 'î':
+                return 'i';
+            case 'Û': case 'û':
+                return 'u';
+            default:
+                return Character.toLowerCase(c);
+        }
+    }
+
+    private static boolean isWordStart(String text, int i) {
+        return Character.isLetterOrDigit(text.charAt(i))
+                && (i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1)));
+    }
+
+    private static long gram(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    private static long tagged(int tag, long value) {
+        return ((long) tag << 48) | (value & 0xFFFFFFFFFFFFL);
+    }
+
+    // Alanın tamamı (çakışmalar metinle doğrulanır)
+    private static long exactKey(int field, String text) {
+        return tagged(EXACT_TAG + field, text.hashCode());
+    }
+
+    // Alanın ilk bir veya iki karakteri
+    private static long fieldStartKey(int field, String text) {
+        return tagged(FIELD_START_TAG + field, text.length() == 1
+                ? gram(BOUNDARY, BOUNDARY, text.charAt(0))
+                : gram(BOUNDARY, text.charAt(0), text.charAt(1)));
+    }
+
+    private interface KeyVisitor {
+        void visit(long key);
+    }
+
+    // Alanın tüm üçlüleri, kelime başı işaretli önek grupları ve alan bazlı anahtarları
+    private static void forEachKey(int field, String text, KeyVisitor visitor) {
+        if (text.isEmpty()) {
+            return;
+        }
+        visitor.visit(exactKey(field, text));
+        visitor.visit(fieldStartKey(field, text.substring(0, 1)));
+        if (text.length() > 1) {
+            visitor.visit(fieldStartKey(field, text));
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (isWordStart(text, i)) {
+                visitor.visit(gram(BOUNDARY, BOUNDARY, text.charAt(i)));
+                if (i + 1 < text.length()) {
+                    visitor.visit(gram(BOUNDARY, text.charAt(i), text.charAt(i + 1)));
+                }
+            }
+            if (i + 2 < text.length()) {
+                visitor.visit(gram(text.charAt(i), text.charAt(i + 1), text.charAt(i + 2)));
+            }
+        }
+    }
+
+    private static long[] queryGrams(String token) {
+        if (token.length() == 1) {
+            return new long[]{gram(BOUNDARY, BOUNDARY, token.charAt(0))};
+        }
+        if (token.length() == 2) {
+            return new long[]{gram(BOUNDARY, token.charAt(0), token.charAt(1))};
+        }
+        long[] grams = new long[token.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = gram(token.charAt(i), token.charAt(i + 1), token.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    // Alanda kelimenin eşleşme puanı (0 = eşleşme yok)
+    private static int match(String field, String token) {
+        if (field.equals(token)) {
+            return EXACT;
+        }
+        if (field.startsWith(token)) {
+            return FIELD_PREFIX;
+        }
+        int best = 0;
+        for (int i = field.indexOf(token); i >= 0; i = field.indexOf(token, i + 1)) {
+            if (isWordStart(field, i)) {
+                return WORD_PREFIX;
+            }
+            if (token.length() >= 3) {
+                best = CONTAINS;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * En iyi k sonuç için ilkel min-yığın (kökte en kötü sonuç).
+     * Anahtar: puan üst 32 bitte, eşitlikte küçük id daha iyi olacak şekilde alt 32 bitte.
+     */
+    private static final class TopK {
+        final long[] heap;
+        int size;
+
+        TopK(int limit) {
+            this.heap = new long[limit];
+        }
+
+        void offer(long score, int id) {
+            long key = (score << 32) | (Integer.MAX_VALUE - id);
+            if (size < heap.length) {
+                int i = size++;
+                while (i > 0 && heap[(i - 1) >>> 1] > key) {
+                    heap[i] = heap[(i - 1) >>> 1];
+                    i = (i - 1) >>> 1;
+                }
+                heap[i] = key;
+            } else if (key > heap[0]) {
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && heap[child + 1] < heap[child]) {
+                        child++;
+                    }
+                    if (heap[child] >= key) {
+                        break;
+                    }
+                    heap[i] = heap[child];
+                    i = child;
+                }
+                heap[i] = key;
+            }
+        }
+
+        boolean isFull() {
+            return size == heap.length;
+        }
+
+        // Kökteki (en kötü) sonucun puanı
+        long minScore() {
+            return heap[0] >> 32;
+        }
+
+        int[] toSortedIds() {
+            long[] keys = Arrays.copyOf(heap, size);
+            Arrays.sort(keys);
+            int[] ids = new int[size];
+            for (int i = 0; i < size; i++) {
+                ids[i] = Integer.MAX_VALUE - (int) keys[size - 1 - i];
+            }
+            return ids;
+        }
+    }
+
+    /**
+     * Sıralı id listesi. Id'ler çoğunlukla artan sırada eklendiği için
+     * ekleme genelde sona yapılır; silmede kaydırma gerekir.
+     */
+    private static final class Postings {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int pos = Arrays.binarySearch(ids, 0, size, id);
+                if (pos >= 0) {
+                    return;
+                }
+                pos = -pos - 1;
+                grow();
+                System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+                ids[pos] = id;
+                size++;
+                return;
+            }
+            grow();
+            ids[size++] = id;
+        }
+
+        boolean remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        // from konumundan itibaren id'den küçük olmayan ilk konum (üstel + ikili arama)
+        int seek(int from, int id) {
+            int step = 1;
+            int hi = from;
+            while (hi < size && ids[hi] < id) {
+                from = hi + 1;
+                hi += step;
+                step <<= 1;
+            }
+            int pos = Arrays.binarySearch(ids, from, Math.min(hi + 1, size), id);
+            return pos >= 0 ? pos : -pos - 1;
+        }
+
+        private void grow() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+        }
+    }
+}
@@ -0,0 +1,270 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Ürün, müşteri ve işlem tablolarının sıkıştırılmış ikili anlık görüntüsü için Java sınıfı
+ * Dosya FileChannel.map ile belleğe eşlenerek okunur. Yazma geçici dosyaya yapılır ve
+ * tamamlanınca atomik olarak yerine taşınır.
+ *
+ * Biçim: [magic][sürüm][nesil][fiyat listesi sürümü][sonraki id'ler x3][adetler x3]
+ *        [mühürlü işlem adedi][arşivdeki işlem adedi][ürünler][müşteriler]
+ *        [özetler][mühürlü işlemlerin sütunları][sıcak işlemler]
+ * İşlem adedi mühürlü ve sıcak işlemlerin toplamıdır. Özetler (satış özetleri, sıralama,
+ * kâr-zarar, müşteri sipariş listeleri) ve mühürlü sütunlar olduğu gibi toplu okunur;
+ * açılışta yalnızca sıcak işlemler tek tek çözülür, geçmiş işlemler yeniden hesaplanmaz.
+ * Dosya boyu ve toplu kopyalama yine geçmişle orantılıdır.
+ * Sürüm 2 ve 3 dosyalarında özet ve sütun bölümleri yoktur: tüm işlemler kayıt kayıt
+ * okunur (ilk 'mühürlü işlem adedi' kadarı sütun deposuna), özetler yeniden hesaplanır.
+ * Sürüm 2'de mühürlü işlem adedi de yoktur (tüm işlemler sıcak katmana yüklenir).
+ */
+public class SnapshotStore {
+    private static final int MAGIC = 0x594F5553; // "YOUS"
+    private static final int VERSION = 4;
+    private static final int VERSION_WITHOUT_COLUMNS = 3;
+    private static final int VERSION_WITHOUT_SEALED = 2;
+    // Eşleme penceresi; 2 GB sınırını aşan dosyalar parça parça eşlenir
+    private static final long WINDOW_SIZE = 256L * 1024 * 1024;
+    private static final int MIN_REMAINING = 64 * 1024;
+
+    // Okunan kayıtları alan arayüz
+    public interface Sink {
+        void product(Product product);
+
+        void customer(Customer customer);
+
+        void transaction(Transaction transaction);
+
+        // Sütun deposuna (mühürlü katmana) ait işlem (sürüm 2 ve 3)
+        void sealedTransaction(Transaction transaction);
+
+        // Özetler bölümü; Section ile yazıldığı gibi okunmalı (sürüm 4)
+        void summaries(ByteBufferInput in) throws IOException;
+
+        // Mühürlü işlemlerin sütunları; sıcak işlemlerden önce (sürüm 4)
+        void sealedColumns(ByteBufferInput in) throws IOException;
+    }
+
+    // Bölümü kendi biçimiyle yazan arayüz (özetler, sütunlar)
+    public interface Section {
+        void write(DataOutput out) throws IOException;
+    }
+
+    /**
+     * Anlık görüntü başlığı
+     */
+    public static class Header {
+        private final long generation;
+        private final long priceVersion;
+        private final int nextProductId;
+        private final int nextCustomerId;
+        private final int nextTransactionId;
+        private final int productCount;
+        private final int customerCount;
+        private final int transactionCount;
+        private final int sealedTransactionCount; // transactionCount'a dahil, ilk sıradakiler
+        private final int archivedTransactionCount; // Anlık görüntü anında arşivdeki kayıt sayısı
+
+        public Header(long generation, long priceVersion, int nextProductId, int nextCustomerId,
+                      int nextTransactionId, int productCount, int customerCount, int transactionCount,
+                      int sealedTransactionCount, int archivedTransactionCount) {
+            this.generation = generation;
+            this.priceVersion = priceVersion;
+            this.nextProductId = nextProductId;
+            this.nextCustomerId = nextCustomerId;
+            this.nextTransactionId = nextTransactionId;
+            this.productCount = productCount;
+            this.customerCount = customerCount;
+            this.transactionCount = transactionCount;
+            this.sealedTransactionCount = sealedTransactionCount;
+            this.archivedTransactionCount = archivedTransactionCount;
+        }
+
+        public long getGeneration() {
+            return generation;
+        }
+
+        public long getPriceVersion() {
+            return priceVersion;
+        }
+
+        public int getNextProductId() {
+            return nextProductId;
+        }
+
+        public int getNextCustomerId() {
+            return nextCustomerId;
+        }
+
+        public int getNextTransactionId() {
+            return nextTransactionId;
+        }
+
+        public int getProductCount() {
+            return productCount;
+        }
+
+        public int getCustomerCount() {
+            return customerCount;
+        }
+
+        public int getTransactionCount() {
+            return transactionCount;
+        }
+
+        public int getSealedTransactionCount() {
+            return sealedTransactionCount;
+        }
+
+        public int getArchivedTransactionCount() {
+            return archivedTransactionCount;
+        }
+    }
+
+    // Anlık görüntüyü yaz (geçici dosya + fsync + atomik taşıma); transactions yalnızca sıcak işlemler
+    public static void write(Path path, Header header, Iterable<Product> products,
+                             Iterable<Customer> customers, Section summaries, Section sealedColumns,
+                             Iterable<Transaction> transactions) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream stream = Channels.newOutputStream(channel);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(header.getGeneration());
+            out.writeLong(header.getPriceVersion());
+            out.writeInt(header.getNextProductId());
+            out.writeInt(header.getNextCustomerId());
+            out.writeInt(header.getNextTransactionId());
+            out.writeInt(header.getProductCount());
+            out.writeInt(header.getCustomerCount());
+            out.writeInt(header.getTransactionCount());
+            out.writeInt(header.getSealedTransactionCount());
+            out.writeInt(header.getArchivedTransactionCount());
+            int written = 0;
+            for (Product p : products) {
+                RecordCodec.writeProduct(out, p);
+                written++;
+            }
+            checkCount("ürün", header.getProductCount(), written);
+            written = 0;
+            for (Customer c : customers) {
+                RecordCodec.writeCustomer(out, c);
+                written++;
+            }
+            checkCount("müşteri", header.getCustomerCount(), written);
+            summaries.write(out);
+            sealedColumns.write(out);
+            written = header.getSealedTransactionCount();
+            for (Transaction t : transactions) {
+                RecordCodec.writeTransaction(out, t);
+                written++;
+            }
+            checkCount("işlem", header.getTransactionCount(), written);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Anlık görüntüyü belleğe eşleyerek oku; dosya yoksa null
+    public static Header read(Path path, Sink sink) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedInput in = new MappedInput(channel);
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Geçersiz anlık görüntü: " + path);
+            }
+            int version = in.readInt();
+            if (version != VERSION && version != VERSION_WITHOUT_COLUMNS && version != VERSION_WITHOUT_SEALED) {
+                throw new IOException("Desteklenmeyen anlık görüntü sürümü: " + version);
+            }
+            Header header = new Header(in.readLong(), in.readLong(), in.readInt(), in.readInt(),
+                    in.readInt(), in.readInt(), in.readInt(), in.readInt(),
+                    version == VERSION_WITHOUT_SEALED ? 0 : in.readInt(),
+                    version == VERSION ? in.readInt() : 0);
+            for (int i = 0; i < header.getProductCount(); i++) {
+                sink.product(RecordCodec.readProduct(in));
+            }
+            for (int i = 0; i < header.getCustomerCount(); i++) {
+                sink.customer(RecordCodec.readCustomer(in));
+            }
+            if (version == VERSION) {
+                sink.summaries(in);
+                sink.sealedColumns(in);
+                for (int i = header.getSealedTransactionCount(); i < header.getTransactionCount(); i++) {
+                    sink.transaction(RecordCodec.readTransaction(in));
+                }
+                return header;
+            }
+            for (int i = 0; i < header.getTransactionCount(); i++) {
+                Transaction t = RecordCodec.readTransaction(in);
+                if (i < header.getSealedTransactionCount()) {
+                    sink.sealedTransaction(t);
+                } else {
+                    sink.transaction(t);
+                }
+            }
+            return header;
+        }
+    }
+
+    // Yazım sırasında koleksiyon değiştiyse başlık tutarsız olur
+    private static void checkCount(String what, int expected, int actual) throws IOException {
+        if (expected != actual) {
+            throw new IOException("Anlık görüntü sırasında " + what + " sayısı değişti: "
+                    + expected + " != " + actual);
+        }
+    }
+
+    // Belleğe eşlenmiş dosya üzerinde DataInput; pencere gerektikçe kaydırılır
+    private static class MappedInput extends ByteBufferInput {
+        private final FileChannel channel;
+        private final long fileSize;
+        private long windowStart;
+
+        MappedInput(FileChannel channel) throws IOException {
+            super(null);
+            this.channel = channel;
+            this.fileSize = channel.size();
+            map(0);
+        }
+
+        private void map(long position) throws IOException {
+            long length = Math.min(WINDOW_SIZE, fileSize - position);
+            this.windowStart = position;
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        }
+
+        @Override
+        protected ByteBuffer ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                long position = windowStart + buffer.position();
+                if (position + bytes > fileSize) {
+                    throw new EOFException();
+                }
+                map(position);
+            } else if (buffer.remaining() < MIN_REMAINING && windowStart + buffer.limit() < fileSize) {
+                map(windowStart + buffer.position());
+            }
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Ürün ve müşteri listeleri için sıralı id indeksi (Java sınıfı)
+ * Kayıtlar (metin, id) sırasıyla tutulur; metin Türkçe harman (collation)
+ * kurallarıyla karşılaştırılır (ç, ğ, ı, ö, ş, ü doğru yerde). Metinsiz dizinde
+ * sıra yalnızca id'dir. Sayfa okuma kilitsizdir ve O(log n + sayfa) sürer.
+ */
+public class SortedIndex {
+    // Dizindeki kayıt (değişmez)
+    private static final class Entry implements Comparable<Entry> {
+        final String text;
+        final CollationKey collationKey; // Metinsiz dizinde null
+        final int id;
+
+        Entry(String text, CollationKey collationKey, int id) {
+            this.text = text;
+            this.collationKey = collationKey;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            if (collationKey != null && other.collationKey != null) {
+                int c = collationKey.compareTo(other.collationKey);
+                if (c != 0) {
+                    return c;
+                }
+            }
+            return Integer.compare(id, other.id);
+        }
+    }
+
+    private final ConcurrentSkipListSet<Entry> ordered;
+    private final IntObjectMap<Entry> current; // id -> dizindeki kaydı
+    private final Collator collator;           // Metinsiz dizinde null; thread-safe değil, this ile korunur
+
+    // Constructor (collated: false ise metin yok sayılır, sıra id'dir)
+    public SortedIndex(boolean collated) {
+        this.ordered = new ConcurrentSkipListSet<>();
+        this.current = new IntObjectMap<>();
+        this.collator = collated ? Collator.getInstance(new Locale("tr", "TR")) : null;
+    }
+
+    // Kaydı ekle veya sıralama metnini güncelle
+    public void put(int id, String text) {
+        text = collator == null ? null : text == null ? "" : text;
+        Entry old = current.get(id);
+        if (old != null && (old.text == null ? text == null : old.text.equals(text))) {
+            return;
+        }
+        synchronized (this) {
+            old = current.get(id);
+            if (old != null) {
+                ordered.remove(old);
+            }
+            Entry entry = new Entry(text, key(text), id);
+            current.put(id, entry);
+            ordered.add(entry);
+        }
+    }
+
+    public synchronized void remove(int id) {
+        Entry old = current.remove(id);
+        if (old != null) {
+            ordered.remove(old);
+        }
+    }
+
+    // Dizindeki sıralama metni (imleç için); kayıt yoksa null
+    public String textOf(int id) {
+        Entry entry = current.get(id);
+        return entry == null ? null : entry.text;
+    }
+
+    public int size() {
+        return current.size();
+    }
+
+    /**
+     * İmleçten sonraki en fazla limit id (imleç null ise baştan / azalan sırada sondan).
+     * İmleç değeri dizindeki metindir (textOf).
+     */
+    public int[] page(Page.Cursor after, boolean descending, int limit) {
+        int[] ids = new int[Math.max(0, Math.min(limit, current.size()))];
+        int n = page(after, descending, ids, null);
+        return n == ids.length ? ids : Arrays.copyOf(ids, n);
+    }
+
+    /**
+     * İmleçten sonraki en fazla ids.length kaydı ids dizisine yazar, okunan sayıyı döner.
+     * texts null değilse her kaydın okunduğu andaki sıralama metni de yazılır: kayıt
+     * bu arada silinse bile imleç bu metinden kurulabilir.
+     */
+    public int page(Page.Cursor after, boolean descending, int[] ids, String[] texts) {
+        NavigableSet<Entry> view;
+        if (after != null) {
+            String text = collator == null ? null : after.getValue();
+            Entry probe;
+            synchronized (this) {
+                probe = new Entry(text, key(text), after.getId());
+            }
+            view = descending ? ordered.headSet(probe, false).descendingSet() : ordered.tailSet(probe, false);
+        } else {
+            view = descending ? ordered.descendingSet() : ordered;
+        }
+        int n = 0;
+        Iterator<Entry> it = view.iterator();
+        while (n < ids.length && it.hasNext()) {
+            Entry entry = it.next();
+            if (texts != null) {
+                texts[n] = entry.text;
+            }
+            ids[n++] = entry.id;
+        }
+        return n;
+    }
+
+    // Yardımcı metodlar (this kilidi altında çağrılır)
+    private CollationKey key(String text) {
+        return text == null ? null : collator.getCollationKey(text);
+    }
+}
@@ -0,0 +1,91 @@
+import java.time.LocalDateTime;
+
+/**
+ * Stok uyarısı olayı için Java sınıfı
+ * Değişmezdir; oluşturulurken sadece sayısal alanlar kaydedilir,
+ * mesaj metni getMessage çağrılınca üretilir.
+ */
+public class StockAlert {
+    // Uyarı seviyesi
+    public enum Level {
+        CRITICAL,     // Kritik seviyede
+        OUT_OF_STOCK  // Tükendi
+    }
+
+    private final long sequence;
+    private final int productId;
+    private final String productName;
+    private final String unit;
+    private final Level level;
+    private final int stock;
+    private final int criticalStock;
+    private final LocalDateTime timestamp;
+
+    // Constructor
+    public StockAlert(long sequence, int productId, String productName, String unit, Level level,
+                      int stock, int criticalStock, LocalDateTime timestamp) {
+        this.sequence = sequence;
+        this.productId = productId;
+        this.productName = productName;
+        this.unit = unit;
+        this.level = level;
+        this.stock = stock;
+        this.criticalStock = criticalStock;
+        this.timestamp = timestamp;
+    }
+
+    // Getter metodları
+    public long getSequence() {
+        return sequence;
+    }
+
+    public int getProductId() {
+        return productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    public int getStock() {
+        return stock;
+    }
+
+    public int getCriticalStock() {
+        return criticalStock;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    // Kullanıcıya gösterilecek metin (sadece okunurken üretilir)
+    public String getMessage() {
+        if (level == Level.OUT_OF_STOCK) {
+            return String.format("⛔ UYARI: %s ürününün stoğu tükendi! (Kritik: %d %s)",
+                    productName, criticalStock, unit);
+        }
+        return String.format("⚠️ UYARI: %s ürününün stoğu kritik seviyede! (Mevcut: %d %s, Kritik: %d)",
+                productName, stock, unit, criticalStock);
+    }
+
+    @Override
+    public String toString() {
+        return "StockAlert{" +
+                "sequence=" + sequence +
+                ", productId=" + productId +
+                ", level=" + level +
+                ", stock=" + stock +
+                ", criticalStock=" + criticalStock +
+                ", timestamp=" + timestamp +
+                '}';
+    }
+}
@@ -0,0 +1,139 @@
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stok uyarısı olay akışı için Java sınıfı
+ * - Tekilleştirme: ürün kritik seviyedeyken tekrar uyarı üretilmez; stok kritik
+ *   seviyenin üstüne çıkınca durum sıfırlanır. Tükenme ayrıca bir kez bildirilir.
+ * - Sınırlı halka tampon: son N olay tutulur, eskiler üzerine yazılır.
+ * - Dinleyiciler olayları ayrı bir thread'de, sırayla alır; satış yolu beklemez.
+ * Durum değişmiyorsa check kilitsiz ve bellek ayırmadan döner.
+ */
+public class StockAlertStream {
+    // Olay dinleyicisi
+    public interface Listener {
+        void onAlert(StockAlert alert);
+    }
+
+    // Ürün id -> etkin uyarı seviyesi (yoksa uyarı yok)
+    private final IntObjectMap<StockAlert.Level> active;
+    private final StockAlert[] ring;
+    private long nextSequence;
+    private final List<Listener> listeners;
+    private ThreadPoolExecutor dispatcher;
+
+    // Constructor
+    public StockAlertStream(int capacity) {
+        this.active = new IntObjectMap<>();
+        this.ring = new StockAlert[Math.max(1, capacity)];
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Ürünün güncel stoğunu değerlendirir; yeni bir uyarı durumu oluştuysa olay yayınlar.
+     * Yayınlanan olayı, olay yoksa null döner.
+     */
+    public StockAlert check(Product product) {
+        int stock = product.getStock();
+        StockAlert.Level level = stock <= 0 ? StockAlert.Level.OUT_OF_STOCK
+                : stock <= product.getCriticalStock() ? StockAlert.Level.CRITICAL : null;
+        if (active.get(product.getId()) == level) {
+            return null;
+        }
+        StockAlert alert;
+        synchronized (this) {
+            StockAlert.Level previous = active.get(product.getId());
+            if (previous == level) {
+                return null;
+            }
+            active.put(product.getId(), level);
+            // Tükenmişken kısmi giriş (kritik seviyeye dönüş) yeni uyarı değildir
+            if (level == null || (previous == StockAlert.Level.OUT_OF_STOCK && level == StockAlert.Level.CRITICAL)) {
+                return null;
+            }
+            alert = new StockAlert(nextSequence, product.getId(), product.getName(), product.getUnit(),
+                    level, stock, product.getCriticalStock(), LocalDateTime.now());
+            ring[(int) (nextSequence % ring.length)] = alert;
+            nextSequence++;
+        }
+        dispatch(alert);
+        return alert;
+    }
+
+    // Tampondaki olaylar (eskiden yeniye)
+    public synchronized List<StockAlert> recent() {
+        return since(0);
+    }
+
+    // Verilen sıra numarasından itibaren tamponda kalan olaylar
+    public synchronized List<StockAlert> since(long sequence) {
+        long first = Math.max(sequence, nextSequence - ring.length);
+        List<StockAlert> result = new ArrayList<>();
+        for (long s = Math.max(first, 0); s < nextSequence; s++) {
+            StockAlert alert = ring[(int) (s % ring.length)];
+            if (alert != null && alert.getSequence() == s) {
+                result.add(alert);
+            }
+        }
+        return result;
+    }
+
+    // Tamponu boşalt; tekilleştirme durumu korunur (kritik ürünler tekrar uyarı üretmez)
+    public synchronized void clear() {
+        java.util.Arrays.fill(ring, null);
+    }
+
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    public void addListener(Listener listener) {
+        synchronized (this) {
+            if (dispatcher == null) {
+                // Tek thread: sıra korunur; kuyruk doluysa en eski teslimat düşer (olay tamponda kalır)
+                dispatcher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                        new LinkedBlockingQueue<>(ring.length), r -> {
+                            Thread t = new Thread(r, "stock-alert-dispatcher");
+                            t.setDaemon(true);
+                            return t;
+                        }, new ThreadPoolExecutor.DiscardOldestPolicy());
+            }
+        }
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    public synchronized void shutdown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    // Yardımcı metodlar
+    private void dispatch(StockAlert alert) {
+        ThreadPoolExecutor executor;
+        synchronized (this) {
+            executor = dispatcher;
+        }
+        if (executor == null || listeners.isEmpty()) {
+            return;
+        }
+        executor.execute(() -> {
+            for (Listener listener : listeners) {
+                try {
+                    listener.onAlert(alert);
+                } catch (RuntimeException e) {
+                    // Hatalı dinleyici diğerlerini ve satış akışını etkilemez
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,77 @@
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Kimlik (id) bazlı kilit şeritleme için Java sınıfı
+ * Farklı kayıtlar üzerindeki işlemlerin aynı kilidi beklememesi için
+ * her id sabit bir şeride (stripe) eşlenir
+ */
+public class StripedLock {
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    // Constructor - İşlemci sayısına göre
+    public StripedLock() {
+        this(Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    // Constructor - Tam
+    public StripedLock(int minStripes) {
+        int size = 16;
+        while (size < minStripes) {
+            size <<= 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    // Id'ye ait şerit kilidi
+    public ReentrantLock get(int id) {
+        return stripes[indexOf(id)];
+    }
+
+    public int indexOf(int id) {
+        // Ardışık id'ler zaten farklı şeritlere düşer; yine de bitleri karıştır
+        int h = id * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    public void lock(int id) {
+        get(id).lock();
+    }
+
+    public void unlock(int id) {
+        get(id).unlock();
+    }
+
+    /**
+     * Birden çok id'nin şeritlerini artan şerit sırasıyla kilitler.
+     * Sıra herkes için aynı olduğundan toplu işlemler birbirini kilitlemez;
+     * aynı şeride düşen id'ler için kilit bir kez alınır.
+     * Alınan şeritleri döner (unlockAll için).
+     */
+    public int[] lockAll(int[] ids) {
+        int[] indexes = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            indexes[i] = indexOf(ids[i]);
+        }
+        int[] sorted = Arrays.stream(indexes).sorted().distinct().toArray();
+        for (int index : sorted) {
+            stripes[index].lock();
+        }
+        return sorted;
+    }
+
+    public void unlockAll(int[] stripeIndexes) {
+        for (int i = stripeIndexes.length - 1; i >= 0; i--) {
+            stripes[stripeIndexes[i]].unlock();
+        }
+    }
+}
@@ -6,6 +6,8 @@ import java.time.format.DateTimeFormatter;
  * OOP prensipleri ile geliştirilmiştir
  */
 public class Transaction {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+
     private int id;
     private TransactionType type;
     private int customerId;
@@ -13,11 +15,15 @@ public class Transaction {
     private int productId;
     private String productName;
     private int quantity;
-    private double unitPrice;
-    private double total;
+    private long unitPrice; // Tutarlar kuruş (bkz. Money)
+    private long total;
+    private long unitCost; // Satış anındaki birim maliyet
+    private String category; // Satış anındaki ürün kategorisi
+    private long priceVersion; // Fiyatın alındığı fiyat listesi sürümü (bilinmiyorsa 0)
     private LocalDateTime date;
     private String note;
     private TransactionStatus status;
+    private String shippingCompany;
 
     // Enum - İşlem Tipi
     public enum TransactionType {
@@ -43,8 +49,8 @@ public class Transaction {
         this.productId = productId;
         this.productName = productName;
         this.quantity = quantity;
-        this.unitPrice = unitPrice;
-        this.total = total;
+        this.unitPrice = Money.of(unitPrice);
+        this.total = Money.of(total);
         this.date = LocalDateTime.now();
         this.status = TransactionStatus.COMPLETED;
     }
@@ -114,22 +120,71 @@ public class Transaction {
         this.quantity = quantity;
     }
 
+    // Tutarlar TL olarak (kuruş karşılığı)
     public double getUnitPrice() {
-        return unitPrice;
+        return Money.toDouble(unitPrice);
     }
 
     public void setUnitPrice(double unitPrice) {
-        this.unitPrice = unitPrice;
+        this.unitPrice = Money.of(unitPrice);
     }
 
     public double getTotal() {
-        return total;
+        return Money.toDouble(total);
     }
 
     public void setTotal(double total) {
+        this.total = Money.of(total);
+    }
+
+    public double getUnitCost() {
+        return Money.toDouble(unitCost);
+    }
+
+    public void setUnitCost(double unitCost) {
+        this.unitCost = Money.of(unitCost);
+    }
+
+    public long getUnitPriceKurus() {
+        return unitPrice;
+    }
+
+    public void setUnitPriceKurus(long unitPrice) {
+        this.unitPrice = unitPrice;
+    }
+
+    public long getTotalKurus() {
+        return total;
+    }
+
+    public void setTotalKurus(long total) {
         this.total = total;
     }
 
+    public long getUnitCostKurus() {
+        return unitCost;
+    }
+
+    public void setUnitCostKurus(long unitCost) {
+        this.unitCost = unitCost;
+    }
+
+    public long getPriceVersion() {
+        return priceVersion;
+    }
+
+    public void setPriceVersion(long priceVersion) {
+        this.priceVersion = priceVersion;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
     public LocalDateTime getDate() {
         return date;
     }
@@ -154,10 +209,32 @@ public class Transaction {
         this.status = status;
     }
 
+    public String getShippingCompany() {
+        return shippingCompany;
+    }
+
+    public void setShippingCompany(String shippingCompany) {
+        this.shippingCompany = shippingCompany;
+    }
+
+    // Bağımsız kopya (okuma anlık görüntüleri için)
+    public Transaction copy() {
+        Transaction copy = new Transaction(id, type, customerId, customerName, productId, productName,
+                quantity, 0.0, 0.0, note);
+        copy.unitPrice = unitPrice;
+        copy.total = total;
+        copy.unitCost = unitCost;
+        copy.priceVersion = priceVersion;
+        copy.category = category;
+        copy.date = date;
+        copy.status = status;
+        copy.shippingCompany = shippingCompany;
+        return copy;
+    }
+
     // İş mantığı metodları
     public String getFormattedDate() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
-        return date.format(formatter);
+        return date.format(DATE_FORMAT);
     }
 
     public String getTypeString() {
@@ -173,6 +250,36 @@ public class Transaction {
         }
     }
 
+    // "Satış"/"Alım" metnini (veya enum adını) enum'a çevir, bilinmiyorsa null
+    public static TransactionType typeFromString(String typeString) {
+        if ("Satış".equalsIgnoreCase(typeString) || "SALE".equalsIgnoreCase(typeString)) {
+            return TransactionType.SALE;
+        }
+        if ("Alım".equalsIgnoreCase(typeString) || "PURCHASE".equalsIgnoreCase(typeString)) {
+            return TransactionType.PURCHASE;
+        }
+        return null;
+    }
+
+    // Durum metnini enum'a çevir (Türkçe veya enum adı), bilinmiyorsa null
+    public static TransactionStatus statusFromString(String statusString) {
+        if (statusString == null) {
+            return null;
+        }
+        switch (statusString) {
+            case "Tamamlandı": return TransactionStatus.COMPLETED;
+            case "Beklemede": return TransactionStatus.PENDING;
+            case "İptal Edildi": return TransactionStatus.CANCELLED;
+            default:
+                for (TransactionStatus s : TransactionStatus.values()) {
+                    if (s.name().equalsIgnoreCase(statusString)) {
+                        return s;
+                    }
+                }
+                return null;
+        }
+    }
+
     public boolean isSale() {
         return type == TransactionType.SALE;
     }
@@ -189,8 +296,29 @@ public class Transaction {
         return status == TransactionStatus.COMPLETED;
     }
 
+    public double getTotalCost() {
+        return Money.toDouble(getTotalCostKurus());
+    }
+
+    public double getProfit() {
+        return Money.toDouble(getProfitKurus());
+    }
+
+    public long getTotalCostKurus() {
+        return Money.times(unitCost, quantity);
+    }
+
+    public long getProfitKurus() {
+        return total - getTotalCostKurus();
+    }
+
     public void recalculateTotal() {
-        this.total = this.unitPrice * this.quantity;
+        this.total = Money.times(this.unitPrice, this.quantity);
+    }
+
+    // Satır tutarı: birim fiyat x miktar, satır indirimi (%) sonrası en yakın kuruşa
+    public static long lineTotal(long unitPrice, int quantity, double discount) {
+        return Money.discount(Money.times(unitPrice, quantity), discount);
     }
 
     @Override
@@ -201,8 +329,8 @@ public class Transaction {
                 ", customerName='" + customerName + '\'' +
                 ", productName='" + productName + '\'' +
                 ", quantity=" + quantity +
-                ", unitPrice=" + unitPrice +
-                ", total=" + total +
+                ", unitPrice=" + Money.format(unitPrice) +
+                ", total=" + Money.format(total) +
                 ", date=" + getFormattedDate() +
                 ", status=" + status +
                 '}';
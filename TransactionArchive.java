@@ -0,0 +1,665 @@
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Eski işlemler için yığın (heap) dışı arşiv katmanı
+ * İşlemler belleğe eşlenmiş, sadece sona eklenen segment dosyalarında tutulur;
+ * yığında segment başına yalnızca birkaç alan kalır. Arşiv büyüdükçe yığın
+ * ve GC duraklamaları artmaz, sayfaları işletim sistemi yönetir.
+ *
+ * Segment (.dat): [magic:int][kayıt sayısı:int][kullanılan:long]
+ *                 + kayıtlar [uzunluk:int][id:int][durum:byte][işlem]
+ * İndeks (.idx): [magic:int][kayıt sayısı:int][kullanılan:long]
+ *               + id sıralı [id:int][ofset:int][müşteri id:int][ürün id:int] girdileri.
+ * Veri dosyasından türetilir ve kayıttan sonra güncellenir. Açılışta başlığı veri
+ * başlığıyla (kayıt sayısı, kullanılan) ve ilk/son girdisi veri kayıtlarıyla
+ * eşleşiyorsa olduğu gibi kullanılır; eşleşmiyorsa (yarım kalan yazma, eski biçim)
+ * kayıtlar bir kez çözülerek yeniden kurulur.
+ *
+ * Müşteri, ürün ve durum aramaları için id listeleri (posting) yığında tutulur;
+ * müşteri/ürün listeleri ilk aramada indeks dosyasından, durum kümeleri ilk durum
+ * aramasında kayıt başlıklarından kurulur (kayıt çözülmez), eklemelerde güncellenir.
+ * Aramalar yalnızca eşleşen kayıtları çözer.
+ * Sayfalama sıraları (tarih, tutar, id) yığında ilkel dizilerde tutulur; ilk
+ * sayfa isteğinde arşiv bir kez taranarak kurulur, eklemelerde birleştirilir.
+ */
+public class TransactionArchive implements Closeable {
+    private static final int MAGIC = 0x59415243; // "YARC"
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_HEADER_SIZE = 4 + 4 + 1;
+    private static final int INDEX_MAGIC = 0x59494458; // "YIDX"
+    private static final int INDEX_HEADER_SIZE = 16;
+    private static final int INDEX_ENTRY_SIZE = 16;
+    private static final int MIN_RECORD_SIZE = 64;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final List<Segment> segments;
+    // İndeks kaydırılırken aramalar beklenir
+    private final ReentrantReadWriteLock indexLock;
+    private final ByteArrayOutputStream encodeBuffer;
+    private final DataOutputStream encoder;
+    // Sayfalama sıraları (indexLock ile korunur)
+    private final Map<Page.Sort, TransactionOrder.Run> orders;
+    // Müşteri / ürün id -> işlem id'leri ve durum -> işlem id kümesi; ilk aramada kurulur (indexLock ile korunur)
+    private IntObjectMap<Ids> idsByCustomer;
+    private IntObjectMap<Ids> idsByProduct;
+    private BitSet[] idsByStatus;
+
+    // Constructor
+    public TransactionArchive(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.segments = new CopyOnWriteArrayList<>();
+        this.indexLock = new ReentrantReadWriteLock();
+        this.encodeBuffer = new ByteArrayOutputStream(512);
+        this.encoder = new DataOutputStream(encodeBuffer);
+        this.orders = new EnumMap<>(Page.Sort.class);
+        Files.createDirectories(directory);
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "segment-*.dat")) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        files.sort(null);
+        for (Path file : files) {
+            segments.add(Segment.open(file, segmentSize, false));
+        }
+    }
+
+    /**
+     * İşlemleri arşive ekler ve diske zorlar (fsync).
+     * Dönüşten sonra işlemler id ile bulunabilir.
+     */
+    public void appendAll(List<Transaction> batch) throws IOException {
+        indexLock.writeLock().lock();
+        try {
+            Segment current = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            for (Transaction t : batch) {
+                encodeBuffer.reset();
+                RecordCodec.writeTransaction(encoder, t);
+                int length = encodeBuffer.size();
+                if (current == null || !current.fits(length)) {
+                    if (current != null) {
+                        current.force();
+                    }
+                    current = newSegment();
+                }
+                current.append(t, encodeBuffer.toByteArray(), length);
+                post(t.getId(), t.getCustomerId(), t.getProductId());
+                if (idsByStatus != null) {
+                    idsByStatus[t.getStatus().ordinal()].set(t.getId());
+                }
+            }
+            if (current != null) {
+                current.force();
+            }
+            for (Map.Entry<Page.Sort, TransactionOrder.Run> e : orders.entrySet()) {
+                long[] keys = new long[batch.size()];
+                int[] ids = new int[batch.size()];
+                for (int i = 0; i < batch.size(); i++) {
+                    keys[i] = TransactionOrder.key(e.getKey(), batch.get(i));
+                    ids[i] = batch.get(i).getId();
+                }
+                e.getValue().addAll(keys, ids, batch.size());
+            }
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(int transactionId) {
+        indexLock.readLock().lock();
+        try {
+            return locate(transactionId) != null;
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    // id ile işlemi oku; yoksa null
+    public Transaction get(int transactionId) {
+        indexLock.readLock().lock();
+        try {
+            Location location = locate(transactionId);
+            return location == null ? null : location.segment.read(location.offset);
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    // Durumu dosyada yerinde değiştir; önceki durumu döner, işlem yoksa null
+    public Transaction.TransactionStatus updateStatus(int transactionId, Transaction.TransactionStatus newStatus) {
+        indexLock.writeLock().lock();
+        try {
+            Location location = locate(transactionId);
+            if (location == null) {
+                return null;
+            }
+            Transaction.TransactionStatus old = location.segment.updateStatus(location.offset, newStatus);
+            if (idsByStatus != null) {
+                idsByStatus[old.ordinal()].clear(transactionId);
+                idsByStatus[newStatus.ordinal()].set(transactionId);
+            }
+            return old;
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    // ==================== ARAMALAR ====================
+
+    public List<Transaction> findByCustomer(int customerId) {
+        indexLock.readLock().lock();
+        try {
+            if (idsByCustomer == null) {
+                upgrade(this::buildPostings);
+            }
+            return read(idsByCustomer.get(customerId));
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    public List<Transaction> findByProduct(int productId) {
+        indexLock.readLock().lock();
+        try {
+            if (idsByProduct == null) {
+                upgrade(this::buildPostings);
+            }
+            return read(idsByProduct.get(productId));
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    public List<Transaction> findByStatus(Transaction.TransactionStatus status) {
+        List<Transaction> result = new ArrayList<>();
+        if (status == null) {
+            return result;
+        }
+        indexLock.readLock().lock();
+        try {
+            if (idsByStatus == null) {
+                upgrade(this::buildStatusSets);
+            }
+            BitSet ids = idsByStatus[status.ordinal()];
+            for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+                Location location = locate(id);
+                if (location != null) {
+                    result.add(location.segment.read(location.offset));
+                }
+            }
+            return result;
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sıralamada imleçten sonraki en fazla limit işlem (imleç null ise baştan).
+     * Sadece sayfadaki kayıtlar çözülür; O(log n + limit).
+     */
+    public List<Transaction> page(Page.Sort sort, boolean descending, Page.Cursor after, int limit) {
+        indexLock.readLock().lock();
+        try {
+            TransactionOrder.Run run = orders.get(sort);
+            if (run == null) {
+                indexLock.readLock().unlock();
+                indexLock.writeLock().lock();
+                try {
+                    run = orders.get(sort);
+                    if (run == null) {
+                        run = buildOrder(sort);
+                        orders.put(sort, run);
+                    }
+                    indexLock.readLock().lock();
+                } finally {
+                    indexLock.writeLock().unlock();
+                }
+            }
+            List<Transaction> result = new ArrayList<>(Math.min(Math.max(limit, 0), 1024));
+            int step = descending ? -1 : 1;
+            for (int p = run.start(after, descending); p >= 0 && p < run.size() && result.size() < limit; p += step) {
+                Location location = locate(run.id(p));
+                if (location != null) {
+                    result.add(location.segment.read(location.offset));
+                }
+            }
+            return result;
+        } finally {
+            indexLock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        int total = 0;
+        for (Segment s : segments) {
+            total += s.count;
+        }
+        return total;
+    }
+
+    // Tüm arşivi yazılış sırasıyla gez (yığında biriktirmeden)
+    public void forEach(Consumer<Transaction> visitor) {
+        forEachFrom(0, visitor);
+    }
+
+    // Yazılış sırasında 'position'. kayıttan itibaren gez; önceki kayıtlar çözülmez
+    public void forEachFrom(int position, Consumer<Transaction> visitor) {
+        int skip = position;
+        for (Segment s : segments) {
+            if (skip >= s.count) {
+                skip -= s.count;
+                continue;
+            }
+            s.forEach(skip, visitor);
+            skip = 0;
+        }
+    }
+
+    // Tüm arşivi tara; filtreye uyanları döner
+    public List<Transaction> select(Predicate<Transaction> filter) {
+        List<Transaction> result = new ArrayList<>();
+        forEach(t -> {
+            if (filter.test(t)) {
+                result.add(t);
+            }
+        });
+        return result;
+    }
+
+    // Yerinde yapılan durum değişikliklerini diske yaz
+    public void force() {
+        for (Segment s : segments) {
+            s.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        indexLock.writeLock().lock();
+        try {
+            for (Segment s : segments) {
+                s.close();
+            }
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    // Yardımcı metodlar
+    private Segment newSegment() throws IOException {
+        Path file = directory.resolve(String.format("segment-%06d.dat", segments.size() + 1));
+        Segment segment = Segment.open(file, segmentSize, true);
+        segments.add(segment);
+        return segment;
+    }
+
+    // Okuma kilidi tutulurken yapıyı yazma kilidiyle bir kez kur; okuma kilidi yeniden alınmış döner
+    private void upgrade(Runnable build) {
+        indexLock.readLock().unlock();
+        indexLock.writeLock().lock();
+        try {
+            build.run();
+            indexLock.readLock().lock();
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    // Müşteri ve ürün listelerini indeks dosyalarından kur (yazma kilidi altında, kayıt çözülmez)
+    private void buildPostings() {
+        if (idsByCustomer != null) {
+            return;
+        }
+        idsByCustomer = new IntObjectMap<>();
+        idsByProduct = new IntObjectMap<>();
+        for (Segment s : segments) {
+            for (int i = 0; i < s.count; i++) {
+                post(s.entryId(i), s.entryCustomer(i), s.entryProduct(i));
+            }
+        }
+    }
+
+    // Durum kümelerini kayıt başlıklarından kur (yazma kilidi altında, kayıt çözülmez)
+    private void buildStatusSets() {
+        if (idsByStatus != null) {
+            return;
+        }
+        BitSet[] sets = new BitSet[Transaction.TransactionStatus.values().length];
+        for (int i = 0; i < sets.length; i++) {
+            sets[i] = new BitSet();
+        }
+        for (Segment s : segments) {
+            for (int i = 0; i < s.count; i++) {
+                sets[s.statusAt(s.entryOffset(i))].set(s.entryId(i));
+            }
+        }
+        idsByStatus = sets;
+    }
+
+    // Listeler kurulmuşsa işlemi ekle
+    private void post(int id, int customerId, int productId) {
+        if (idsByCustomer == null) {
+            return;
+        }
+        ids(idsByCustomer, customerId).add(id);
+        ids(idsByProduct, productId).add(id);
+    }
+
+    private static Ids ids(IntObjectMap<Ids> postings, int key) {
+        Ids ids = postings.get(key);
+        if (ids == null) {
+            ids = new Ids();
+            postings.put(key, ids);
+        }
+        return ids;
+    }
+
+    // Listedeki işlemleri oku (okuma kilidi altında)
+    private List<Transaction> read(Ids ids) {
+        List<Transaction> result = new ArrayList<>(ids == null ? 0 : ids.size);
+        if (ids != null) {
+            for (int i = 0; i < ids.size; i++) {
+                Location location = locate(ids.ids[i]);
+                if (location != null) {
+                    result.add(location.segment.read(location.offset));
+                }
+            }
+        }
+        return result;
+    }
+
+    // Tüm arşivi bir kez tarayarak sıra dizisini kur (yazma kilidi altında)
+    private TransactionOrder.Run buildOrder(Page.Sort sort) {
+        int n = size();
+        long[] keys = new long[n];
+        int[] ids = new int[n];
+        int[] count = new int[1];
+        forEach(t -> {
+            if (count[0] < n) {
+                keys[count[0]] = TransactionOrder.key(sort, t);
+                ids[count[0]++] = t.getId();
+            }
+        });
+        return new TransactionOrder.Run(keys, ids, count[0]);
+    }
+
+    private Location locate(int transactionId) {
+        for (Segment s : segments) {
+            if (s.count > 0 && transactionId >= s.minId && transactionId <= s.maxId) {
+                int offset = s.find(transactionId);
+                if (offset >= 0) {
+                    return new Location(s, offset);
+                }
+            }
+        }
+        return null;
+    }
+
+    // Bir müşterinin / ürünün arşivdeki işlem id'leri (ekleme sırasıyla)
+    private static final class Ids {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size << 1);
+            }
+            ids[size++] = id;
+        }
+    }
+
+    private static class Location {
+        private final Segment segment;
+        private final int offset;
+
+        Location(Segment segment, int offset) {
+            this.segment = segment;
+            this.offset = offset;
+        }
+    }
+
+    // Tek segment: veri ve indeks dosyaları belleğe eşlenmiş
+    private static class Segment {
+        private final FileChannel dataChannel;
+        private final FileChannel indexChannel;
+        private final MappedByteBuffer data;
+        private final MappedByteBuffer index;
+        private final int indexCapacity;
+        private volatile int count;
+        private int used;
+        private int minId = Integer.MAX_VALUE;
+        private int maxId = Integer.MIN_VALUE;
+
+        private Segment(FileChannel dataChannel, FileChannel indexChannel, int segmentSize) throws IOException {
+            this.dataChannel = dataChannel;
+            this.indexChannel = indexChannel;
+            this.indexCapacity = segmentSize / MIN_RECORD_SIZE;
+            this.data = dataChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            this.index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    INDEX_HEADER_SIZE + (long) indexCapacity * INDEX_ENTRY_SIZE);
+        }
+
+        static Segment open(Path dataFile, int segmentSize, boolean create) throws IOException {
+            Path indexFile = dataFile.resolveSibling(dataFile.getFileName().toString().replace(".dat", ".idx"));
+            FileChannel dataChannel = FileChannel.open(dataFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            FileChannel indexChannel = FileChannel.open(indexFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            Segment segment = new Segment(dataChannel, indexChannel, segmentSize);
+            if (create) {
+                segment.data.putInt(0, MAGIC);
+                segment.data.putInt(4, 0);
+                segment.data.putLong(8, HEADER_SIZE);
+                segment.used = HEADER_SIZE;
+                segment.writeIndexHeader();
+            } else {
+                if (segment.data.getInt(0) != MAGIC) {
+                    throw new IOException("Geçersiz arşiv segmenti: " + dataFile);
+                }
+                segment.used = (int) segment.data.getLong(8);
+                int recordCount = segment.data.getInt(4);
+                if (!segment.loadIndex(recordCount)) {
+                    segment.rebuildIndex(recordCount);
+                }
+            }
+            return segment;
+        }
+
+        boolean fits(int payloadLength) {
+            return count < indexCapacity && used + RECORD_HEADER_SIZE + payloadLength <= data.capacity();
+        }
+
+        void append(Transaction t, byte[] payload, int length) {
+            int offset = used;
+            data.putInt(offset, length);
+            data.putInt(offset + 4, t.getId());
+            data.put(offset + 8, (byte) t.getStatus().ordinal());
+            ByteBuffer target = data.duplicate();
+            target.position(offset + RECORD_HEADER_SIZE);
+            target.put(payload, 0, length);
+            used = offset + RECORD_HEADER_SIZE + length;
+            // Başlık kayıttan sonra güncellenir: yarım kalan ekleme açılışta görünmez
+            data.putLong(8, used);
+            data.putInt(4, count + 1);
+            insertIndex(t.getId(), offset, t.getCustomerId(), t.getProductId());
+            // İndeks başlığı en son: yarım kalan ekleme açılışta başlık uyuşmazlığı olarak görülür
+            writeIndexHeader();
+        }
+
+        // Sıralı indekse ekle; id'ler çoğunlukla artan geldiği için kaydırma nadirdir
+        private void insertIndex(int id, int offset, int customerId, int productId) {
+            int n = count;
+            int position = n;
+            while (position > 0 && entryId(position - 1) > id) {
+                position--;
+            }
+            for (int i = n; i > position; i--) {
+                int from = entry(i - 1);
+                index.putLong(entry(i), index.getLong(from));
+                index.putLong(entry(i) + 8, index.getLong(from + 8));
+            }
+            putEntry(position, id, offset, customerId, productId);
+            minId = Math.min(minId, id);
+            maxId = Math.max(maxId, id);
+            count = n + 1;
+        }
+
+        private void writeIndexHeader() {
+            index.putInt(0, INDEX_MAGIC);
+            index.putInt(4, count);
+            index.putLong(8, used);
+        }
+
+        /**
+         * İndeks dosyası veri dosyasıyla uyumluysa onu kullan: başlık aynı kayıt sayısını ve
+         * doluluğu göstermeli, ilk ve son girdi geçerli bir kaydın başlığına işaret etmeli.
+         */
+        private boolean loadIndex(int recordCount) {
+            if (index.getInt(0) != INDEX_MAGIC || index.getInt(4) != recordCount || index.getLong(8) != used) {
+                return false;
+            }
+            if (recordCount > 0 && !(pointsToRecord(0) && pointsToRecord(recordCount - 1))) {
+                return false;
+            }
+            count = recordCount;
+            if (recordCount > 0) {
+                minId = entryId(0);
+                maxId = entryId(recordCount - 1);
+            }
+            return true;
+        }
+
+        private boolean pointsToRecord(int i) {
+            int offset = entryOffset(i);
+            return offset >= HEADER_SIZE && offset + RECORD_HEADER_SIZE <= used && data.getInt(offset + 4) == entryId(i);
+        }
+
+        // Veri dosyasından indeksi yeniden kur (kayıtlar bir kez çözülür: müşteri ve ürün id'leri için)
+        private void rebuildIndex(int recordCount) {
+            count = 0;
+            int offset = HEADER_SIZE;
+            for (int i = 0; i < recordCount; i++) {
+                Transaction t = read(offset);
+                insertIndex(t.getId(), offset, t.getCustomerId(), t.getProductId());
+                offset += RECORD_HEADER_SIZE + data.getInt(offset);
+            }
+            writeIndexHeader();
+        }
+
+        // i. girdinin alanları
+        private static int entry(int i) {
+            return INDEX_HEADER_SIZE + i * INDEX_ENTRY_SIZE;
+        }
+
+        private void putEntry(int i, int id, int offset, int customerId, int productId) {
+            int at = entry(i);
+            index.putInt(at, id);
+            index.putInt(at + 4, offset);
+            index.putInt(at + 8, customerId);
+            index.putInt(at + 12, productId);
+        }
+
+        int entryId(int i) {
+            return index.getInt(entry(i));
+        }
+
+        int entryOffset(int i) {
+            return index.getInt(entry(i) + 4);
+        }
+
+        int entryCustomer(int i) {
+            return index.getInt(entry(i) + 8);
+        }
+
+        int entryProduct(int i) {
+            return index.getInt(entry(i) + 12);
+        }
+
+        int statusAt(int offset) {
+            return data.get(offset + 8);
+        }
+
+        void force() {
+            index.force();
+            data.force();
+        }
+
+        // İkili arama; kayıt ofsetini döner, yoksa -1
+        int find(int id) {
+            int low = 0;
+            int high = count - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int midId = entryId(mid);
+                if (midId < id) {
+                    low = mid + 1;
+                } else if (midId > id) {
+                    high = mid - 1;
+                } else {
+                    return entryOffset(mid);
+                }
+            }
+            return -1;
+        }
+
+        Transaction read(int offset) {
+            int length = data.getInt(offset);
+            ByteBuffer view = data.duplicate();
+            view.position(offset + RECORD_HEADER_SIZE);
+            view.limit(offset + RECORD_HEADER_SIZE + length);
+            try {
+                Transaction t = RecordCodec.readTransaction(new ByteBufferInput(view.slice()));
+                t.setStatus(Transaction.TransactionStatus.values()[data.get(offset + 8)]);
+                return t;
+            } catch (IOException e) {
+                throw new IllegalStateException("Bozuk arşiv kaydı, ofset " + offset, e);
+            }
+        }
+
+        synchronized Transaction.TransactionStatus updateStatus(int offset, Transaction.TransactionStatus newStatus) {
+            Transaction.TransactionStatus old = Transaction.TransactionStatus.values()[data.get(offset + 8)];
+            data.put(offset + 8, (byte) newStatus.ordinal());
+            return old;
+        }
+
+        void forEach(int first, Consumer<Transaction> visitor) {
+            int n = count;
+            int offset = HEADER_SIZE;
+            for (int i = 0; i < n; i++) {
+                if (i >= first) {
+                    visitor.accept(read(offset));
+                }
+                offset += RECORD_HEADER_SIZE + data.getInt(offset);
+            }
+        }
+
+        void close() throws IOException {
+            force();
+            dataChannel.close();
+            indexChannel.close();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * İşlemler için birincil ve ikincil indeksleri tutan Java sınıfı
+ * Birincil: id -> işlem
+ * İkincil: müşteri id, ürün id ve durum -> işlemler
+ * Sıralı: id, tarih ve tutar sırası (sayfalama için, bkz. TransactionOrder)
+ * Sorgular tüm geçmişi değil, yalnızca sonuç kümesini dolaşır.
+ */
+public class TransactionIndex {
+    private final IntObjectMap<Transaction> byId;
+    private final IntObjectMap<Queue<Transaction>> byCustomer;
+    private final IntObjectMap<Queue<Transaction>> byProduct;
+    private final Map<Transaction.TransactionStatus, ConcurrentSkipListMap<Integer, Transaction>> byStatus;
+    private final Map<Page.Sort, ConcurrentSkipListMap<TransactionOrder.Key, Transaction>> ordered;
+
+    // Constructor
+    public TransactionIndex() {
+        this.byId = new IntObjectMap<>();
+        this.byCustomer = new IntObjectMap<>();
+        this.byProduct = new IntObjectMap<>();
+        this.byStatus = new EnumMap<>(Transaction.TransactionStatus.class);
+        for (Transaction.TransactionStatus status : Transaction.TransactionStatus.values()) {
+            byStatus.put(status, new ConcurrentSkipListMap<>());
+        }
+        this.ordered = new EnumMap<>(Page.Sort.class);
+        for (Page.Sort sort : Page.Sort.values()) {
+            if (TransactionOrder.supports(sort)) {
+                ordered.put(sort, new ConcurrentSkipListMap<>());
+            }
+        }
+    }
+
+    // Yeni işlemi tüm indekslere ekle
+    public void add(Transaction t) {
+        byId.put(t.getId(), t);
+        bucket(byCustomer, t.getCustomerId()).add(t);
+        bucket(byProduct, t.getProductId()).add(t);
+        synchronized (t) {
+            byStatus.get(t.getStatus()).put(t.getId(), t);
+        }
+        for (Map.Entry<Page.Sort, ConcurrentSkipListMap<TransactionOrder.Key, Transaction>> e : ordered.entrySet()) {
+            e.getValue().put(new TransactionOrder.Key(TransactionOrder.key(e.getKey(), t), t.getId()), t);
+        }
+    }
+
+    // İşlemi tüm indekslerden çıkar (ör. sütun deposuna taşınırken)
+    public void remove(Transaction t) {
+        byId.remove(t.getId());
+        Queue<Transaction> customerBucket = byCustomer.get(t.getCustomerId());
+        if (customerBucket != null) {
+            customerBucket.remove(t);
+        }
+        Queue<Transaction> productBucket = byProduct.get(t.getProductId());
+        if (productBucket != null) {
+            productBucket.remove(t);
+        }
+        synchronized (t) {
+            byStatus.get(t.getStatus()).remove(t.getId());
+        }
+        for (Map.Entry<Page.Sort, ConcurrentSkipListMap<TransactionOrder.Key, Transaction>> e : ordered.entrySet()) {
+            e.getValue().remove(new TransactionOrder.Key(TransactionOrder.key(e.getKey(), t), t.getId()));
+        }
+    }
+
+    public Transaction get(int id) {
+        return byId.get(id);
+    }
+
+    // Durum değişikliği: işlem eski durum kovasından yenisine taşınır.
+    // Önceki durumu döner, işlem yoksa null
+    public Transaction.TransactionStatus updateStatus(int id, Transaction.TransactionStatus newStatus) {
+        Transaction t = byId.get(id);
+        if (t == null) {
+            return null;
+        }
+        synchronized (t) {
+            Transaction.TransactionStatus old = t.getStatus();
+            if (old != newStatus) {
+                byStatus.get(old).remove(id);
+                t.setStatus(newStatus);
+                byStatus.get(newStatus).put(id, t);
+            }
+            return old;
+        }
+    }
+
+    public List<Transaction> findByCustomer(int customerId) {
+        return snapshot(byCustomer.get(customerId));
+    }
+
+    public List<Transaction> findByProduct(int productId) {
+        return snapshot(byProduct.get(productId));
+    }
+
+    public List<Transaction> findByStatus(Transaction.TransactionStatus status) {
+        if (status == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(byStatus.get(status).values());
+    }
+
+    public int countByStatus(Transaction.TransactionStatus status) {
+        return status == null ? 0 : byStatus.get(status).size();
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    // Sıralamada imleçten sonraki en fazla limit işlem (imleç null ise baştan); O(log n + limit)
+    public List<Transaction> page(Page.Sort sort, boolean descending, Page.Cursor after, int limit) {
+        NavigableMap<TransactionOrder.Key, Transaction> view = ordered.get(sort);
+        if (after != null) {
+            TransactionOrder.Key probe = new TransactionOrder.Key(after.getNumber(), after.getId());
+            view = descending ? view.headMap(probe, false) : view.tailMap(probe, false);
+        }
+        if (descending) {
+            view = view.descendingMap();
+        }
+        List<Transaction> result = new ArrayList<>(Math.min(Math.max(limit, 0), 1024));
+        Iterator<Transaction> it = view.values().iterator();
+        while (result.size() < limit && it.hasNext()) {
+            result.add(it.next());
+        }
+        return result;
+    }
+
+    // Yardımcı metodlar
+    private Queue<Transaction> bucket(IntObjectMap<Queue<Transaction>> index, int key) {
+        Queue<Transaction> queue = index.get(key);
+        if (queue == null) {
+            synchronized (index) {
+                queue = index.get(key);
+                if (queue == null) {
+                    queue = new ConcurrentLinkedQueue<>();
+                    index.put(key, queue);
+                }
+            }
+        }
+        return queue;
+    }
+
+    private List<Transaction> snapshot(Queue<Transaction> queue) {
+        if (queue == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(queue);
+    }
+}
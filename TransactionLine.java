@@ -0,0 +1,58 @@
+/**
+ * Toplu işlem girişinde tek bir satırı tutan Java sınıfı
+ * (ör. alım fişi veya bayi siparişinin bir kalemi)
+ * Değişmezdir; DataManager.createTransactions ile birlikte kullanılır.
+ */
+public class TransactionLine {
+    private final String type;
+    private final int customerId;
+    private final int productId;
+    private final int quantity;
+    private final double discount;
+
+    // Constructor
+    public TransactionLine(String type, int customerId, int productId, int quantity) {
+        this(type, customerId, productId, quantity, 0.0);
+    }
+
+    // Constructor - Tam
+    public TransactionLine(String type, int customerId, int productId, int quantity, double discount) {
+        this.type = type;
+        this.customerId = customerId;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.discount = discount;
+    }
+
+    // Getter metodları
+    public String getType() {
+        return type;
+    }
+
+    public int getCustomerId() {
+        return customerId;
+    }
+
+    public int getProductId() {
+        return productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public double getDiscount() {
+        return discount;
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionLine{" +
+                "type='" + type + '\'' +
+                ", customerId=" + customerId +
+                ", productId=" + productId +
+                ", quantity=" + quantity +
+                ", discount=" + discount +
+                '}';
+    }
+}
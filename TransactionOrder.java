@@ -0,0 +1,201 @@
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * İşlem sıralamaları için Java sınıfı
+ * Her sıralama bir long anahtara indirgenir; eşitlikte id karar verir, böylece
+ * (anahtar, id) çifti her işlem için tekildir ve imleçte kayıpsız taşınır.
+ *   ID    -> id
+ *   DATE  -> tarih (epoch saniye, ZoneOffset.UTC; sütun deposu ve RecordCodec ile aynı)
+ *   TOTAL -> tutar (kuruş)
+ * Üç işlem katmanı aynı anahtarı kullandığı için sayfaları birleştirilebilir.
+ */
+public final class TransactionOrder {
+    private TransactionOrder() {
+    }
+
+    // İşlem listelerinde kullanılabilen sıralamalar
+    public static boolean supports(Page.Sort sort) {
+        return sort == Page.Sort.ID || sort == Page.Sort.DATE || sort == Page.Sort.TOTAL;
+    }
+
+    public static long key(Page.Sort sort, Transaction t) {
+        switch (sort) {
+            case ID:
+                return t.getId();
+            case DATE:
+                return t.getDate().toEpochSecond(ZoneOffset.UTC);
+            case TOTAL:
+                return t.getTotalKurus();
+            default:
+                throw new IllegalArgumentException("İşlemler için geçersiz sıralama: " + sort);
+        }
+    }
+
+    public static int compare(long leftKey, int leftId, long rightKey, int rightId) {
+        int c = Long.compare(leftKey, rightKey);
+        return c != 0 ? c : Integer.compare(leftId, rightId);
+    }
+
+    // Sıcak katmandaki sıralı haritaların anahtarı
+    public static final class Key implements Comparable<Key> {
+        final long key;
+        final int id;
+
+        public Key(long key, int id) {
+            this.key = key;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            return compare(key, id, other.key, other.id);
+        }
+    }
+
+    /**
+     * (anahtar, id) çiftlerinin ilkel dizilerde sıralı tutulduğu dizi.
+     * Sütun deposu ve arşiv için: işlem başına 12 bayt, nesne yok.
+     * Yeni partiler birleştirilerek eklenir (O(n + m log m)); sayfalar ikili aramayla bulunur.
+     * Thread-safe değildir; sahibi kendi kilidiyle korur.
+     */
+    public static final class Run {
+        private long[] keys;
+        private int[] ids;
+        private int size;
+
+        // Sırasız çiftlerden (ilk n öğe) sıralı dizi kur; diziler sahiplenilir
+        public Run(long[] keys, int[] ids, int n) {
+            this.keys = keys;
+            this.ids = ids;
+            this.size = n;
+            sort(keys, ids, n);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int id(int position) {
+            return ids[position];
+        }
+
+        // Sırasız çiftleri (ilk n öğe) mevcut sıraya birleştir
+        public void addAll(long[] batchKeys, int[] batchIds, int n) {
+            if (n == 0) {
+                return;
+            }
+            sort(batchKeys, batchIds, n);
+            long[] mergedKeys = new long[size + n];
+            int[] mergedIds = new int[size + n];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < size && j < n) {
+                if (compare(keys[i], ids[i], batchKeys[j], batchIds[j]) <= 0) {
+                    mergedKeys[k] = keys[i];
+                    mergedIds[k++] = ids[i++];
+                } else {
+                    mergedKeys[k] = batchKeys[j];
+                    mergedIds[k++] = batchIds[j++];
+                }
+            }
+            while (i < size) {
+                mergedKeys[k] = keys[i];
+                mergedIds[k++] = ids[i++];
+            }
+            while (j < n) {
+                mergedKeys[k] = batchKeys[j];
+                mergedIds[k++] = batchIds[j++];
+            }
+            keys = mergedKeys;
+            ids = mergedIds;
+            size = k;
+        }
+
+        /**
+         * İmleçten sonraki ilk konum; sayfa buradan başlayıp artan (azalan sırada
+         * eksilen) yönde okunur. after null ise ilk (azalan sırada son) konum.
+         * Sayfa bittiyse artan sırada size, azalan sırada -1 döner.
+         */
+        public int start(Page.Cursor after, boolean descending) {
+            if (after == null) {
+                return descending ? size - 1 : 0;
+            }
+            long key = after.getNumber();
+            int id = after.getId();
+            // İlk (k, i) > (key, id) konumu
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(keys[mid], ids[mid], key, id) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            if (!descending) {
+                return low;
+            }
+            // Azalan: imlecin kendisi (varsa) atlanır
+            int position = low - 1;
+            if (position >= 0 && keys[position] == key && ids[position] == id) {
+                position--;
+            }
+            return position;
+        }
+
+        // Dizi üzerinde yerinde birleştirmeli sıralama (kararlı; yardımcı diziler bir kez ayrılır)
+        private static void sort(long[] keys, int[] ids, int n) {
+            if (n < 2 || isSorted(keys, ids, n)) {
+                return;
+            }
+            long[] keyBuffer = Arrays.copyOf(keys, n);
+            int[] idBuffer = Arrays.copyOf(ids, n);
+            mergeSort(keyBuffer, idBuffer, keys, ids, 0, n);
+        }
+
+        // Kaynak (src) ile hedef (dst) dönüşümlü kullanılır; sonuç dst'de
+        private static void mergeSort(long[] srcKeys, int[] srcIds, long[] dstKeys, int[] dstIds, int from, int to) {
+            if (to - from < 16) {
+                for (int i = from; i < to; i++) {
+                    long key = dstKeys[i];
+                    int id = dstIds[i];
+                    int j = i - 1;
+                    while (j >= from && compare(dstKeys[j], dstIds[j], key, id) > 0) {
+                        dstKeys[j + 1] = dstKeys[j];
+                        dstIds[j + 1] = dstIds[j];
+                        j--;
+                    }
+                    dstKeys[j + 1] = key;
+                    dstIds[j + 1] = id;
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            mergeSort(dstKeys, dstIds, srcKeys, srcIds, from, mid);
+            mergeSort(dstKeys, dstIds, srcKeys, srcIds, mid, to);
+            int i = from;
+            int j = mid;
+            for (int k = from; k < to; k++) {
+                if (j >= to || (i < mid && compare(srcKeys[i], srcIds[i], srcKeys[j], srcIds[j]) <= 0)) {
+                    dstKeys[k] = srcKeys[i];
+                    dstIds[k] = srcIds[i++];
+                } else {
+                    dstKeys[k] = srcKeys[j];
+                    dstIds[k] = srcIds[j++];
+                }
+            }
+        }
+
+        private static boolean isSorted(long[] keys, int[] ids, int n) {
+            for (int i = 1; i < n; i++) {
+                if (compare(keys[i - 1], ids[i - 1], keys[i], ids[i]) > 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
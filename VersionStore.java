@@ -0,0 +1,199 @@
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Okuma anlık görüntüleri (MVCC) için sürüm deposu
+ * Anlık görüntü bir "kesit"te açılır: kesit, değişikliklerin bellek uygulama
+ * bölümleri arasında alınır (yazıcılar kesit kilidinin okuma tarafını sadece
+ * bellek değişikliği süresince tutar, fsync beklerken tutmaz). Her kesit bir dönem
+ * (epoch) başlatır. Dönem içinde bir kayda yapılan ilk yazma, kaydın kesitteki
+ * hâlini (önceki görüntü) döneme kaydeder; sonraki yazmalar kaydetmez.
+ *
+ * Anlık görüntü kaydın hâlini şöyle bulur: kendi döneminden en yeni döneme doğru
+ * ilk önceki görüntü; hiçbiri yoksa kayıt kesitten beri değişmemiştir, canlı hâli
+ * geçerlidir. Açık anlık görüntü yoksa yazıcılar hiçbir şey kaydetmez.
+ * Dönemler en eskisinden itibaren, okuyucusu kalmayınca bırakılır.
+ */
+public class VersionStore {
+    // Bir kesitten sonraki yazmalardan önceki kayıt görüntüleri
+    public static final class Epoch {
+        private final long number;
+        private final IntObjectMap<Product> products;
+        private final IntObjectMap<Customer> customers;
+        private final IntObjectMap<Transaction.TransactionStatus> statuses;
+        // Bu dönemde silinen kayıtlar (anlık görüntü gezerken canlı haritada bulunmazlar)
+        private final Queue<Integer> removedProducts;
+        private final Queue<Integer> removedCustomers;
+        private volatile Epoch next; // Sonraki (daha yeni) dönem
+        private int readers;         // VersionStore kilidiyle korunur
+
+        Epoch(long number) {
+            this.number = number;
+            this.products = new IntObjectMap<>();
+            this.customers = new IntObjectMap<>();
+            this.statuses = new IntObjectMap<>();
+            this.removedProducts = new ConcurrentLinkedQueue<>();
+            this.removedCustomers = new ConcurrentLinkedQueue<>();
+        }
+
+        public long getNumber() {
+            return number;
+        }
+
+        Epoch next() {
+            return next;
+        }
+
+        Queue<Integer> removedProducts() {
+            return removedProducts;
+        }
+
+        Queue<Integer> removedCustomers() {
+            return removedCustomers;
+        }
+    }
+
+    private final ReentrantReadWriteLock cut;
+    private volatile Epoch current; // Kayıt tutulan dönem; açık anlık görüntü yoksa null
+    private Epoch oldest;
+    private long lastNumber;
+
+    // Constructor
+    public VersionStore() {
+        this.cut = new ReentrantReadWriteLock();
+    }
+
+    // ==================== YAZICI TARAFI ====================
+
+    // Bellek değişikliği başlıyor (kesit bu bölümün ortasına düşmez)
+    public void beginWrite() {
+        cut.readLock().lock();
+    }
+
+    // Bellek değişikliği bitti; tekrar çağrılması zararsızdır (ör. fsync öncesi ve sonunda)
+    public void endWrite() {
+        if (cut.getReadHoldCount() > 0) {
+            cut.readLock().unlock();
+        }
+    }
+
+    // Açık anlık görüntü var mı (yazıcı önceki görüntü kaydetmeli mi)
+    public boolean isRecording() {
+        return current != null;
+    }
+
+    // Aşağıdakiler kayıt değiştirilmeden önce, beginWrite ile endWrite arasında çağrılır.
+    // Kayıt kilidi gerekmez: her yazıcı önce kaydedip sonra değiştirdiği için bir kopya
+    // başka yazıcının değişikliğini içeriyorsa o yazıcının görüntüsü zaten kayıtlıdır (putIfAbsent)
+    public void saveProduct(Product product) {
+        Epoch e = current;
+        if (e != null && !e.products.containsKey(product.getId())) {
+            e.products.putIfAbsent(product.getId(), product.copy());
+        }
+    }
+
+    public void saveRemovedProduct(Product product) {
+        Epoch e = current;
+        if (e != null) {
+            saveProduct(product);
+            e.removedProducts.add(product.getId());
+        }
+    }
+
+    public void saveCustomer(Customer customer) {
+        Epoch e = current;
+        if (e != null && !e.customers.containsKey(customer.getId())) {
+            e.customers.putIfAbsent(customer.getId(), customer.copy());
+        }
+    }
+
+    public void saveRemovedCustomer(Customer customer) {
+        Epoch e = current;
+        if (e != null) {
+            saveCustomer(customer);
+            e.removedCustomers.add(customer.getId());
+        }
+    }
+
+    public void saveStatus(int transactionId, Transaction.TransactionStatus status) {
+        Epoch e = current;
+        if (e != null && !e.statuses.containsKey(transactionId)) {
+            e.statuses.putIfAbsent(transactionId, status);
+        }
+    }
+
+    // ==================== OKUYUCU TARAFI ====================
+
+    /**
+     * Kesit alır ve yeni dönemi açar. Fabrika kesit kilidi altında çağrılır:
+     * id sayaçları gibi sınırlar orada okunursa kesitle tutarlıdır.
+     * Yazıcılar yalnızca devam eden bellek değişikliklerinin bitmesi kadar bekler.
+     */
+    public <T> T open(Function<Epoch, T> factory) {
+        cut.writeLock().lock();
+        try {
+            Epoch e;
+            synchronized (this) {
+                e = new Epoch(++lastNumber);
+                e.readers = 1;
+                if (current == null) {
+                    oldest = e;
+                } else {
+                    current.next = e;
+                }
+                current = e;
+            }
+            return factory.apply(e);
+        } finally {
+            cut.writeLock().unlock();
+        }
+    }
+
+    // Anlık görüntü kapandı; okuyucusu kalmayan en eski dönemler bırakılır
+    public synchronized void release(Epoch epoch) {
+        epoch.readers--;
+        while (oldest != null && oldest.readers == 0) {
+            oldest = oldest.next;
+        }
+        if (oldest == null) {
+            current = null;
+        }
+    }
+
+    public boolean hasOpenSnapshots() {
+        return current != null;
+    }
+
+    // Kaydın dönemdeki önceki görüntüsü; kesitten beri değişmediyse null
+    public Product productImage(Epoch epoch, int id) {
+        for (Epoch e = epoch; e != null; e = e.next) {
+            Product image = e.products.get(id);
+            if (image != null) {
+                return image;
+            }
+        }
+        return null;
+    }
+
+    public Customer customerImage(Epoch epoch, int id) {
+        for (Epoch e = epoch; e != null; e = e.next) {
+            Customer image = e.customers.get(id);
+            if (image != null) {
+                return image;
+            }
+        }
+        return null;
+    }
+
+    public Transaction.TransactionStatus statusImage(Epoch epoch, int transactionId) {
+        for (Epoch e = epoch; e != null; e = e.next) {
+            Transaction.TransactionStatus image = e.statuses.get(transactionId);
+            if (image != null) {
+                return image;
+            }
+        }
+        return null;
+    }
+}
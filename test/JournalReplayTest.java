@@ -0,0 +1,139 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Günlük oynatma davranış testi
+ * Eşzamanlı satışlar (kilitsiz stok düşümü), elle stok ayarı ve durum değişiklikleri
+ * sürerken yazılan günlük, yeniden başlatmada aynı stok, borç ve durumları kurmalıdır.
+ * DataManager tekil olduğu için her aşama ayrı JVM'de çalışır. Günlük ASYNC modda
+ * yazılır: yazanlar fsync beklemediği için iş parçacıkları sık sık iç içe geçer.
+ *
+ * Çalıştırma: javac -encoding UTF-8 -d out *.java test/*.java && java -cp out JournalReplayTest
+ */
+public class JournalReplayTest {
+    private static final int SELLERS = 8;
+    private static final int SALES_PER_SELLER = 20000;
+    private static final int ROUNDS = 4; // Yarış zamanlamaya bağlı: senaryo birkaç kez tekrarlanır
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            for (int round = 0; round < ROUNDS; round++) {
+                Path dir = Files.createTempDirectory("journal-replay");
+                Path expected = dir.resolve("expected.txt");
+                run(dir, "write", expected.toString());
+                run(dir, "verify", expected.toString());
+            }
+            System.out.println("JournalReplayTest: OK");
+        } else if (args[0].equals("write")) {
+            write(Path.of(args[1]));
+        } else {
+            verify(Path.of(args[1]));
+        }
+    }
+
+    // Yazma aşaması: anlık görüntü alınmadan (yalnız günlükle) kapanır
+    private static void write(Path expected) throws Exception {
+        DataManager dm = DataManager.getInstance();
+        Product product = dm.getAllProducts().get(0);
+        int productId = product.getId();
+        int customerId = dm.getAllCustomers().get(0).getId();
+        dm.updateProductStock(productId, 1000);
+
+        AtomicBoolean done = new AtomicBoolean();
+        List<Thread> threads = new ArrayList<>();
+        List<Integer> sold = new ArrayList<>();
+        for (int s = 0; s < SELLERS; s++) {
+            Thread t = new Thread(() -> {
+                for (int i = 0; i < SALES_PER_SELLER; i++) {
+                    Transaction tx = dm.createTransaction("Satış", customerId, productId, 1, 0);
+                    if (tx != null) {
+                        synchronized (sold) {
+                            sold.add(tx.getId());
+                        }
+                    }
+                }
+            });
+            threads.add(t);
+            t.start();
+        }
+        Thread stocker = new Thread(() -> {
+            int round = 0;
+            while (!done.get()) {
+                dm.updateProductStock(productId, 500 + (round++ % 500));
+            }
+        });
+        stocker.start();
+        Thread statuses = new Thread(() -> {
+            int round = 0;
+            while (!done.get()) {
+                List<Integer> ids;
+                synchronized (sold) {
+                    ids = new ArrayList<>(sold.subList(Math.max(0, sold.size() - 20), sold.size()));
+                }
+                for (int id : ids) {
+                    dm.updateTransactionStatus(id, round % 2 == 0 ? "İptal Edildi" : "Tamamlandı");
+                }
+                round++;
+            }
+        });
+        statuses.start();
+        for (Thread t : threads) {
+            t.join();
+        }
+        done.set(true);
+        stocker.join();
+        statuses.join();
+
+        StringBuilder state = new StringBuilder();
+        state.append(dm.getProduct(productId).getStock()).append('\n');
+        state.append(dm.getCustomer(customerId).getDebtKurus()).append('\n');
+        for (int id : sold) {
+            state.append(id).append('=').append(dm.getTransaction(id).getStatus()).append('\n');
+        }
+        Files.writeString(expected, state.toString());
+        // shutdown çağrılmaz: açılış yalnız günlüğü oynatmalı. ASYNC modda arka plan yazıcısı
+        // bekleyen kayıtları birkaç milisaniyede diske yazar
+        Thread.sleep(500);
+        Runtime.getRuntime().halt(0);
+    }
+
+    private static void verify(Path expected) throws IOException {
+        DataManager dm = DataManager.getInstance();
+        List<String> lines = Files.readAllLines(expected);
+        int productId = dm.getAllProducts().get(0).getId();
+        int customerId = dm.getAllCustomers().get(0).getId();
+        check(String.valueOf(dm.getProduct(productId).getStock()).equals(lines.get(0)),
+                "stok: " + dm.getProduct(productId).getStock() + " != " + lines.get(0));
+        check(String.valueOf(dm.getCustomer(customerId).getDebtKurus()).equals(lines.get(1)),
+                "borç: " + dm.getCustomer(customerId).getDebtKurus() + " != " + lines.get(1));
+        for (String line : lines.subList(2, lines.size())) {
+            int eq = line.indexOf('=');
+            int id = Integer.parseInt(line.substring(0, eq));
+            String status = dm.getTransaction(id).getStatus().name();
+            check(status.equals(line.substring(eq + 1)), "işlem " + id + " durumu: " + status + " != " + line);
+        }
+        Runtime.getRuntime().halt(0);
+    }
+
+    // Aşamayı aynı sınıf yolu ve veri dizini ile ayrı JVM'de çalıştır
+    private static void run(Path dataDir, String phase, String expected) throws Exception {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                "-Ddatamanager.dataDir=" + dataDir, "-Ddatamanager.journal.sync=ASYNC",
+                "-Ddatamanager.snapshot.intervalSeconds=0",
+                JournalReplayTest.class.getName(), phase, expected).inheritIO().start();
+        check(process.waitFor() == 0, phase + " aşaması başarısız");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            System.err.println("JournalReplayTest: HATA - " + message);
+            Runtime.getRuntime().halt(1);
+        }
+    }
+}
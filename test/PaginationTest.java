@@ -0,0 +1,121 @@
+import java.text.Collator;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * İmleç tabanlı sayfalama davranış testi
+ * Sayfalar sırayla gezildiğinde her kayıt bir kez ve sıralı gelmeli; indekste
+ * kalmış ama kaydı silinmiş id'ler sayfayı erken bitirmemelidir.
+ *
+ * Çalıştırma: javac -encoding UTF-8 -d out *.java test/*.java && java -cp out PaginationTest
+ */
+public class PaginationTest {
+    private static final Collator TURKISH = Collator.getInstance(new Locale("tr", "TR"));
+
+    public static void main(String[] args) {
+        System.setProperty("datamanager.persistence", "false");
+        deletedIdsDoNotTruncate();
+        namePagesAreOrderedAndComplete();
+        transactionPagesSpanTiers();
+        System.out.println("PaginationTest: OK");
+    }
+
+    // İndeksteki id'lerin kaydı silinmiş (indeksten henüz çıkarılmamış): sonraki sayfa kaybolmamalı
+    private static void deletedIdsDoNotTruncate() {
+        SortedIndex byId = new SortedIndex(false);
+        SortedIndex byName = new SortedIndex(true);
+        Map<Integer, String> records = new HashMap<>();
+        for (int id = 1; id <= 10; id++) {
+            byId.put(id, null);
+            byName.put(id, "Ürün " + id);
+            records.put(id, "Ürün " + id);
+        }
+        records.remove(2);
+        records.remove(3);
+        records.remove(4);
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            Page<String> page = DataManager.recordPage(Page.Sort.ID, false, cursor, 2, byId, byName, records);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+        check(seen.size() == 7, "silinmiş id'ler sayfalamayı kesti: " + seen);
+        check(pages == 4, "sayfa sayısı: " + pages);
+    }
+
+    // Türkçe ad sırası: tüm ürünler bir kez, sıralı; sayfalar arası silme ve ekleme kaybettirmez
+    private static void namePagesAreOrderedAndComplete() {
+        DataManager dm = DataManager.getInstance();
+        String[] names = {"Çam", "Cam", "Dişbudak", "Ihlamur", "İroko", "Gürgen", "Şimşir", "Sedir", "Öz", "Zeytin"};
+        for (int i = 0; i < 30; i++) {
+            dm.addProduct(names[i % names.length] + " " + i, "Test", 10, 5, "adet", 1, 5);
+        }
+        Set<Integer> expected = new HashSet<>();
+        dm.forEachProduct(p -> expected.add(p.getId()));
+
+        Set<Integer> seen = new HashSet<>();
+        String previous = null;
+        String cursor = null;
+        int deleted = -1;
+        do {
+            Page<Product> page = dm.getProductPage(Page.Sort.NAME, false, cursor, 4);
+            for (Product p : page.getItems()) {
+                check(seen.add(p.getId()), "tekrar eden ürün: " + p.getId());
+                if (previous != null) {
+                    check(TURKISH.compare(previous, p.getName()) <= 0, "sıra bozuk: " + previous + " > " + p.getName());
+                }
+                previous = p.getName();
+            }
+            cursor = page.getNextCursor();
+            if (deleted < 0 && cursor != null) {
+                // Sayfanın son ürünü silinir: imleç yine de devam edebilmeli
+                deleted = page.getItems().get(page.getItems().size() - 1).getId();
+                dm.deleteProduct(deleted);
+            }
+        } while (cursor != null);
+        check(seen.equals(expected), "eksik ürün: beklenen " + expected.size() + ", gelen " + seen.size());
+    }
+
+    // İşlemler: sıcak ve mühürlü katman birlikte, id sırasında, kayıpsız
+    private static void transactionPagesSpanTiers() {
+        DataManager dm = DataManager.getInstance();
+        Product product = dm.addProduct("Sayfa Test", "Test", 100, 1000, "adet", 1, 60);
+        int customerId = dm.getAllCustomers().get(0).getId();
+        for (int i = 0; i < 25; i++) {
+            dm.createTransaction("Satış", customerId, product.getId(), 1, 0);
+        }
+        dm.sealTransactions(LocalDateTime.now().plusSeconds(1));
+        for (int i = 0; i < 25; i++) {
+            dm.createTransaction("Satış", customerId, product.getId(), 1, 0);
+        }
+        int total = dm.getAllTransactions().size();
+        int lastId = Integer.MAX_VALUE;
+        int count = 0;
+        String cursor = null;
+        do {
+            Page<Transaction> page = dm.getTransactionPage(Page.Sort.ID, true, cursor, 7);
+            for (Transaction t : page.getItems()) {
+                check(t.getId() < lastId, "azalan id sırası bozuk: " + t.getId());
+                lastId = t.getId();
+                count++;
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        check(count == total, "işlem sayısı: " + count + " != " + total);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError("PaginationTest: " + message);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sürümlü fiyat listesi davranış testi
+ * Yeni sürüm eski sürümü değiştirmemeli; tekil değişiklikler (ek katman ve birleştirme)
+ * ve paralel toplu yeniden fiyatlandırma tek tek hesaplanan fiyatlarla aynı olmalı.
+ * Fiyat değişiklikleri sürerken yapılan her satış (ve toplu siparişin tüm satırları)
+ * tek bir sürümün fiyatlarını kullanmalı ve o sürümü kaydetmelidir.
+ *
+ * Çalıştırma: javac -encoding UTF-8 -d out *.java test/*.java && java -cp out PriceListTest
+ */
+public class PriceListTest {
+    private static final int CATALOG = 10000; // Paralel eşiğin (4096) üstü
+    private static final int SELLERS = 3;
+    private static final int BASKETS_PER_SELLER = 2000;
+    private static final int REPRICES = 200;
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("datamanager.persistence", "false");
+        System.setProperty("datamanager.prices.history", String.valueOf(REPRICES * 2 + 16));
+        versionsAreImmutable();
+        repriceMatchesSequential();
+        salesUseOneVersion();
+        System.out.println("PriceListTest: OK");
+    }
+
+    // Tekil değişiklikler: eski sürüm aynı kalır, ek katman birleştirilse de fiyatlar doğru
+    private static void versionsAreImmutable() {
+        List<Product> catalog = catalog(300);
+        PriceList first = PriceList.of(1, catalog);
+        Map<Integer, Long> expected = new HashMap<>();
+        for (Product p : catalog) {
+            expected.put(p.getId(), p.getPriceKurus());
+        }
+        List<PriceList> versions = new ArrayList<>();
+        List<Map<Integer, Long>> snapshots = new ArrayList<>();
+        PriceList current = first;
+        for (int i = 0; i < 200; i++) {
+            versions.add(current);
+            snapshots.add(new HashMap<>(expected));
+            int id = 1 + (i * 37) % catalog.size();
+            long price = 100 + i;
+            current = current.withPrice(id, price);
+            expected.put(id, price);
+            check(current.getVersion() == versions.get(i).getVersion() + 1, "sürüm artmadı: " + current.getVersion());
+        }
+        versions.add(current);
+        snapshots.add(expected);
+        for (int v = 0; v < versions.size(); v++) {
+            for (Map.Entry<Integer, Long> e : snapshots.get(v).entrySet()) {
+                long price = versions.get(v).priceOf(e.getKey());
+                check(price == e.getValue(), "sürüm " + versions.get(v).getVersion() + ", ürün " + e.getKey()
+                        + ": " + price + " != " + e.getValue());
+            }
+        }
+        check(current.size() == catalog.size(), "boyut: " + current.size());
+        check(current.priceOf(catalog.size() + 1) == PriceList.NO_PRICE, "listede olmayan ürünün fiyatı var");
+    }
+
+    // Kategori kapsamlı paralel yeniden fiyatlandırma = ürün ürün hesap; iskonto kademesi = applyDiscount
+    private static void repriceMatchesSequential() {
+        List<Product> catalog = catalog(CATALOG);
+        PriceList base = PriceList.of(5, catalog).withPrice(7, 12345);
+        PriceList next = base.reprice(catalog, "Boya", 12.5);
+        check(next.getVersion() == base.getVersion() + 1 && "Boya".equals(next.getCategory()), "sürüm/kategori: " + next.getVersion());
+        for (Product p : catalog) {
+            long old = base.priceOf(p);
+            long wanted = PriceList.inScope("Boya", p) ? Money.scale(old, 1.125) : old;
+            check(next.priceOf(p.getId()) == wanted, "ürün " + p.getId() + ": " + next.priceOf(p.getId()) + " != " + wanted);
+            check(base.priceOf(p) == old, "eski sürüm değişti: " + p.getId());
+            check(next.priceOf(p, 7.5) == Customer.applyDiscount(wanted, 7.5), "iskontolu fiyat: " + p.getId());
+        }
+    }
+
+    // Fiyatlar değişirken: her satır kaydettiği sürümün fiyatıyla, sepetin satırları aynı sürümle
+    private static void salesUseOneVersion() throws InterruptedException {
+        DataManager dm = DataManager.getInstance();
+        int customerId = dm.addCustomer("Fiyat Müşteri", "555", "f@b.c", "Adres", "Bireysel", 0).getId();
+        int[] productIds = new int[4];
+        for (int i = 0; i < productIds.length; i++) {
+            productIds[i] = dm.addProduct("Fiyat Test " + i, i % 2 == 0 ? "Boya" : "Vida", 10 + i, 10000000,
+                    "adet", 1, 1).getId();
+        }
+
+        AtomicBoolean done = new AtomicBoolean();
+        List<List<Transaction>> baskets = new ArrayList<>();
+        List<Thread> sellers = new ArrayList<>();
+        for (int s = 0; s < SELLERS; s++) {
+            Thread t = new Thread(() -> {
+                for (int i = 0; i < BASKETS_PER_SELLER; i++) {
+                    List<TransactionLine> lines = new ArrayList<>();
+                    for (int productId : productIds) {
+                        lines.add(new TransactionLine("Satış", customerId, productId, 1, 0));
+                    }
+                    List<Transaction> created = dm.createTransactions(lines);
+                    Transaction single = dm.createTransaction("Satış", customerId, productIds[i % productIds.length], 1, 0);
+                    synchronized (baskets) {
+                        baskets.add(created);
+                        baskets.add(List.of(single));
+                    }
+                }
+            });
+            sellers.add(t);
+            t.start();
+        }
+        Thread pricer = new Thread(() -> {
+            for (int i = 0; i < REPRICES && !done.get(); i++) {
+                if (i % 2 == 0) {
+                    dm.bulkUpdatePrices("Boya", i % 4 == 0 ? 10 : -9);
+                } else {
+                    dm.updateProductPrice(productIds[1], 20 + i % 7);
+                }
+            }
+        });
+        pricer.start();
+        for (Thread t : sellers) {
+            t.join();
+        }
+        done.set(true);
+        pricer.join();
+
+        for (List<Transaction> basket : baskets) {
+            check(basket != null && basket.get(0) != null, "satış başarısız");
+            long version = basket.get(0).getPriceVersion();
+            PriceList prices = dm.getPriceList(version);
+            check(prices != null, "kaydedilen sürüm geçmişte yok: " + version);
+            for (Transaction t : basket) {
+                check(t.getPriceVersion() == version, "sepet iki sürüm kullandı: " + version + ", " + t.getPriceVersion());
+                long listed = prices.priceOf(dm.getProduct(t.getProductId()));
+                check(t.getUnitPriceKurus() == listed, "işlem " + t.getId() + " fiyatı " + t.getUnitPriceKurus()
+                        + " != sürüm " + version + " fiyatı " + listed);
+            }
+        }
+        PriceList current = dm.getPriceList();
+        for (int productId : productIds) {
+            check(dm.getProduct(productId).getPriceKurus() == current.priceOf(productId),
+                    "ürün kaydı güncel sürümle aynı değil: " + productId);
+        }
+    }
+
+    private static List<Product> catalog(int size) {
+        List<Product> products = new ArrayList<>(size);
+        for (int id = 1; id <= size; id++) {
+            products.add(new Product(id, "Ürün " + id, id % 3 == 0 ? "Boya" : "Vida", 1 + (id * 7919 % 100000) / 100.0,
+                    10, "adet", 1, 1));
+        }
+        return products;
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError("PriceListTest: " + message);
+        }
+    }
+}
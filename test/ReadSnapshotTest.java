@@ -0,0 +1,126 @@
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Okuma anlık görüntüsü (MVCC) davranış testi
+ * Açık anlık görüntü, açıldıktan sonraki satışları, stok ve fiyat değişikliklerini,
+ * silmeleri ve durum değişikliklerini göstermemeli; eşzamanlı satışlar sürerken
+ * alınan her anlık görüntüde stok, borç ve görünen işlemler birbiriyle tutarlı olmalıdır.
+ *
+ * Çalıştırma: javac -encoding UTF-8 -d out *.java test/*.java && java -cp out ReadSnapshotTest
+ */
+public class ReadSnapshotTest {
+    private static final int SELLERS = 4;
+    private static final int SALES_PER_SELLER = 5000;
+    private static final int INITIAL_STOCK = 1000000;
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("datamanager.persistence", "false");
+        laterWritesAreInvisible();
+        snapshotsAreConsistentUnderLoad();
+        System.out.println("ReadSnapshotTest: OK");
+    }
+
+    // Anlık görüntü açıldıktan sonraki her değişiklik görünmez, kapatınca canlı değerler okunur
+    private static void laterWritesAreInvisible() {
+        DataManager dm = DataManager.getInstance();
+        Product product = dm.addProduct("Anlık Test", "Test", 50, 100, "adet", 1, 20);
+        Product doomed = dm.addProduct("Silinecek", "Test", 10, 5, "adet", 1, 5);
+        Customer customer = dm.addCustomer("Anlık Müşteri", "555", "a@b.c", "Adres", "Bireysel", 0);
+        Transaction before = dm.createTransaction("Satış", customer.getId(), product.getId(), 2, 0);
+        int productId = product.getId();
+        int customerId = customer.getId();
+        LocalDate today = LocalDate.now();
+
+        try (ReadSnapshot snapshot = dm.openReadSnapshot()) {
+            long stockValue = snapshot.getTotalStockValueKurus();
+            long debt = snapshot.getTotalDebtKurus();
+            long revenue = snapshot.getSalesBetween(today, today).getRevenueKurus();
+
+            Transaction after = dm.createTransaction("Satış", customerId, productId, 3, 0);
+            dm.updateProductStock(productId, 7);
+            dm.updateProductPrice(productId, 99);
+            dm.deleteProduct(doomed.getId());
+            dm.addProduct("Sonradan", "Test", 1000, 1000, "adet", 1, 1);
+            dm.updateTransactionStatus(before.getId(), "İptal Edildi");
+
+            check(snapshot.getProduct(productId).getStock() == 98, "stok: " + snapshot.getProduct(productId).getStock());
+            check(snapshot.getProduct(productId).getPriceKurus() == 5000,
+                    "fiyat: " + snapshot.getProduct(productId).getPriceKurus());
+            check(snapshot.getProduct(doomed.getId()) != null, "silinen ürün anlık görüntüden kayboldu");
+            check(snapshot.getCustomer(customerId).getDebtKurus() == 10000,
+                    "borç: " + snapshot.getCustomer(customerId).getDebtKurus());
+            check(snapshot.getTransaction(after.getId()) == null, "sonraki işlem görünüyor");
+            check(snapshot.getTransaction(before.getId()).getStatus() == Transaction.TransactionStatus.COMPLETED,
+                    "durum: " + snapshot.getTransaction(before.getId()).getStatus());
+            check(snapshot.getTotalStockValueKurus() == stockValue, "toplam stok değeri değişti");
+            check(snapshot.getTotalDebtKurus() == debt, "toplam borç değişti");
+            check(snapshot.getSalesBetween(today, today).getRevenueKurus() == revenue, "ciro değişti");
+            // Açık anlık görüntü varken işlemler katman değiştirmez
+            check(dm.sealTransactions(LocalDateTime.now().plusSeconds(1)) == 0, "anlık görüntü açıkken mühürlendi");
+        }
+        check(dm.getProduct(productId).getStock() == 7, "canlı stok: " + dm.getProduct(productId).getStock());
+        check(dm.getProduct(doomed.getId()) == null, "canlı silme görünmüyor");
+        check(dm.getTransaction(before.getId()).getStatus() == Transaction.TransactionStatus.CANCELLED,
+                "canlı durum: " + dm.getTransaction(before.getId()).getStatus());
+    }
+
+    // Satışlar sürerken: görünen satışların miktarı stok düşüşüne, tutarı borç artışına eşit
+    private static void snapshotsAreConsistentUnderLoad() throws InterruptedException {
+        DataManager dm = DataManager.getInstance();
+        int productId = dm.addProduct("Yük Test", "Test", 3, INITIAL_STOCK, "adet", 1, 1).getId();
+        int customerId = dm.addCustomer("Yük Müşteri", "555", "y@b.c", "Adres", "Bireysel", 0).getId();
+        int firstId = dm.createTransaction("Satış", customerId, productId, 1, 0).getId();
+
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Thread> sellers = new ArrayList<>();
+        for (int s = 0; s < SELLERS; s++) {
+            Thread t = new Thread(() -> {
+                for (int i = 0; i < SALES_PER_SELLER; i++) {
+                    if (dm.createTransaction("Satış", customerId, productId, 1 + i % 3, 0) == null) {
+                        failed.set(true);
+                    }
+                }
+            });
+            sellers.add(t);
+            t.start();
+        }
+        int snapshots = 0;
+        while (sellers.stream().anyMatch(Thread::isAlive) || snapshots == 0) {
+            try (ReadSnapshot snapshot = dm.openReadSnapshot()) {
+                long[] sums = new long[2]; // miktar, tutar (kuruş)
+                snapshot.forEachTransaction(null, null, null, t -> {
+                    if (t.getProductId() == productId && t.getId() >= firstId) {
+                        sums[0] += t.getQuantity();
+                        sums[1] += t.getTotalKurus();
+                    }
+                });
+                int stock = snapshot.getProduct(productId).getStock();
+                long debt = snapshot.getCustomer(customerId).getDebtKurus();
+                check(INITIAL_STOCK - stock == sums[0],
+                        "stok düşüşü " + (INITIAL_STOCK - stock) + " != görünen miktar " + sums[0]);
+                check(debt == sums[1], "borç " + debt + " != görünen tutar " + sums[1]);
+            }
+            snapshots++;
+        }
+        for (Thread t : sellers) {
+            t.join();
+        }
+        int sold = 1;
+        for (int i = 0; i < SALES_PER_SELLER; i++) {
+            sold += SELLERS * (1 + i % 3);
+        }
+        check(!failed.get(), "satış başarısız");
+        check(dm.getProduct(productId).getStock() == INITIAL_STOCK - sold,
+                "son stok: " + dm.getProduct(productId).getStock());
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError("ReadSnapshotTest: " + message);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Anlık görüntüden açılış davranış testi
+ * Mühürlü işlemler yeniden başlatmadan sonra sütun deposunda, kalanlar sıcak
+ * katmanda olmalı; anlık görüntüden sonra günlüğe yazılan durum ve nakliye
+ * değişiklikleri mühürlü satırlara da uygulanmalı, özetler aynı kalmalıdır.
+ * Anlık görüntüden sonra arşive taşınan (ve arşivde durumu değişen) işlemler
+ * açılışta sütun deposundan çıkmalı, özetler ve sıralama değişmemelidir.
+ * DataManager tekil olduğu için her aşama ayrı JVM'de çalışır.
+ *
+ * Çalıştırma: javac -encoding UTF-8 -d out *.java test/*.java && java -cp out SnapshotRestoreTest
+ */
+public class SnapshotRestoreTest {
+    private static final int SEALED = 300;
+    private static final int HOT = 40;
+    private static final int ARCHIVED = 100;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            Path dir = Files.createTempDirectory("snapshot-restore");
+            Path expected = dir.resolve("expected.txt");
+            run(dir, "write", expected.toString());
+            run(dir, "verify", expected.toString());
+            System.out.println("SnapshotRestoreTest: OK");
+        } else if (args[0].equals("write")) {
+            write(Path.of(args[1]));
+        } else {
+            verify(Path.of(args[1]));
+        }
+    }
+
+    private static void write(Path expected) throws Exception {
+        DataManager dm = DataManager.getInstance();
+        int productId = dm.getAllProducts().get(0).getId();
+        int customerId = dm.getAllCustomers().get(0).getId();
+        dm.updateProductStock(productId, 100000);
+        int firstArchived = -1;
+        for (int i = 0; i < ARCHIVED; i++) {
+            Transaction t = dm.createTransaction(i % 4 == 0 ? "Alım" : "Satış", customerId, productId, 1 + i % 2, 0);
+            if (firstArchived < 0) {
+                firstArchived = t.getId();
+            }
+        }
+        Thread.sleep(5);
+        LocalDateTime archiveCutoff = LocalDateTime.now();
+        Thread.sleep(5);
+        int firstSealed = -1;
+        for (int i = 0; i < SEALED; i++) {
+            Transaction t = dm.createTransaction(i % 5 == 0 ? "Alım" : "Satış", customerId, productId, 1 + i % 3, 0);
+            if (firstSealed < 0) {
+                firstSealed = t.getId();
+            }
+        }
+        Thread.sleep(5);
+        int sealed = dm.sealTransactions(LocalDateTime.now());
+        check(sealed >= SEALED, "mühürlenen: " + sealed);
+        for (int i = 0; i < HOT; i++) {
+            dm.createTransaction("Satış", customerId, productId, 2, 10);
+        }
+        dm.updateTransactionStatus(firstSealed + 1, "İptal Edildi");
+        dm.checkpoint();
+        // Anlık görüntüden sonra (yalnız günlükte): mühürlü satırlarda değişiklik
+        dm.updateTransactionStatus(firstSealed + 2, "İptal Edildi");
+        dm.setShippingCompany(firstSealed + 3, "Aras Kargo");
+        dm.updateTransactionStatus(firstArchived + 1, "İptal Edildi");
+        int archived = dm.archiveTransactions(archiveCutoff);
+        check(archived == ARCHIVED, "arşivlenen: " + archived);
+        dm.updateTransactionStatus(firstArchived + 2, "İptal Edildi");
+
+        Files.writeString(expected, describe(dm, firstSealed));
+        Runtime.getRuntime().halt(0);
+    }
+
+    private static void verify(Path expected) throws Exception {
+        DataManager dm = DataManager.getInstance();
+        List<String> lines = Files.readAllLines(expected);
+        int firstSealed = Integer.parseInt(lines.get(0));
+        String actual = describe(dm, firstSealed);
+        check(actual.equals(String.join("\n", lines) + "\n"),
+                "açılış sonrası durum farklı:\n" + actual + "--- beklenen ---\n" + String.join("\n", lines));
+        check(dm.getSealedTransactionCount() >= SEALED, "mühürlü satırlar sıcak katmana yüklenmiş: "
+                + dm.getSealedTransactionCount());
+        Runtime.getRuntime().halt(0);
+    }
+
+    // Karşılaştırılan durum: katman boyutları, özetler, stok, borç ve değişen satırlar
+    private static String describe(DataManager dm, int firstSealed) {
+        int productId = dm.getAllProducts().get(0).getId();
+        int customerId = dm.getAllCustomers().get(0).getId();
+        StringBuilder out = new StringBuilder();
+        out.append(firstSealed).append('\n');
+        out.append("sealed=").append(dm.getSealedTransactionCount()).append('\n');
+        out.append("archived=").append(dm.getArchivedTransactionCount()).append('\n');
+        out.append("all=").append(dm.getAllTransactions().size()).append('\n');
+        out.append("profit=").append(dm.getProfitLossAnalysis()).append('\n');
+        out.append("stock=").append(dm.getProduct(productId).getStock()).append('\n');
+        out.append("debt=").append(dm.getCustomer(customerId).getDebtKurus()).append('\n');
+        out.append("history=").append(dm.getCustomerOrderHistory(customerId).size()).append('\n');
+        out.append("orders=").append(dm.getCustomer(customerId).getTotalOrders()).append('\n');
+        out.append("top=").append(dm.getTopSellers(3)).append('\n');
+        out.append("month=").append(dm.getMonthlySalesSummary(YearMonth.now())).append('\n');
+        for (int id = firstSealed; id < firstSealed + 4; id++) {
+            Transaction t = dm.getTransaction(id);
+            out.append(id).append('=').append(t.getStatus()).append(',').append(t.getShippingCompany()).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static void run(Path dataDir, String phase, String expected) throws Exception {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                "-Ddatamanager.dataDir=" + dataDir, "-Ddatamanager.snapshot.intervalSeconds=0",
+                SnapshotRestoreTest.class.getName(), phase, expected).inheritIO().start();
+        check(process.waitFor() == 0, phase + " aşaması başarısız");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            System.err.println("SnapshotRestoreTest: HATA - " + message);
+            Runtime.getRuntime().halt(1);
+        }
+    }
+}